@@ -31,18 +31,25 @@ import io.github.proto4j.xtral.config.XTralConfiguration;
 import io.github.proto4j.xtral.io.CallableHandler;
 import io.github.proto4j.xtral.io.ConnectionFactory;
 import io.github.proto4j.xtral.io.Connection;
+import io.github.proto4j.xtral.io.KeyedExecutor;
 
 import java.io.*;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
 
 /**
  * The base class for all {@code XTralClient} implementations.
@@ -80,6 +87,10 @@ import java.util.concurrent.CopyOnWriteArrayList;
  */
 public class XTralClient implements Closeable {
 
+    // Stored for agent classes without a usable no-argument constructor
+    private static final MethodHandle NO_CONSTRUCTOR =
+            MethodHandles.constant(Object.class, null);
+
     /**
      * Classes that are annotated with the {@link Agent} will be instantiated
      * and mapped with their class name in this concurrent map.
@@ -88,6 +99,22 @@ public class XTralClient implements Closeable {
      */
     private final ConcurrentMap<String, Object> beanCache = new ConcurrentHashMap<>();
 
+    /**
+     * The no-argument constructors of the agent classes, resolved once and
+     * used to create the instances of connection and thread scoped agents.
+     *
+     * @see Agent#scope()
+     */
+    private final ConcurrentMap<Class<?>, MethodHandle> constructors = new ConcurrentHashMap<>();
+
+    /**
+     * The instances of thread scoped agents.
+     *
+     * @see Agent.Scope#THREAD
+     */
+    private final ConcurrentMap<Class<?>, ThreadLocal<Object>> threadAgents =
+            new ConcurrentHashMap<>();
+
     /**
      * A list of all connections that were created by theis client and are
      * active. Closed connections are removed automatically when calling
@@ -107,6 +134,15 @@ public class XTralClient implements Closeable {
      */
     private final XTralConfiguration<?> configuration;
 
+    /**
+     * The lazily created executor of keyed handlers, shared by all
+     * connections of this client so messages with equal keys are ordered
+     * across them.
+     *
+     * @see io.github.proto4j.xtral.annotation.InboundHandler#key()
+     */
+    private volatile KeyedExecutor keyedExecutor;
+
     /**
      * Indicates whether this client has been closed.
      *
@@ -157,6 +193,7 @@ public class XTralClient implements Closeable {
      * @param <T> the connection type
      * @return the newly created connection
      * @throws IOException if an I/O error occurs
+     * @throws IllegalStateException if the constructor of an agent fails
      */
     public synchronized <T extends Connection<?>> T openConnection() throws IOException {
         if (isClosed()) {
@@ -169,16 +206,56 @@ public class XTralClient implements Closeable {
 
         Connection<?> connection = factory.createConnection();
         connection.setConfiguration(getConfiguration());
+        //noinspection unchecked
+        return (T) attach(connection);
+    }
+
+    /**
+     * Adds all methods annotated with defined handler annotations to the
+     * given connection and registers it with this client.
+     * <p>
+     * This method is used for connections that are not created by the
+     * {@link ConnectionFactory}, for example logical streams that are
+     * carried over an existing connection. If the given connection has no
+     * configuration, the configuration of this client will be used.
+     *
+     * @param connection the connection to link the agents to
+     * @param <T> the connection type
+     * @return the given connection
+     * @throws IOException if this client is closed
+     * @throws IllegalStateException if the constructor of an agent fails
+     */
+    public synchronized <T extends Connection<?>> T attach(T connection) throws IOException {
+        Objects.requireNonNull(connection);
+        if (isClosed()) {
+            throw new IOException("Client is closed");
+        }
+        if (connection.getConfiguration() == null) {
+            connection.setConfiguration(getConfiguration());
+        }
         // filter all agents and optionally create instances of the given
-        // agent classes.
-        Object[] agents = components.stream()
-                                    .filter(Agent.class::isAssignableFrom)
-                                    .map(this::createHandler)
-                                    .toArray();
+        // agent classes. Nested classes may have been resolved twice.
+        for (Class<?> cls : new LinkedHashSet<>(components)) {
+            Agent info = cls.getAnnotation(Agent.class);
+            if (info == null) {
+                continue;
+            }
+            // Thread scoped agents are resolved per call, all others are
+            // linked to the connection.
+            ThreadLocal<Object> agents = null;
+            Object              agent  = null;
+            if (info.scope() == Agent.Scope.THREAD) {
+                agents = getThreadAgents(cls);
+            } else {
+                agent = createHandler(cls, info.scope());
+            }
+            if (agents == null && agent == null) {
+                continue;
+            }
 
-        for (Object agent : agents) {
             // iterate over all possible methods
-            for (Method target : agent.getClass().getMethods()) {
+            Class<?> agentType = agent != null ? agent.getClass() : cls;
+            for (Method target : agentType.getMethods()) {
                 if (target.isSynthetic() || Modifier.isStatic(target.getModifiers())
                         || Modifier.isAbstract(target.getModifiers())) {
                     continue;
@@ -189,8 +266,11 @@ public class XTralClient implements Closeable {
                     // to get added by this routine.
                     Class<?> type = a0.annotationType();
                     if (type.isAnnotationPresent(IncludedHandler.class)) {
-                        CallableHandler handler =
-                                createCallableHandler(agent, target, a0);
+                        CallableHandler handler = agent != null
+                                ? createCallableHandler(agent, target, a0)
+                                : new CallableHandler(a0, cls, agents, target,
+                                        getConfiguration().getExecutorService(),
+                                        getKeyedExecutor());
 
                         linkHandler(a0, connection, handler);
                     }
@@ -199,8 +279,7 @@ public class XTralClient implements Closeable {
         }
 
         cache.add(connection);
-        //noinspection unchecked
-        return (T) connection;
+        return connection;
     }
 
     /**
@@ -322,22 +401,82 @@ public class XTralClient implements Closeable {
         return name != null && !name.contains("package-info");
     }
 
-    private Object createHandler(Class<?> cls) {
-        try {
-            String name = cls.getName();
-            if (beanCache.containsKey(name)) {
-                return beanCache.get(name);
+    private Object createHandler(Class<?> cls, Agent.Scope scope) {
+        String name = cls.getName();
+        if (scope == Agent.Scope.SINGLETON && beanCache.containsKey(name)) {
+            return beanCache.get(name);
+        }
+        Object o = newAgent(cls);
+        if (o != null && scope == Agent.Scope.SINGLETON) {
+            Object previous = beanCache.putIfAbsent(name, o);
+            if (previous != null) {
+                return previous;
             }
-            Object o = cls.getDeclaredConstructor().newInstance();
-            beanCache.put(name, o);
-            return o;
-        } catch (ReflectiveOperationException e) {
+        }
+        return o;
+    }
+
+    private ThreadLocal<Object> getThreadAgents(Class<?> cls) {
+        ThreadLocal<Object> agents = threadAgents.get(cls);
+        if (agents == null) {
+            agents = threadAgents.computeIfAbsent(cls,
+                    k -> ThreadLocal.withInitial(() -> {
+                        Object o = newAgent(k);
+                        if (o == null) {
+                            throw new IllegalStateException("Cannot create agent " + k.getName());
+                        }
+                        return o;
+                    }));
+        }
+        return agents;
+    }
+
+    // Creates a new agent instance with the resolved constructor of the
+    // class, or returns null if the class has no no-argument constructor.
+    // Exceptions thrown by the constructor are not skipped, because the
+    // connection would silently miss the handlers of the agent.
+    private Object newAgent(Class<?> cls) {
+        MethodHandle constructor = constructors.computeIfAbsent(cls, k -> {
+            try {
+                Constructor<?> c = k.getDeclaredConstructor();
+                c.trySetAccessible();
+                return MethodHandles.lookup().unreflectConstructor(c)
+                                    .asType(MethodType.methodType(Object.class));
+            } catch (ReflectiveOperationException e) {
+                return NO_CONSTRUCTOR;
+            }
+        });
+        if (constructor == NO_CONSTRUCTOR) {
             return null;
         }
+        try {
+            return (Object) constructor.invokeExact();
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot create agent " + cls.getName(), e);
+        }
     }
 
     private CallableHandler createCallableHandler(Object agent, Method m, Annotation a0) {
-        return new CallableHandler(a0, agent, m, getConfiguration().getExecutorService());
+        return new CallableHandler(a0, agent, m, getConfiguration().getExecutorService(),
+                getKeyedExecutor());
+    }
+
+    // Returns the executor of keyed handlers or null if no ExecutorService
+    // is configured
+    private KeyedExecutor getKeyedExecutor() {
+        KeyedExecutor k = keyedExecutor;
+        if (k == null) {
+            synchronized (this) {
+                k = keyedExecutor;
+                ExecutorService service = getConfiguration().getExecutorService();
+                if (k == null && service != null) {
+                    k = keyedExecutor = new KeyedExecutor(service);
+                }
+            }
+        }
+        return k;
     }
 
     private void linkHandler(Annotation a0, Connection<?> connection, CallableHandler handler) {
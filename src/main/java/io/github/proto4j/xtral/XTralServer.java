@@ -25,20 +25,27 @@
 package io.github.proto4j.xtral; //@date 17.09.2022
 
 import io.github.proto4j.xtral.annotation.Server;
-import io.github.proto4j.xtral.bootstrap.ServerBootstrap;
+import io.github.proto4j.xtral.bootstrap.AbstractServerBootstrap;
 import io.github.proto4j.xtral.bootstrap.ServerBootstrapFactory;
 import io.github.proto4j.xtral.config.XTralConfiguration;
 import io.github.proto4j.xtral.config.XTralServerConfiguration;
+import io.github.proto4j.xtral.io.BroadcastPolicy;
 import io.github.proto4j.xtral.io.Connection;
+import io.github.proto4j.xtral.io.ConnectionGroup;
+import io.github.proto4j.xtral.io.SharedBuffer;
 
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.net.Socket;
+import java.nio.ByteBuffer;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
@@ -81,7 +88,14 @@ public class XTralServer extends XTralClient implements
      *
      * @since 1.0
      */
-    private final ServerBootstrap bootstrap;
+    private final AbstractServerBootstrap<?> bootstrap;
+
+    /**
+     * The connection groups of this server by topic.
+     *
+     * @see #getGroup(String)
+     */
+    private final ConcurrentMap<String, ConnectionGroup> groups = new ConcurrentHashMap<>();
 
     /**
      * Creates a new server based on the given configuration.
@@ -95,7 +109,7 @@ public class XTralServer extends XTralClient implements
         if (factory == null) {
             throw new NullPointerException("ServerBootstrapFactory == null");
         }
-        bootstrap = factory.createBootstrap();
+        bootstrap = factory.createBootstrap(configuration);
     }
 
     /**
@@ -195,6 +209,141 @@ public class XTralServer extends XTralClient implements
         getExecutorService().execute(command);
     }
 
+    /**
+     * Sends the given message to all given connections, applying the
+     * {@link XTralServerConfiguration#getBroadcastPolicy() configured}
+     * policy to busy connections.
+     *
+     * @param message the message to be sent
+     * @param targets the receiving connections
+     * @return the number of connections the message was written or queued to
+     * @throws IOException if the message could not be encoded
+     * @see #broadcast(Object, Iterable, BroadcastPolicy)
+     */
+    public int broadcast(Object message, Iterable<? extends Connection<?>> targets)
+            throws IOException {
+        return broadcast(message, targets, getConfiguration().getBroadcastPolicy());
+    }
+
+    /**
+     * Sends the given message to all given connections.
+     * <p>
+     * The message is passed through the outbound handler chain of the first
+     * open connection only, so all connections should share the same
+     * outbound handlers. If the chain produces a {@link ByteBuffer}, it is
+     * copied once into a {@link SharedBuffer} and every connection writes a
+     * read-only view of it; a {@code byte[]} is copied once and shared as
+     * well. Any other result is passed to the {@link
+     * io.github.proto4j.xtral.io.channel.Channel} of every connection as it
+     * is. The cost of a broadcast therefore depends on the number of bytes
+     * written, not on the number of encodings.
+     * <p>
+     * Closed connections are skipped. Connections that are busy writing
+     * another message are handled according to the given policy.
+     *
+     * @param message the message to be sent
+     * @param targets the receiving connections
+     * @param policy  the policy applied to busy connections
+     * @return the number of connections the message was written or queued to
+     * @throws IOException if the message could not be encoded
+     */
+    public int broadcast(Object message, Iterable<? extends Connection<?>> targets,
+                         BroadcastPolicy policy) throws IOException {
+        Objects.requireNonNull(message);
+        Objects.requireNonNull(targets);
+        Objects.requireNonNull(policy);
+
+        Object       encoded = null;
+        SharedBuffer shared  = null;
+        int          count   = 0;
+        try {
+            for (Connection<?> connection : targets) {
+                if (connection.isClosed()) {
+                    continue;
+                }
+                if (encoded == null) {
+                    try {
+                        encoded = connection.encode(message);
+                    } catch (UnsupportedOperationException e) {
+                        // Not initialized or closed in the meantime
+                        continue;
+                    }
+                    encoded = SharedBuffer.share(encoded);
+                    if (encoded instanceof SharedBuffer) {
+                        shared = (SharedBuffer) encoded;
+                    }
+                }
+                if (connection.sendEncoded(encoded, policy)) {
+                    count++;
+                }
+            }
+        } finally {
+            if (shared != null) {
+                shared.release();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the connection group of the given topic, creating an empty
+     * group if necessary.
+     *
+     * @param topic the topic
+     * @return the group of the topic
+     */
+    public ConnectionGroup getGroup(String topic) {
+        Objects.requireNonNull(topic);
+        ConnectionGroup group = groups.get(topic);
+        if (group == null) {
+            group = groups.computeIfAbsent(topic, ConnectionGroup::new);
+        }
+        return group;
+    }
+
+    /**
+     * Removes the connection group of the given topic. The connections are
+     * not closed.
+     *
+     * @param topic the topic
+     * @return the removed group or {@code null} if there was no group
+     */
+    public ConnectionGroup removeGroup(String topic) {
+        return groups.remove(Objects.requireNonNull(topic));
+    }
+
+    /**
+     * Returns the topics of all connection groups.
+     *
+     * @return an unmodifiable set of the topics
+     */
+    public Set<String> getTopics() {
+        return Set.copyOf(groups.keySet());
+    }
+
+    /**
+     * Sends the given message to all members of the group of the given
+     * topic. The members are written in parallel on the configured
+     * {@link ExecutorService} (or in the calling thread if there is none),
+     * applying the {@link XTralServerConfiguration#getBroadcastPolicy()
+     * configured} policy to busy connections.
+     *
+     * @param topic the topic
+     * @param message the message to be sent
+     * @return a future that is completed with the number of connections the
+     *         message was written or queued to
+     * @see ConnectionGroup#publish(Object, BroadcastPolicy, java.util.concurrent.Executor)
+     */
+    public CompletableFuture<Integer> publish(String topic, Object message) {
+        Objects.requireNonNull(topic);
+        ConnectionGroup group = groups.get(topic);
+        if (group == null) {
+            return CompletableFuture.completedFuture(0);
+        }
+        XTralServerConfiguration<?> config = getConfiguration();
+        return group.publish(message, config.getBroadcastPolicy(), config.getExecutorService());
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -206,7 +355,9 @@ public class XTralServer extends XTralClient implements
             throw new NoSuchElementException("Server was closed");
         }
         try {
-            Connection<Socket> connection = openConnection();
+            // The socket type of the bootstrap must match the socket type of
+            // the connections created by the ConnectionFactory.
+            Connection<Object> connection = openConnection();
             connection.setSocket(getBootstrap().next());
             connection.setChannel();
             return connection;
@@ -230,7 +381,7 @@ public class XTralServer extends XTralClient implements
      *
      * @return The server bootstrap.
      */
-    public ServerBootstrap getBootstrap() {
+    public AbstractServerBootstrap<?> getBootstrap() {
         return bootstrap;
     }
 
@@ -33,8 +33,22 @@ import java.lang.annotation.Target;
  * Agents are considered to be the worker classes that handle incoming and
  * outgoing messages.
  * <p>
- * Yet, there is no possibility of declaring different agents for each
- * connection, but this feature could be added in the future.
+ * The {@link #scope()} defines which connections share an agent instance.
+ * Agents that are not shared between threads can keep mutable state
+ * without any synchronization:
+ * <pre>{@code
+ * @Agent(scope = Agent.Scope.CONNECTION)
+ * public class SessionHandler {
+ *     private int received;
+ *
+ *     @InboundHandler
+ *     public void onMessage(Object message) {
+ *         received++;
+ *     }
+ * }
+ * }</pre>
+ * Instances are created with the public no-argument constructor of the
+ * agent class.
  *
  * @see IncludedHandler
  */
@@ -42,4 +56,37 @@ import java.lang.annotation.Target;
 @Target({ElementType.TYPE})
 public @interface Agent {
 
+    /**
+     * Returns the scope of the agent instances.
+     *
+     * @return the scope, by default {@link Scope#SINGLETON}
+     */
+    Scope scope() default Scope.SINGLETON;
+
+    /**
+     * Defines which handler calls share an agent instance.
+     *
+     * @since 1.0
+     */
+    enum Scope {
+
+        /**
+         * One instance is shared by all connections of a client or server.
+         */
+        SINGLETON,
+
+        /**
+         * Every connection uses its own instance. Its handlers are still
+         * called by every thread that reads from or writes to the
+         * connection.
+         */
+        CONNECTION,
+
+        /**
+         * Every thread uses its own instance for all connections. Handlers
+         * run by an executor, such as keyed or synchronized handlers, use
+         * the instance of the executing thread.
+         */
+        THREAD
+    }
 }
@@ -66,6 +66,16 @@ public @interface InboundHandler {
     /**
      * Indicates the annotated method will be executed in a synchronized
      * context.
+     * <p>
+     * All synchronized handlers of an agent, on all connections, are called
+     * through a mailbox of the agent: calls are queued and processed one at
+     * a time on a thread pool of the library, so the agent is never used by
+     * two threads at once and needs no locks. Callers never wait: the call
+     * is queued and the handler chain continues immediately, so the method
+     * cannot replace the message and must return {@code void}; otherwise,
+     * the handler is rejected when it is created. Errors of queued calls
+     * are passed to the {@link ExceptionHandler}s of the connection. This
+     * property takes precedence over {@link #parallel()} and {@link #key()}.
      *
      * @return {@code true} if the annotated method should be executed in a
      *         synchronized context
@@ -89,4 +99,49 @@ public @interface InboundHandler {
      *         at last.
      */
     boolean addLast() default false;
+
+    /**
+     * Returns the multicast groups whose messages are passed to the
+     * annotated method.
+     * <p>
+     * This property is only evaluated by multicast connections that tag
+     * received messages with their group, such as the
+     * {@code NioMultiGroupConnectionBase}. Each value must be an IP address
+     * literal. The default value is an empty array, which means that
+     * messages of all groups are handled.
+     *
+     * @return the addresses of the handled groups
+     */
+    String[] groups() default {};
+
+    /**
+     * Returns the name of a public method of the agent that extracts the
+     * ordering key of a message.
+     * <p>
+     * If a key extractor is set, the annotated method runs on the
+     * {@link ExecutorService} provided by the {@link XTralConfiguration}:
+     * messages with equal keys are handled one after another in the order
+     * they were received, even if they arrive over different connections of
+     * the same client, while messages with different keys are handled in
+     * parallel. Errors are passed to the {@link ExceptionHandler}s of the
+     * connection. The extractor takes the message as its only parameter and returns the
+     * key, for example an instrument or session id:
+     * <pre>{@code
+     * @InboundHandler(key = "instrument")
+     * public void onQuote(Quote quote) { ... }
+     *
+     * public String instrument(Quote quote) {
+     *     return quote.getSymbol();
+     * }
+     * }</pre>
+     * Because the annotated method runs asynchronously, it cannot replace
+     * the message for the following handlers and must therefore return
+     * {@code void}; otherwise, the handler is rejected when it is created.
+     * Messages with a {@code null} key are handled in the calling thread. The default
+     * value is an empty string, which disables keyed execution.
+     *
+     * @return the name of the key extractor method
+     * @see io.github.proto4j.xtral.io.KeyedExecutor
+     */
+    String key() default "";
 }
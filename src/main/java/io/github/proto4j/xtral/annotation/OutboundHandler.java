@@ -73,6 +73,17 @@ public @interface OutboundHandler {
     /**
      * Indicates the annotated method will be executed in a synchronized
      * context.
+     * <p>
+     * All synchronized handlers of an agent, on all connections, are called
+     * through a mailbox of the agent: calls are queued and processed one at
+     * a time on a thread pool of the library, so the agent is never used by
+     * two threads at once and needs no locks. The caller does not wait for
+     * the call, because it holds the write lock of the connection, which a
+     * queued call that sends a message would wait for. The method therefore
+     * observes the message, possibly after it has been written, and must
+     * return {@code void}; otherwise, the handler is rejected when it is
+     * created. Errors are passed to the {@link ExceptionHandler}s of the
+     * connection. This property takes precedence over {@link #parallel()}.
      *
      * @return {@code true} if the annotated method should be executed in a
      *         synchronized context
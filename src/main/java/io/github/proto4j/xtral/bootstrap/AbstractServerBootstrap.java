@@ -0,0 +1,187 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.bootstrap; //@date 18.10.2026
+
+import io.github.proto4j.xtral.XTralServer;
+import io.github.proto4j.xtral.io.Connection;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The base class of all server bootstraps. They are used to accept new
+ * socket objects of type {@code S}, for example {@link Socket}s created by
+ * a {@link ServerSocket} (see {@link ServerBootstrap}) or the sockets of
+ * other transports such as Unix domain sockets.
+ * <p>
+ * This class implements the functionality of an iterator, therefore an
+ * instance of this class can be used as follows:
+ * <pre>{@code
+ * AbstractServerBootstrap<Socket> bootstrap = ...
+ * while (bootstrap.hasNext()) {
+ *     Socket socket = bootstrap.next();
+ * }
+ * }</pre>
+ * The {@link XTralServer} wraps that functionality by creating new
+ * {@link Connection} objects based on the given sockets provided by
+ * this class. Therefore, the socket type of the bootstrap and of the
+ * created connections must be the same.
+ *
+ * @param <S> the socket type
+ * @see Iterator
+ * @see Closeable
+ * @see ServerBootstrapFactory
+ *
+ * @since 1.0
+ */
+public abstract class AbstractServerBootstrap<S> implements Closeable, Iterator<S> {
+
+    /**
+     * Used to indicate whether this bootstrap object can start to create
+     * socket objects.
+     *
+     * @serial
+     */
+    protected volatile boolean initialized;
+
+    /**
+     * A simple variable storing the closed-state. See the {@link #close()}
+     * method for details of the closing process.
+     *
+     * @see #close()
+     */
+    private volatile boolean closed;
+
+    /**
+     * Creates a new bootstrap object and initializes internal fields.
+     * <p>
+     * The implementation of this method can differ based on the context of
+     * this class. By default, the {@link #initialized} variable is set to
+     * {@code true} in order to enable further processing.
+     *
+     * @throws IOException if an I/O Error occurs
+     */
+    protected AbstractServerBootstrap() throws IOException {
+        initialized = true;
+    }
+
+    /**
+     * Waits for the next incoming connection and returns its socket.
+     *
+     * @return the socket of the accepted connection
+     * @throws IOException if an I/O Error occurs
+     */
+    protected abstract S accept() throws IOException;
+
+    /**
+     * Returns whether the underlying server object is ready to accept
+     * connections.
+     *
+     * @return {@code true} if new connections can be accepted
+     */
+    protected abstract boolean isOpen();
+
+    /**
+     * Releases the underlying server object. This method is called once by
+     * {@link #close()}.
+     *
+     * @throws IOException if an I/O Error occurs
+     */
+    protected abstract void doClose() throws IOException;
+
+    /**
+     * Returns {@code true} if the iteration has more elements.
+     * (In other words, returns {@code true} if {@link #next} would
+     * return an element rather than throwing an exception.)
+     *
+     * @return {@code true} if the iteration has more elements
+     */
+    @Override
+    public boolean hasNext() {
+        return isInitialized() && !isClosed() && isOpen();
+    }
+
+    /**
+     * Returns the next element in the iteration.
+     * <p>
+     * This method is not synchronized, because it blocks until a connection
+     * arrives and {@link #close()} must still be able to interrupt it from
+     * another thread.
+     *
+     * @return the next element in the iteration
+     * @throws NoSuchElementException if the iteration has no more elements
+     */
+    @Override
+    public S next() {
+        if (isClosed()) {
+            throw new NoSuchElementException("Bootstrap is closed");
+        }
+        try {
+            return accept();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Closes this bootstrap and releases all used information.
+     * <p>
+     * After calling this method, other methods of this class will be unusable.
+     *
+     * @throws IOException {@inheritDoc}
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        doClose();
+        closed = true;
+    }
+
+    /**
+     * Returns whether this bootstrap object has been closed.
+     *
+     * @return {@code true} if this bootstrap object has been closed;
+     *         {@code false} otherwise.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Returns whether this bootstrap object has been initialized.
+     *
+     * @return {@code true} if this bootstrap object has been initialized;
+     *         {@code false} otherwise.
+     */
+    public boolean isInitialized() {
+        return initialized;
+    }
+}
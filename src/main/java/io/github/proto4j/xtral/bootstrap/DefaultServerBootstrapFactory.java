@@ -24,7 +24,11 @@
 
 package io.github.proto4j.xtral.bootstrap; //@date 17.09.2022
 
+import io.github.proto4j.xtral.config.XTralServerConfiguration;
+
+import javax.net.ServerSocketFactory;
 import java.io.IOException;
+import java.net.SocketAddress;
 
 /**
  * The default implementation of this factory class creates object of the
@@ -45,4 +49,40 @@ class DefaultServerBootstrapFactory extends ServerBootstrapFactory {
     public ServerBootstrap createBootstrap() throws IOException {
         return new ServerSocketBootstrap();
     }
+
+    /**
+     * Creates a new {@link ServerSocketBootstrap} and links it with a server
+     * socket created by the {@link ServerSocketFactory} of the given
+     * configuration. The socket options and the backlog of the
+     * configuration are passed to the bootstrap, and the server socket is
+     * bound to the {@linkplain XTralServerConfiguration#getBindAddress()
+     * bind address} if the configuration provides one.
+     *
+     * @param configuration the server configuration
+     * @return the newly created {@link ServerBootstrap}.
+     * @throws IOException if an I/O Error occurs.
+     */
+    @Override
+    public ServerBootstrap createBootstrap(XTralServerConfiguration<?> configuration)
+            throws IOException {
+        ServerSocketBootstrap bootstrap = new ServerSocketBootstrap();
+        bootstrap.setSocketOptions(configuration.getSocketOptions());
+        bootstrap.setBacklog(configuration.getBacklog());
+
+        ServerSocketFactory factory = configuration.getServerSocketFactory();
+        if (factory != null) {
+            bootstrap.setServerSocket(factory);
+
+            SocketAddress address = configuration.getBindAddress();
+            if (address != null) {
+                try {
+                    bootstrap.bind(address);
+                } catch (IOException e) {
+                    bootstrap.close();
+                    throw e;
+                }
+            }
+        }
+        return bootstrap;
+    }
 }
@@ -33,7 +33,6 @@ import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.util.Iterator;
-import java.util.NoSuchElementException;
 import java.util.Objects;
 
 /**
@@ -51,7 +50,8 @@ import java.util.Objects;
  * }</pre>
  * The {@link XTralServer} wraps that functionality by creating new
  * {@link Connection} objects based on the given {@link Socket}s provided by
- * this class.
+ * this class. Bootstraps of other transports extend
+ * {@link AbstractServerBootstrap} directly.
  *
  * @see Iterator
  * @see Closeable
@@ -59,15 +59,7 @@ import java.util.Objects;
  *
  * @since 1.0
  */
-public abstract class ServerBootstrap implements Closeable, Iterator<Socket> {
-
-    /**
-     * Used to indicate whether this bootstrap object can start to create
-     * {@link Socket} objects.
-     *
-     * @serial
-     */
-    protected volatile boolean initialized;
+public abstract class ServerBootstrap extends AbstractServerBootstrap<Socket> {
 
     /**
      * The referenced {@code ServerSocket} object that creates each {@link Socket}
@@ -77,14 +69,6 @@ public abstract class ServerBootstrap implements Closeable, Iterator<Socket> {
      */
     private volatile ServerSocket serverSocket;
 
-    /**
-     * A simple variable storing the closed-state. See the {@link #close()}
-     * method for details of the closing process.
-     *
-     * @see #close()
-     */
-    private volatile boolean closed;
-
     /**
      * Creates a new {@code ServerBootstrap} object and initializes internal
      * fields.
@@ -96,7 +80,7 @@ public abstract class ServerBootstrap implements Closeable, Iterator<Socket> {
      * @throws IOException if an I/O Error occurs
      */
     public ServerBootstrap() throws IOException {
-        initialized = true;
+        super();
     }
 
     /**
@@ -128,66 +112,42 @@ public abstract class ServerBootstrap implements Closeable, Iterator<Socket> {
     }
 
     /**
-     * Returns {@code true} if the iteration has more elements.
-     * (In other words, returns {@code true} if {@link #next} would
-     * return an element rather than throwing an exception.)
+     * Accepts the next connection of the {@link ServerSocket}.
      *
-     * @return {@code true} if the iteration has more elements
+     * @return {@inheritDoc}
+     * @throws IOException {@inheritDoc}
      */
     @Override
-    public boolean hasNext() {
-        return isInitialized() && !isClosed() && !serverSocket.isClosed();
+    protected Socket accept() throws IOException {
+        ServerSocket socket = serverSocket;
+        if (socket == null) {
+            throw new IOException("ServerSocket == null");
+        }
+        return socket.accept();
     }
 
     /**
-     * Returns the next element in the iteration.
+     * Returns whether the {@link ServerSocket} has been created and is not
+     * closed.
      *
-     * @return the next element in the iteration
-     * @throws NoSuchElementException if the iteration has no more elements
+     * @return {@inheritDoc}
      */
     @Override
-    public synchronized Socket next() {
-        if (isClosed()) {
-            throw new NoSuchElementException("ServerSocket is closed");
-        }
-        try {
-            return serverSocket.accept();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+    protected boolean isOpen() {
+        ServerSocket socket = serverSocket;
+        return socket != null && !socket.isClosed();
     }
 
     /**
-     * Closes this {@code ServerBootstrap} and releases all used information.
-     * <p>
-     * After calling this method, other methods of this class will be unusable.
+     * Closes the {@link ServerSocket}.
      *
      * @throws IOException {@inheritDoc}
      */
     @Override
-    public synchronized void close() throws IOException {
-        serverSocket.close();
-        closed = true;
-    }
-
-    /**
-     * Returns whether this {@code ServerBootstrap} object has been closed.
-     *
-     * @return {@code true} if this bootstrap object has been closed;
-     *         {@code false} otherwise.
-     */
-    public boolean isClosed() {
-        return closed;
-    }
-
-    /**
-     * Returns whether this {@code ServerBootstrap} object has been
-     * initialized.
-     *
-     * @return {@code true} if this bootstrap object has been initialized;
-     *         {@code false} otherwise.
-     */
-    public boolean isInitialized() {
-        return initialized;
+    protected void doClose() throws IOException {
+        ServerSocket socket = serverSocket;
+        if (socket != null) {
+            socket.close();
+        }
     }
 }
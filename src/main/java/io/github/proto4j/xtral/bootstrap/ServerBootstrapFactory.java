@@ -24,11 +24,14 @@
 
 package io.github.proto4j.xtral.bootstrap; //@date 17.09.2022
 
+import io.github.proto4j.xtral.config.XTralServerConfiguration;
+
 import java.io.IOException;
 
 /**
- * A {@code ServerBootstrapFactory} is used to create {@code ServerBootstrap}
- * objects.
+ * A {@code ServerBootstrapFactory} is used to create server bootstraps,
+ * which are {@code ServerBootstrap} objects for {@link java.net.Socket}s and
+ * {@link AbstractServerBootstrap}s for other transports.
  * <p>
  * The default factory creates standard {@link java.net.Socket} objects with
  * the {@code next()} method.
@@ -66,10 +69,28 @@ public abstract class ServerBootstrapFactory {
     }
 
     /**
-     * Creates a new {@link ServerBootstrap} and initializes it.
+     * Creates a new server bootstrap and initializes it.
      *
-     * @return the newly created {@link ServerBootstrap}.
+     * @return the newly created bootstrap.
      * @throws IOException if an I/O Error occurs.
      */
-    public abstract ServerBootstrap createBootstrap() throws IOException;
+    public abstract AbstractServerBootstrap<?> createBootstrap() throws IOException;
+
+    /**
+     * Creates a new server bootstrap for the given server
+     * configuration and initializes it.
+     * <p>
+     * This method is used by the {@code XTralServer}. The default
+     * implementation ignores the configuration and delegates to
+     * {@link #createBootstrap()}; factories that read their settings from
+     * the configuration override this method.
+     *
+     * @param configuration the server configuration
+     * @return the newly created bootstrap.
+     * @throws IOException if an I/O Error occurs.
+     */
+    public AbstractServerBootstrap<?> createBootstrap(XTralServerConfiguration<?> configuration)
+            throws IOException {
+        return createBootstrap();
+    }
 }
@@ -24,7 +24,16 @@
 
 package io.github.proto4j.xtral.bootstrap; //@date 17.09.2022
 
+import io.github.proto4j.xtral.io.channel.ChannelOption;
+import io.github.proto4j.xtral.io.channel.StandardChannelOptions;
+
+import javax.net.ServerSocketFactory;
 import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * Default {@link java.net.ServerSocket} implementation which creates plain
@@ -34,7 +43,84 @@ import java.io.IOException;
  */
 public class ServerSocketBootstrap extends ServerBootstrap {
 
+    private volatile Map<ChannelOption<?>, Object> socketOptions = Map.of();
+    private volatile int                           backlog       = 50;
+
     public ServerSocketBootstrap() throws IOException {
         super();
     }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The socket options of this bootstrap are applied to the new
+     * {@link ServerSocket}.
+     *
+     * @param factory {@inheritDoc}
+     * @throws IOException          {@inheritDoc}
+     * @throws NullPointerException {@inheritDoc}
+     */
+    @Override
+    public synchronized void setServerSocket(ServerSocketFactory factory)
+            throws IOException {
+        super.setServerSocket(factory);
+        ServerSocket socket = getServerSocket();
+        try {
+            StandardChannelOptions.apply(socket, socketOptions);
+        } catch (IOException | RuntimeException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Binds the {@link ServerSocket} to the given address with the backlog
+     * of this bootstrap.
+     *
+     * @param address the address to bind to or {@code null} for an
+     *         ephemeral port on the wildcard address
+     * @throws IOException if the server socket was not created or the bind
+     *                     operation fails
+     */
+    public void bind(SocketAddress address) throws IOException {
+        ServerSocket socket = getServerSocket();
+        if (socket == null) {
+            throw new IOException("ServerSocket == null");
+        }
+        socket.bind(address, backlog);
+    }
+
+    /**
+     * Sets the options that are applied to the {@link ServerSocket} and to
+     * every accepted {@link Socket}. Options that are not supported by a
+     * socket are skipped.
+     *
+     * @param socketOptions the options and their values
+     */
+    public void setSocketOptions(Map<ChannelOption<?>, Object> socketOptions) {
+        this.socketOptions = Objects.requireNonNull(socketOptions);
+    }
+
+    /**
+     * Sets the maximum number of pending connections used by
+     * {@link #bind(SocketAddress)}.
+     *
+     * @param backlog the backlog; a value {@code <= 0} selects the default
+     *         of the platform
+     */
+    public void setBacklog(int backlog) {
+        this.backlog = backlog;
+    }
+
+    @Override
+    protected Socket accept() throws IOException {
+        Socket accepted = super.accept();
+        try {
+            StandardChannelOptions.apply(accepted, socketOptions);
+        } catch (IOException | RuntimeException e) {
+            accepted.close();
+            throw e;
+        }
+        return accepted;
+    }
 }
@@ -32,14 +32,15 @@
  * is the following:
  * <pre>{@code
  * ServerBootstrapFactory factory = ServerBootstrapFactory.getDefault();
- * ServerBootstrap bootstrap = factory.createBootstrap();
+ * AbstractServerBootstrap<?> bootstrap = factory.createBootstrap();
  * while (bootstrap.hasNext()) {
- *     Socket socket = bootstrap.next();
+ *     Object socket = bootstrap.next();
  * }
  * }</pre>
  * The {@code next()} method will block until the next connection is created.
  *
  * @see io.github.proto4j.xtral.bootstrap.ServerBootstrap
+ * @see io.github.proto4j.xtral.bootstrap.AbstractServerBootstrap
  * @see io.github.proto4j.xtral.bootstrap.ServerBootstrapFactory
  *
  * @since 1.0
@@ -0,0 +1,661 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.codec; //@date 18.10.2026
+
+import io.github.proto4j.xtral.io.Recyclable;
+import io.github.proto4j.xtral.io.Recycler;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Encodes and decodes the fields of a {@link BinaryMessage} class or record.
+ * <p>
+ * The codec is assembled once per type from {@link MethodHandle}s: every
+ * field is compiled into a handle that reads the field and writes it to
+ * the buffer, and all field handles are folded into a single handle for
+ * encoding and a single handle for decoding. Encoding and decoding
+ * therefore do not use reflection, do not box primitive values and do not
+ * allocate anything apart from the decoded message, its strings and
+ * arrays.
+ * <pre>{@code
+ * BinaryCodec<Quote> codec = BinaryCodec.of(Quote.class);
+ * codec.encode(quote, buffer);
+ * buffer.flip();
+ * Quote copy = codec.decode(buffer);
+ * }</pre>
+ * Classes must declare a no-argument constructor and their annotated
+ * fields must not be {@code final}; records are created with their
+ * canonical constructor. Classes that extend {@link Recyclable} are taken
+ * from their {@link Recycler} instead of being created for every message.
+ * If the message type is declared in a named module, its package must be
+ * opened to this module, or a lookup with private access must be passed to
+ * {@link #of(Class, MethodHandles.Lookup)}.
+ * <p>
+ * The wire format contains no field tags, so both sides must use the same
+ * version of a message type.
+ *
+ * @param <T> the message type
+ * @see BinaryField
+ * @see BinaryCodecHandler
+ * @since 1.0
+ */
+public final class BinaryCodec<T> {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final ClassValue<BinaryCodec<?>> CODECS = new ClassValue<>() {
+        @Override
+        protected BinaryCodec<?> computeValue(Class<?> type) {
+            return new BinaryCodec<>(type, LOOKUP, true);
+        }
+    };
+
+    private static final MethodType WRITER = methodType(void.class, Object.class, ByteBuffer.class);
+    private static final MethodType READER = methodType(Object.class, ByteBuffer.class);
+
+    private final Class<T>     type;
+    private final int          id;
+    private final MethodHandle writer;
+    private final MethodHandle reader;
+
+    private BinaryCodec(Class<T> type, MethodHandles.Lookup origin, boolean cached) {
+        BinaryMessage message = type.getAnnotation(BinaryMessage.class);
+        if (message == null) {
+            throw new IllegalArgumentException("Not a @BinaryMessage: " + type.getName());
+        }
+        if (message.value() < 0) {
+            throw new IllegalArgumentException("Invalid message id: " + message.value());
+        }
+        this.type = type;
+        this.id   = message.value();
+
+        MethodHandles.Lookup lookup = privateLookup(type, origin);
+        try {
+            if (type.isRecord()) {
+                List<Member> members = recordMembers(type, lookup, origin, cached);
+                this.writer = writer(members);
+                this.reader = recordReader(type, members, lookup);
+            } else {
+                List<Member> members = fieldMembers(type, lookup, origin, cached);
+                this.writer = writer(members);
+                this.reader = objectReader(type, members, lookup);
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot create codec for " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Returns the codec of the given message type. Codecs are created once
+     * per type and cached.
+     *
+     * @param type the message type
+     * @param <T> the message type
+     * @return the codec
+     * @throws IllegalArgumentException if the type is not a valid message
+     *                                  type or cannot be accessed
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> BinaryCodec<T> of(Class<T> type) {
+        Objects.requireNonNull(type);
+        return (BinaryCodec<T>) CODECS.get(type);
+    }
+
+    /**
+     * Creates a codec of the given message type that accesses the message
+     * with the given lookup. The lookup must have private access to the
+     * message type, for example {@code MethodHandles.lookup()} called from
+     * the message type or a class in the same module.
+     *
+     * @param type the message type
+     * @param lookup the lookup used to access the fields of the message
+     * @param <T> the message type
+     * @return the new codec
+     * @throws IllegalArgumentException if the type is not a valid message
+     *                                  type or cannot be accessed
+     */
+    public static <T> BinaryCodec<T> of(Class<T> type, MethodHandles.Lookup lookup) {
+        Objects.requireNonNull(type);
+        Objects.requireNonNull(lookup);
+        return new BinaryCodec<>(type, lookup, false);
+    }
+
+    /**
+     * Writes the fields of the given message to the buffer.
+     *
+     * @param message the message to encode
+     * @param dst the buffer to write to
+     * @throws java.nio.BufferOverflowException if the buffer is too small;
+     *                                          the position of the buffer
+     *                                          is undefined in that case
+     * @throws NullPointerException             if the message is
+     *                                          {@code null}
+     */
+    public void encode(T message, ByteBuffer dst) {
+        Objects.requireNonNull(message);
+        try {
+            writer.invokeExact((Object) message, dst);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Reads a message from the buffer.
+     *
+     * @param src the buffer to read from
+     * @return the decoded message
+     * @throws BufferUnderflowException if the buffer ends within the message
+     * @throws IllegalArgumentException if the message is malformed
+     */
+    public T decode(ByteBuffer src) {
+        try {
+            return type.cast((Object) reader.invokeExact(src));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the message type of this codec.
+     *
+     * @return the message type
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the id of the message type.
+     *
+     * @return the id declared by {@link BinaryMessage#value()}
+     */
+    public int getId() {
+        return id;
+    }
+
+    // A field of a message: its position, its type, the handles to access it
+    // and the handles that write and read its value.
+    private static final class Member {
+        private final int          order;
+        private final int          component;
+        private final Class<?>     type;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+        private final MethodHandle write;
+        private final MethodHandle read;
+
+        private Member(int order, int component, Class<?> type, MethodHandle getter,
+                       MethodHandle setter, boolean fixed, Nested nested)
+                throws ReflectiveOperationException {
+            this.order     = order;
+            this.component = component;
+            this.type      = type;
+            this.getter    = getter;
+            this.setter    = setter;
+            this.write     = writeHandle(type, fixed, nested);
+            this.read      = readHandle(type, fixed, nested);
+        }
+    }
+
+    private static List<Member> recordMembers(Class<?> type, MethodHandles.Lookup lookup,
+                                              MethodHandles.Lookup origin, boolean cached)
+            throws ReflectiveOperationException {
+        RecordComponent[] components = type.getRecordComponents();
+        List<Member>      members    = new ArrayList<>(components.length);
+        int annotated = 0;
+        for (int i = 0; i < components.length; i++) {
+            RecordComponent component = components[i];
+            BinaryField     field     = component.getAnnotation(BinaryField.class);
+            if (field != null) {
+                annotated++;
+            }
+            MethodHandle getter = lookup.unreflect(component.getAccessor());
+            members.add(new Member(field == null ? i : field.value(), i, component.getType(),
+                    getter, null, field != null && field.fixed(),
+                    nested(component.getType(), origin, cached)));
+        }
+        if (annotated != 0 && annotated != components.length) {
+            throw new IllegalArgumentException("All or no record components must be annotated: "
+                    + type.getName());
+        }
+        return sorted(type, members);
+    }
+
+    private static List<Member> fieldMembers(Class<?> type, MethodHandles.Lookup lookup,
+                                             MethodHandles.Lookup origin, boolean cached)
+            throws ReflectiveOperationException {
+        List<Member> members = new ArrayList<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            MethodHandles.Lookup l = c == type ? lookup : privateLookup(c, origin);
+            for (Field field : c.getDeclaredFields()) {
+                BinaryField annotation = field.getAnnotation(BinaryField.class);
+                if (annotation == null) {
+                    continue;
+                }
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers)) {
+                    throw new IllegalArgumentException("Field must not be static or final: " + field);
+                }
+                members.add(new Member(annotation.value(), -1, field.getType(),
+                        l.unreflectGetter(field), l.unreflectSetter(field),
+                        annotation.fixed(), nested(field.getType(), origin, cached)));
+            }
+        }
+        return sorted(type, members);
+    }
+
+    private static List<Member> sorted(Class<?> type, List<Member> members) {
+        members.sort(Comparator.comparingInt(m -> m.order));
+        for (int i = 1; i < members.size(); i++) {
+            if (members.get(i - 1).order == members.get(i).order) {
+                throw new IllegalArgumentException("Duplicate field order "
+                        + members.get(i).order + " in " + type.getName());
+            }
+        }
+        return members;
+    }
+
+    // Folds the write handles of all members into one (Object, ByteBuffer)void
+    // handle that writes the members in order.
+    private static MethodHandle writer(List<Member> members) {
+        MethodHandle result = MethodHandles.empty(WRITER);
+        for (int i = members.size() - 1; i >= 0; i--) {
+            Member member = members.get(i);
+            // (ByteBuffer, T)void -> (ByteBuffer, Object)void -> (Object, ByteBuffer)void
+            MethodHandle write = MethodHandles.filterArguments(member.write, 1,
+                    member.getter.asType(methodType(member.type, Object.class)));
+            write = MethodHandles.permuteArguments(write, WRITER, 1, 0);
+            result = MethodHandles.foldArguments(result, write);
+        }
+        return result;
+    }
+
+    // Creates a (ByteBuffer)Object handle that instantiates the class with its
+    // no-argument constructor and reads the members in order. Recyclable
+    // classes are taken from their recycler instead.
+    private static MethodHandle objectReader(Class<?> type, List<Member> members,
+                                             MethodHandles.Lookup lookup)
+            throws ReflectiveOperationException {
+        Constructor<?> constructor = type.getDeclaredConstructor();
+        MethodHandle   create      = lookup.unreflectConstructor(constructor)
+                .asType(methodType(Object.class));
+        if (Recyclable.class.isAssignableFrom(type)) {
+            create = MethodHandles.publicLookup()
+                    .findVirtual(Recycler.class, "get", methodType(Recyclable.class))
+                    .bindTo(recycler(type.asSubclass(Recyclable.class), create))
+                    .asType(methodType(Object.class));
+        }
+
+        MethodHandle fill = MethodHandles.empty(WRITER);
+        for (int i = members.size() - 1; i >= 0; i--) {
+            Member member = members.get(i);
+            // (Object, T)void -> (Object, ByteBuffer)void
+            MethodHandle read = MethodHandles.filterArguments(
+                    member.setter.asType(methodType(void.class, Object.class, member.type)),
+                    1, member.read);
+            fill = MethodHandles.foldArguments(fill, read);
+        }
+        // (Object, ByteBuffer)Object: fills the object and returns it
+        MethodHandle result = MethodHandles.dropArguments(
+                MethodHandles.identity(Object.class), 1, ByteBuffer.class);
+        result = MethodHandles.foldArguments(result, fill);
+        return MethodHandles.foldArguments(result, create);
+    }
+
+    private static <R extends Recyclable> Recycler<R> recycler(Class<R> type,
+                                                                MethodHandle create) {
+        return Recycler.of(type, () -> {
+            try {
+                return type.cast((Object) create.invokeExact());
+            } catch (Throwable e) {
+                throw new IllegalStateException("Cannot create " + type.getName(), e);
+            }
+        });
+    }
+
+    // Creates a (ByteBuffer)Object handle that reads the members in order and
+    // passes them to the canonical constructor of the record.
+    private static MethodHandle recordReader(Class<?> type, List<Member> members,
+                                             MethodHandles.Lookup lookup)
+            throws ReflectiveOperationException {
+        RecordComponent[] components = type.getRecordComponents();
+        Class<?>[]        ctorTypes  = new Class<?>[components.length];
+        for (int i = 0; i < components.length; i++) {
+            ctorTypes[i] = components[i].getType();
+        }
+        MethodHandle create = lookup.findConstructor(type, methodType(void.class, ctorTypes))
+                .asType(methodType(Object.class, ctorTypes));
+
+        // Reorder the constructor parameters to the wire order of the members
+        Class<?>[] wireTypes = new Class<?>[members.size()];
+        int[]      reorder   = new int[components.length];
+        for (int i = 0; i < members.size(); i++) {
+            wireTypes[i] = members.get(i).type;
+            reorder[members.get(i).component] = i;
+        }
+        MethodHandle result = MethodHandles.permuteArguments(create,
+                methodType(Object.class, wireTypes), reorder);
+
+        // (T1..Tn)Object -> (T1..Tn, ByteBuffer)Object, then each value is
+        // read from the buffer by a combiner that runs before the target.
+        result = MethodHandles.dropArguments(result, wireTypes.length, ByteBuffer.class);
+        for (int i = members.size() - 1; i >= 0; i--) {
+            result = MethodHandles.foldArguments(result, i, members.get(i).read);
+        }
+        return result;
+    }
+
+    private static Nested nested(Class<?> type, MethodHandles.Lookup origin, boolean cached) {
+        if (!type.isAnnotationPresent(BinaryMessage.class)) {
+            return null;
+        }
+        return new Nested(type, cached ? null : origin);
+    }
+
+    private static MethodHandles.Lookup privateLookup(Class<?> type, MethodHandles.Lookup lookup) {
+        if (lookup.lookupClass() == type) {
+            return lookup;
+        }
+        try {
+            LOOKUP.lookupClass().getModule().addReads(type.getModule());
+            return MethodHandles.privateLookupIn(type, lookup);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot access " + type.getName()
+                    + ", its package must be opened to " + LOOKUP.lookupClass().getModule(), e);
+        }
+    }
+
+    // Resolves the codec of a nested message type on first use, so message
+    // types may refer to themselves.
+    private static final class Nested {
+        private final Class<?>             type;
+        private final MethodHandles.Lookup lookup;
+
+        private volatile BinaryCodec<?> codec;
+
+        private Nested(Class<?> type, MethodHandles.Lookup lookup) {
+            this.type   = type;
+            this.lookup = lookup;
+        }
+
+        @SuppressWarnings("unchecked")
+        private BinaryCodec<Object> codec() {
+            BinaryCodec<?> c = codec;
+            if (c == null) {
+                c = lookup == null ? of(type) : of(type, lookup);
+                codec = c;
+            }
+            return (BinaryCodec<Object>) c;
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Field encodings
+    ///////////////////////////////////////////////////////////////////////////
+
+    // Returns a (ByteBuffer, T)void handle
+    private static MethodHandle writeHandle(Class<?> type, boolean fixed, Nested nested)
+            throws ReflectiveOperationException {
+        if (nested != null) {
+            return MethodHandles.insertArguments(find("writeNested", void.class,
+                    Nested.class, ByteBuffer.class, Object.class), 0, nested)
+                    .asType(methodType(void.class, ByteBuffer.class, type));
+        }
+        if (type.isEnum()) {
+            return find("writeEnum", void.class, ByteBuffer.class, Enum.class)
+                    .asType(methodType(void.class, ByteBuffer.class, type));
+        }
+        if (type == int.class && !fixed) {
+            return LOOKUP.findStatic(Varint.class, "writeInt",
+                    methodType(void.class, ByteBuffer.class, int.class));
+        }
+        if (type == long.class && !fixed) {
+            return LOOKUP.findStatic(Varint.class, "writeLong",
+                    methodType(void.class, ByteBuffer.class, long.class));
+        }
+        return find("write", void.class, ByteBuffer.class, supported(type));
+    }
+
+    // Returns a (ByteBuffer)T handle
+    private static MethodHandle readHandle(Class<?> type, boolean fixed, Nested nested)
+            throws ReflectiveOperationException {
+        if (nested != null) {
+            return MethodHandles.insertArguments(find("readNested", Object.class,
+                    Nested.class, ByteBuffer.class), 0, nested)
+                    .asType(methodType(type, ByteBuffer.class));
+        }
+        if (type.isEnum()) {
+            return MethodHandles.insertArguments(find("readEnum", Object.class,
+                    Object[].class, ByteBuffer.class), 0, (Object) type.getEnumConstants())
+                    .asType(methodType(type, ByteBuffer.class));
+        }
+        if (type == int.class && !fixed) {
+            return LOOKUP.findStatic(Varint.class, "readInt", methodType(int.class, ByteBuffer.class));
+        }
+        if (type == long.class && !fixed) {
+            return LOOKUP.findStatic(Varint.class, "readLong", methodType(long.class, ByteBuffer.class));
+        }
+        String name = supported(type).getSimpleName();
+        if (type == byte[].class) {
+            name = "Bytes";
+        }
+        return find("read" + Character.toUpperCase(name.charAt(0)) + name.substring(1),
+                type, ByteBuffer.class);
+    }
+
+    private static Class<?> supported(Class<?> type) {
+        if (type.isPrimitive() || type == String.class || type == byte[].class) {
+            return type;
+        }
+        throw new IllegalArgumentException("Unsupported field type: " + type.getName());
+    }
+
+    private static MethodHandle find(String name, Class<?> rtype, Class<?>... ptypes)
+            throws ReflectiveOperationException {
+        return LOOKUP.findStatic(BinaryCodec.class, name, methodType(rtype, ptypes));
+    }
+
+    private static void write(ByteBuffer dst, boolean value) {
+        dst.put(value ? (byte) 1 : (byte) 0);
+    }
+
+    private static void write(ByteBuffer dst, byte value) {
+        dst.put(value);
+    }
+
+    private static void write(ByteBuffer dst, short value) {
+        dst.putShort(value);
+    }
+
+    private static void write(ByteBuffer dst, char value) {
+        dst.putChar(value);
+    }
+
+    private static void write(ByteBuffer dst, int value) {
+        dst.putInt(value);
+    }
+
+    private static void write(ByteBuffer dst, long value) {
+        dst.putLong(value);
+    }
+
+    private static void write(ByteBuffer dst, float value) {
+        dst.putFloat(value);
+    }
+
+    private static void write(ByteBuffer dst, double value) {
+        dst.putDouble(value);
+    }
+
+    // Strings and arrays are prefixed with their length + 1, 0 means null.
+    private static void write(ByteBuffer dst, String value) {
+        if (value == null) {
+            dst.put((byte) 0);
+            return;
+        }
+        int length = value.length();
+        int ascii  = 0;
+        while (ascii < length && value.charAt(ascii) < 0x80) {
+            ascii++;
+        }
+        if (ascii == length) {
+            // ASCII strings are written without an intermediate array
+            Varint.writeUnsignedInt(dst, length + 1);
+            for (int i = 0; i < length; i++) {
+                dst.put((byte) value.charAt(i));
+            }
+        } else {
+            write(dst, value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void write(ByteBuffer dst, byte[] value) {
+        if (value == null) {
+            dst.put((byte) 0);
+            return;
+        }
+        Varint.writeUnsignedInt(dst, value.length + 1);
+        dst.put(value);
+    }
+
+    private static void writeEnum(ByteBuffer dst, Enum<?> value) {
+        Varint.writeUnsignedInt(dst, value == null ? 0 : value.ordinal() + 1);
+    }
+
+    private static void writeNested(Nested nested, ByteBuffer dst, Object value) {
+        if (value == null) {
+            dst.put((byte) 0);
+            return;
+        }
+        dst.put((byte) 1);
+        nested.codec().encode(value, dst);
+    }
+
+    private static boolean readBoolean(ByteBuffer src) {
+        return src.get() != 0;
+    }
+
+    private static byte readByte(ByteBuffer src) {
+        return src.get();
+    }
+
+    private static short readShort(ByteBuffer src) {
+        return src.getShort();
+    }
+
+    private static char readChar(ByteBuffer src) {
+        return src.getChar();
+    }
+
+    private static int readInt(ByteBuffer src) {
+        return src.getInt();
+    }
+
+    private static long readLong(ByteBuffer src) {
+        return src.getLong();
+    }
+
+    private static float readFloat(ByteBuffer src) {
+        return src.getFloat();
+    }
+
+    private static double readDouble(ByteBuffer src) {
+        return src.getDouble();
+    }
+
+    private static String readString(ByteBuffer src) {
+        int length = readLength(src);
+        if (length < 0) {
+            return null;
+        }
+        int position = src.position();
+        if (src.hasArray()) {
+            String value = new String(src.array(), src.arrayOffset() + position, length,
+                    StandardCharsets.UTF_8);
+            src.position(position + length);
+            return value;
+        }
+        byte[] bytes = new byte[length];
+        src.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readBytes(ByteBuffer src) {
+        int length = readLength(src);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        src.get(bytes);
+        return bytes;
+    }
+
+    private static Object readEnum(Object[] constants, ByteBuffer src) {
+        int ordinal = Varint.readUnsignedInt(src);
+        if (ordinal == 0) {
+            return null;
+        }
+        if (ordinal > constants.length) {
+            throw new IllegalArgumentException("Invalid enum ordinal: " + (ordinal - 1));
+        }
+        return constants[ordinal - 1];
+    }
+
+    private static Object readNested(Nested nested, ByteBuffer src) {
+        return src.get() == 0 ? null : nested.codec().decode(src);
+    }
+
+    // Returns the length of a string or array, or -1 for null
+    private static int readLength(ByteBuffer src) {
+        int length = Varint.readUnsignedInt(src) - 1;
+        if (length < -1) {
+            throw new IllegalArgumentException("Malformed length");
+        }
+        if (length > src.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        return length;
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.codec; //@date 18.10.2026
+
+import io.github.proto4j.xtral.annotation.InboundHandler;
+import io.github.proto4j.xtral.annotation.OutboundHandler;
+import io.github.proto4j.xtral.io.CallableHandler;
+import io.github.proto4j.xtral.io.Connection;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Built-in handlers that encode outgoing and decode incoming
+ * {@link BinaryMessage}s with their {@link BinaryCodec}.
+ * <p>
+ * Every message is prefixed with the varint id of its type. Outgoing
+ * messages of a registered type are encoded into a buffer that is owned
+ * by the sending thread and reused for every message; all other messages
+ * are passed on unchanged. The encoded buffer is only valid until the
+ * channel returns from {@code write}, which is the case for all channels
+ * of this library. Incoming {@link ByteBuffer}s, {@code byte[]}s and
+ * {@link DatagramPacket}s are decoded into messages.
+ * <pre>{@code
+ * BinaryCodecHandler.install(connection, Quote.class, Trade.class);
+ * connection.sendObject(new Quote("ABC", 1250, 10));
+ * }</pre>
+ * The handlers are installed as the last outbound and the first inbound
+ * handler, so other handlers work with messages instead of bytes. The
+ * channel has to accept a {@code ByteBuffer} on write.
+ *
+ * @see BinaryCodec
+ * @since 1.0
+ */
+public class BinaryCodecHandler {
+
+    /**
+     * The initial size of the per-thread encode buffer.
+     */
+    public static final int INITIAL_BUFFER_SIZE = 512;
+
+    /**
+     * The maximum size of an encoded message.
+     */
+    public static final int MAX_MESSAGE_SIZE = 16 * 1024 * 1024;
+
+    private static final ThreadLocal<ByteBuffer> BUFFER =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocate(INITIAL_BUFFER_SIZE));
+
+    private final ConcurrentMap<Class<?>, BinaryCodec<?>> byType = new ConcurrentHashMap<>();
+
+    // Codecs indexed by message id. Replaced on registration, so reads do
+    // not need to lock.
+    private volatile BinaryCodec<?>[] byId = new BinaryCodec<?>[0];
+
+    /**
+     * Creates a new handler for the given message types.
+     *
+     * @param types the message types
+     * @throws IllegalArgumentException if a type is not a valid message type
+     *                                  or two types use the same id
+     */
+    public BinaryCodecHandler(Class<?>... types) {
+        for (Class<?> type : types) {
+            register(BinaryCodec.of(type));
+        }
+    }
+
+    /**
+     * Creates a handler for the given message types and installs it on the
+     * given connection.
+     *
+     * @param connection the connection
+     * @param types the message types
+     * @return the installed handler
+     * @throws IllegalArgumentException if a type is not a valid message type
+     *                                  or two types use the same id
+     */
+    public static BinaryCodecHandler install(Connection<?> connection, Class<?>... types) {
+        BinaryCodecHandler handler = new BinaryCodecHandler(types);
+        handler.install(connection);
+        return handler;
+    }
+
+    /**
+     * Adds the encode method of this handler as the last outbound handler
+     * and the decode method as the first inbound handler of the given
+     * connection.
+     *
+     * @param connection the connection
+     */
+    public void install(Connection<?> connection) {
+        Objects.requireNonNull(connection);
+        try {
+            connection.addLast(OutboundHandler.class,
+                    CallableHandler.getInstance(this, "encode", Object.class));
+            connection.addFirst(InboundHandler.class,
+                    CallableHandler.getInstance(this, "decode", Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Registers the given codec.
+     *
+     * @param codec the codec
+     * @throws IllegalArgumentException if another type with the same id is
+     *                                  already registered
+     */
+    public synchronized void register(BinaryCodec<?> codec) {
+        Objects.requireNonNull(codec);
+        int              id    = codec.getId();
+        BinaryCodec<?>[] table = byId;
+        if (id < table.length && table[id] != null && table[id] != codec) {
+            throw new IllegalArgumentException("Duplicate message id " + id + ": "
+                    + table[id].getType().getName() + ", " + codec.getType().getName());
+        }
+        if (id >= table.length) {
+            table = Arrays.copyOf(table, id + 1);
+        } else {
+            table = table.clone();
+        }
+        table[id] = codec;
+        byType.put(codec.getType(), codec);
+        byId = table;
+    }
+
+    /**
+     * Encodes the given message if its type is registered.
+     *
+     * @param message the outgoing message
+     * @return a {@link ByteBuffer} containing the encoded message, or the
+     *         message itself if its type is not registered
+     * @throws IOException if the encoded message exceeds
+     *                     {@link #MAX_MESSAGE_SIZE}
+     */
+    @OutboundHandler
+    public Object encode(Object message) throws IOException {
+        @SuppressWarnings("unchecked")
+        BinaryCodec<Object> codec = (BinaryCodec<Object>) byType.get(message.getClass());
+        if (codec == null) {
+            return message;
+        }
+
+        ByteBuffer buffer = BUFFER.get();
+        for (;;) {
+            buffer.clear();
+            try {
+                Varint.writeUnsignedInt(buffer, codec.getId());
+                codec.encode(message, buffer);
+                return buffer.flip();
+            } catch (BufferOverflowException e) {
+                if (buffer.capacity() >= MAX_MESSAGE_SIZE) {
+                    throw new IOException("Message too large: " + message.getClass().getName());
+                }
+                buffer = ByteBuffer.allocate(Math.min(MAX_MESSAGE_SIZE, buffer.capacity() * 2));
+                BUFFER.set(buffer);
+            }
+        }
+    }
+
+    /**
+     * Decodes the given message.
+     *
+     * @param message the received {@link ByteBuffer}, {@code byte[]} or
+     *         {@link DatagramPacket}
+     * @return the decoded message, or the message itself if it is of
+     *         another type
+     * @throws IOException if the message id is unknown or the message is
+     *                     malformed
+     */
+    @InboundHandler
+    public Object decode(Object message) throws IOException {
+        ByteBuffer src;
+        if (message instanceof ByteBuffer) {
+            src = (ByteBuffer) message;
+        } else if (message instanceof byte[]) {
+            src = ByteBuffer.wrap((byte[]) message);
+        } else if (message instanceof DatagramPacket) {
+            DatagramPacket packet = (DatagramPacket) message;
+            src = ByteBuffer.wrap(packet.getData(), packet.getOffset(), packet.getLength());
+        } else {
+            return message;
+        }
+
+        try {
+            int              id    = Varint.readUnsignedInt(src);
+            BinaryCodec<?>[] table = byId;
+            if (id < 0 || id >= table.length || table[id] == null) {
+                throw new IOException("Unknown message id: " + id);
+            }
+            return table[id].decode(src);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Malformed message", e);
+        }
+    }
+}
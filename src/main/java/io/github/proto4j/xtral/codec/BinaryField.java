@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.codec; //@date 18.10.2026
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a field of a {@link BinaryMessage} and its position on the wire.
+ * <p>
+ * Fields are written in ascending {@link #value() order}. The following
+ * field types are supported:
+ * <ul>
+ *     <li>{@code boolean}, {@code byte}, {@code short}, {@code char},
+ *     {@code float} and {@code double} as fixed-width values</li>
+ *     <li>{@code int} and {@code long} as zig-zag encoded varints, or as
+ *     fixed-width values if {@link #fixed()} is set</li>
+ *     <li>{@code String} (UTF-8), {@code byte[]} and enums, which may be
+ *     {@code null}</li>
+ *     <li>other classes annotated with {@link BinaryMessage}, which may be
+ *     {@code null}</li>
+ * </ul>
+ * Either all or none of the components of a record must be annotated. If
+ * none are annotated, the components are written in declaration order.
+ *
+ * @see BinaryMessage
+ * @since 1.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.RECORD_COMPONENT})
+public @interface BinaryField {
+
+    /**
+     * Returns the position of this field within the message.
+     *
+     * @return the order of this field
+     */
+    int value();
+
+    /**
+     * Indicates that an {@code int} or {@code long} field is written with a
+     * fixed width instead of a varint. Fixed-width values are faster to
+     * encode and smaller for values that use most of their bits, such as
+     * hashes or timestamps in nanoseconds.
+     *
+     * @return {@code true} to write the value with a fixed width
+     */
+    boolean fixed() default false;
+}
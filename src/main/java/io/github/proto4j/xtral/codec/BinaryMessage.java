@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.codec; //@date 18.10.2026
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Indicates that the annotated class or record can be encoded by a
+ * {@link BinaryCodec}.
+ * <p>
+ * The fields of the message are declared with {@link BinaryField}. The
+ * {@link #value() id} identifies the message type on the wire when it is
+ * sent through a {@link BinaryCodecHandler}:
+ * <pre>{@code
+ * @BinaryMessage(1)
+ * public record Quote(@BinaryField(0) String symbol,
+ *                     @BinaryField(1) long price,
+ *                     @BinaryField(2) int quantity) {
+ * }
+ * }</pre>
+ *
+ * @see BinaryField
+ * @see BinaryCodec
+ * @since 1.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+public @interface BinaryMessage {
+
+    /**
+     * Returns the id of the message type. Ids must be unique within a
+     * {@link BinaryCodecHandler} and should be small, because they are
+     * written as varint.
+     *
+     * @return the non-negative id of the message type
+     */
+    int value() default 0;
+}
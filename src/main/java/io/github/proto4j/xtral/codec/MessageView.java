@@ -0,0 +1,290 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.codec; //@date 18.10.2026
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * A flyweight that reads the fields of a fixed-layout message directly
+ * from a {@link ByteBuffer}.
+ * <p>
+ * Instead of decoding every message into a new object, a view is
+ * {@link #wrap(ByteBuffer) wrapped} around the received buffer and its
+ * accessors read single fields on demand. A view is reused for every
+ * message of a connection (see {@link ViewDecoder}), so handlers that only
+ * inspect a few fields, for example to filter or to route messages, run
+ * without allocating anything. Subclasses declare the accessors of the
+ * message layout with the protected getters of this class:
+ * <pre>{@code
+ * public final class QuoteView extends MessageView {
+ *     public long price()     { return getLong(0); }
+ *     public int  quantity()  { return getInt(8); }
+ *     public boolean isSymbol(String symbol) {
+ *         return equalsAscii(12, 8, symbol);
+ *     }
+ *
+ *     protected int minimumLength() { return 20; }
+ * }
+ * }</pre>
+ * Fields are read through {@link VarHandle} views of the buffer, so the
+ * byte order of the view is independent of the order of the buffer, and
+ * the position and limit of the buffer are never changed.
+ * <p>
+ * A view is only valid until the next message is received. Handlers that
+ * keep data must copy it, for example with {@link #toByteArray()}. Views
+ * are not thread-safe.
+ *
+ * @see ViewDecoder
+ * @since 1.0
+ */
+public abstract class MessageView {
+
+    private static final VarHandle SHORT_BE  = view(short[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle SHORT_LE  = view(short[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle CHAR_BE   = view(char[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle CHAR_LE   = view(char[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT_BE    = view(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle INT_LE    = view(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONG_BE   = view(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle LONG_LE   = view(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle FLOAT_BE  = view(float[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle FLOAT_LE  = view(float[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle DOUBLE_BE = view(double[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle DOUBLE_LE = view(double[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final boolean bigEndian;
+
+    private ByteBuffer buffer;
+    private int        offset;
+    private int        length;
+
+    /**
+     * Creates a new view that reads values in big-endian byte order.
+     */
+    protected MessageView() {
+        this(ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * Creates a new view that reads values in the given byte order.
+     *
+     * @param order the byte order of the message
+     */
+    protected MessageView(ByteOrder order) {
+        this.bigEndian = Objects.requireNonNull(order) == ByteOrder.BIG_ENDIAN;
+    }
+
+    /**
+     * Points this view to the remaining bytes of the given buffer.
+     *
+     * @param buffer the buffer containing the message
+     * @return this view
+     * @throws IllegalArgumentException if the message is shorter than
+     *                                  {@link #minimumLength()}
+     */
+    public final MessageView wrap(ByteBuffer buffer) {
+        return wrap(buffer, buffer.position(), buffer.remaining());
+    }
+
+    /**
+     * Points this view to the given range of the given buffer.
+     *
+     * @param buffer the buffer containing the message
+     * @param offset the absolute index of the first byte of the message
+     * @param length the length of the message
+     * @return this view
+     * @throws IllegalArgumentException  if the message is shorter than
+     *                                   {@link #minimumLength()}
+     * @throws IndexOutOfBoundsException if the range exceeds the limit of
+     *                                   the buffer
+     */
+    public final MessageView wrap(ByteBuffer buffer, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, buffer.limit());
+        if (length < minimumLength()) {
+            throw new IllegalArgumentException("Message too short: " + length);
+        }
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+        return this;
+    }
+
+    /**
+     * Detaches this view from its buffer.
+     */
+    public final void clear() {
+        buffer = null;
+        offset = 0;
+        length = 0;
+    }
+
+    /**
+     * Returns the minimum length of a valid message. Accessors of fields
+     * within this length do not need further checks by subclasses.
+     *
+     * @return the minimum message length in bytes
+     */
+    protected int minimumLength() {
+        return 0;
+    }
+
+    /**
+     * Returns the length of the viewed message.
+     *
+     * @return the length in bytes
+     */
+    public final int length() {
+        return length;
+    }
+
+    /**
+     * Copies the viewed message into a new array.
+     *
+     * @return the bytes of the message
+     */
+    public final byte[] toByteArray() {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return bytes;
+    }
+
+    // Accessors of fixed-width fields. The index is relative to the start of
+    // the message and checked against its length.
+
+    protected final byte getByte(int index) {
+        return buffer.get(offset + check(index, Byte.BYTES));
+    }
+
+    protected final int getUnsignedByte(int index) {
+        return getByte(index) & 0xFF;
+    }
+
+    protected final boolean getBoolean(int index) {
+        return getByte(index) != 0;
+    }
+
+    protected final short getShort(int index) {
+        int i = offset + check(index, Short.BYTES);
+        return bigEndian ? (short) SHORT_BE.get(buffer, i) : (short) SHORT_LE.get(buffer, i);
+    }
+
+    protected final int getUnsignedShort(int index) {
+        return getShort(index) & 0xFFFF;
+    }
+
+    protected final char getChar(int index) {
+        int i = offset + check(index, Character.BYTES);
+        return bigEndian ? (char) CHAR_BE.get(buffer, i) : (char) CHAR_LE.get(buffer, i);
+    }
+
+    protected final int getInt(int index) {
+        int i = offset + check(index, Integer.BYTES);
+        return bigEndian ? (int) INT_BE.get(buffer, i) : (int) INT_LE.get(buffer, i);
+    }
+
+    protected final long getUnsignedInt(int index) {
+        return getInt(index) & 0xFFFFFFFFL;
+    }
+
+    protected final long getLong(int index) {
+        int i = offset + check(index, Long.BYTES);
+        return bigEndian ? (long) LONG_BE.get(buffer, i) : (long) LONG_LE.get(buffer, i);
+    }
+
+    protected final float getFloat(int index) {
+        int i = offset + check(index, Float.BYTES);
+        return bigEndian ? (float) FLOAT_BE.get(buffer, i) : (float) FLOAT_LE.get(buffer, i);
+    }
+
+    protected final double getDouble(int index) {
+        int i = offset + check(index, Double.BYTES);
+        return bigEndian ? (double) DOUBLE_BE.get(buffer, i) : (double) DOUBLE_LE.get(buffer, i);
+    }
+
+    /**
+     * Compares a range of the message with the given ASCII string without
+     * creating a string. Trailing zero bytes in the range are ignored, so
+     * fixed-width, zero-padded text fields can be compared with their
+     * content.
+     *
+     * @param index the index of the range within the message
+     * @param size the size of the range
+     * @param value the ASCII string to compare with
+     * @return {@code true} if the range contains the given string
+     */
+    protected final boolean equalsAscii(int index, int size, CharSequence value) {
+        int start = offset + check(index, size);
+        int count = value.length();
+        if (count > size) {
+            return false;
+        }
+        for (int i = 0; i < count; i++) {
+            if (buffer.get(start + i) != (byte) value.charAt(i)) {
+                return false;
+            }
+        }
+        for (int i = count; i < size; i++) {
+            if (buffer.get(start + i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads a fixed-width ASCII field into a new string, ignoring trailing
+     * zero bytes. In contrast to the other accessors, this method allocates.
+     *
+     * @param index the index of the field within the message
+     * @param size the size of the field
+     * @return the string
+     */
+    protected final String getAscii(int index, int size) {
+        int start = offset + check(index, size);
+        int end   = start + size;
+        while (end > start && buffer.get(end - 1) == 0) {
+            end--;
+        }
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    private int check(int index, int size) {
+        if (buffer == null) {
+            throw new IllegalStateException("View not wrapped");
+        }
+        return Objects.checkFromIndexSize(index, size, length);
+    }
+
+    private static VarHandle view(Class<?> arrayType, ByteOrder order) {
+        return MethodHandles.byteBufferViewVarHandle(arrayType, order);
+    }
+}
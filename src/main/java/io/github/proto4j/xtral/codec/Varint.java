@@ -0,0 +1,164 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.codec; //@date 18.10.2026
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads and writes variable-length integers (LEB128) as used by the
+ * {@link BinaryCodec}.
+ * <p>
+ * Every byte stores seven bits of the value, starting with the least
+ * significant bits; the highest bit indicates that another byte follows.
+ * Signed values are zig-zag encoded first, so small negative values are
+ * short as well.
+ *
+ * @since 1.0
+ */
+public final class Varint {
+
+    private Varint() {}
+
+    /**
+     * Writes the given value as unsigned varint.
+     *
+     * @param dst the buffer to write to
+     * @param value the value, treated as unsigned
+     * @throws java.nio.BufferOverflowException if the buffer is full
+     */
+    public static void writeUnsignedInt(ByteBuffer dst, int value) {
+        while ((value & ~0x7F) != 0) {
+            dst.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        dst.put((byte) value);
+    }
+
+    /**
+     * Writes the given value as unsigned varint.
+     *
+     * @param dst the buffer to write to
+     * @param value the value, treated as unsigned
+     * @throws java.nio.BufferOverflowException if the buffer is full
+     */
+    public static void writeUnsignedLong(ByteBuffer dst, long value) {
+        while ((value & ~0x7FL) != 0) {
+            dst.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        dst.put((byte) value);
+    }
+
+    /**
+     * Writes the given value as zig-zag encoded varint.
+     *
+     * @param dst the buffer to write to
+     * @param value the value
+     * @throws java.nio.BufferOverflowException if the buffer is full
+     */
+    public static void writeInt(ByteBuffer dst, int value) {
+        writeUnsignedInt(dst, (value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * Writes the given value as zig-zag encoded varint.
+     *
+     * @param dst the buffer to write to
+     * @param value the value
+     * @throws java.nio.BufferOverflowException if the buffer is full
+     */
+    public static void writeLong(ByteBuffer dst, long value) {
+        writeUnsignedLong(dst, (value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Reads an unsigned varint of at most five bytes.
+     *
+     * @param src the buffer to read from
+     * @return the value
+     * @throws BufferUnderflowException if the buffer ends within the value
+     * @throws IllegalArgumentException if the value is longer than five
+     *                                  bytes
+     */
+    public static int readUnsignedInt(ByteBuffer src) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = src.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    /**
+     * Reads an unsigned varint of at most ten bytes.
+     *
+     * @param src the buffer to read from
+     * @return the value
+     * @throws BufferUnderflowException if the buffer ends within the value
+     * @throws IllegalArgumentException if the value is longer than ten
+     *                                  bytes
+     */
+    public static long readUnsignedLong(ByteBuffer src) {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = src.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    /**
+     * Reads a zig-zag encoded varint.
+     *
+     * @param src the buffer to read from
+     * @return the value
+     * @throws BufferUnderflowException if the buffer ends within the value
+     * @throws IllegalArgumentException if the value is malformed
+     */
+    public static int readInt(ByteBuffer src) {
+        int value = readUnsignedInt(src);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Reads a zig-zag encoded varint.
+     *
+     * @param src the buffer to read from
+     * @return the value
+     * @throws BufferUnderflowException if the buffer ends within the value
+     * @throws IllegalArgumentException if the value is malformed
+     */
+    public static long readLong(ByteBuffer src) {
+        long value = readUnsignedLong(src);
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.codec; //@date 18.10.2026
+
+import io.github.proto4j.xtral.annotation.InboundHandler;
+import io.github.proto4j.xtral.io.CallableHandler;
+import io.github.proto4j.xtral.io.Connection;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * An inbound handler that passes received messages as a reusable
+ * {@link MessageView} through the inbound handler chain.
+ * <p>
+ * The decoder owns a single view that is wrapped around every received
+ * {@link ByteBuffer}, {@code byte[]} or {@link DatagramPacket}. Handlers
+ * declare the view type as parameter:
+ * <pre>{@code
+ * ViewDecoder.install(connection, QuoteView::new);
+ *
+ * @InboundHandler
+ * public void onQuote(QuoteView quote) {
+ *     if (quote.isSymbol("ABC")) {
+ *         //...
+ *     }
+ * }
+ * }</pre>
+ * Because the view is reused, every connection needs its own decoder, and
+ * the view must not be used after the handler returns. Handlers that run
+ * in {@code parallel} or receivers that dispatch from several threads
+ * (such as the {@code ShardedMulticastReceiver}) must decode into other
+ * objects instead.
+ *
+ * @param <V> the view type
+ * @see MessageView
+ * @since 1.0
+ */
+public class ViewDecoder<V extends MessageView> {
+
+    private final V view;
+
+    // The buffer of the last received array, reused while the channel
+    // receives into the same array.
+    private ByteBuffer wrapper;
+
+    /**
+     * Creates a new decoder.
+     *
+     * @param factory the factory of the view
+     */
+    public ViewDecoder(Supplier<V> factory) {
+        this.view = Objects.requireNonNull(factory.get());
+    }
+
+    /**
+     * Creates a decoder and adds it as the first inbound handler of the
+     * given connection.
+     *
+     * @param connection the connection
+     * @param factory the factory of the view
+     * @param <V> the view type
+     * @return the installed decoder
+     */
+    public static <V extends MessageView> ViewDecoder<V> install(Connection<?> connection,
+                                                                 Supplier<V> factory) {
+        Objects.requireNonNull(connection);
+        ViewDecoder<V> decoder = new ViewDecoder<>(factory);
+        try {
+            connection.addFirst(InboundHandler.class,
+                    CallableHandler.getInstance(decoder, "decode", Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+        return decoder;
+    }
+
+    /**
+     * Wraps the view of this decoder around the given message.
+     *
+     * @param message the received {@link ByteBuffer}, {@code byte[]} or
+     *         {@link DatagramPacket}
+     * @return the view, or the message itself if it is of another type
+     * @throws IOException if the message is too short for the view
+     */
+    @InboundHandler
+    public Object decode(Object message) throws IOException {
+        try {
+            if (message instanceof ByteBuffer) {
+                view.wrap((ByteBuffer) message);
+            } else if (message instanceof byte[]) {
+                byte[] data = (byte[]) message;
+                view.wrap(wrap(data), 0, data.length);
+            } else if (message instanceof DatagramPacket) {
+                DatagramPacket packet = (DatagramPacket) message;
+                view.wrap(wrap(packet.getData()), packet.getOffset(), packet.getLength());
+            } else {
+                return message;
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Malformed message", e);
+        }
+        return view;
+    }
+
+    /**
+     * Returns the view of this decoder.
+     *
+     * @return the view
+     */
+    public V getView() {
+        return view;
+    }
+
+    private ByteBuffer wrap(byte[] data) {
+        ByteBuffer buffer = wrapper;
+        if (buffer == null || buffer.array() != data) {
+            buffer  = ByteBuffer.wrap(data);
+            wrapper = buffer;
+        }
+        return buffer;
+    }
+}
@@ -24,12 +24,20 @@
 
 package io.github.proto4j.xtral.config; //@date 17.09.2022
 
+import io.github.proto4j.xtral.io.BroadcastPolicy;
 import io.github.proto4j.xtral.io.ConnectionFactory;
+import io.github.proto4j.xtral.io.CorrelationIdExtractor;
 import io.github.proto4j.xtral.bootstrap.ServerBootstrapFactory;
 import io.github.proto4j.xtral.io.channel.ChannelFactory;
+import io.github.proto4j.xtral.io.channel.ChannelOption;
 
 import javax.net.ServerSocketFactory;
 import javax.net.SocketFactory;
+import java.net.SocketAddress;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
@@ -47,6 +55,16 @@ public abstract class AbstractXTralConfiguration<T> implements XTralServerConfig
     private ServerSocketFactory    serverSocketFactory = ServerSocketFactory.getDefault();
     private ServerBootstrapFactory bootstrapFactory    = ServerBootstrapFactory.getDefault();
 
+    private CorrelationIdExtractor correlationIdExtractor;
+    private long                   requestTimeout = 30000L;
+
+    private volatile Map<ChannelOption<?>, Object> socketOptions   = Map.of();
+    private volatile int                           backlog         = 50;
+    private volatile SocketAddress                 bindAddress;
+    private volatile BroadcastPolicy               broadcastPolicy = BroadcastPolicy.BLOCK;
+    private volatile boolean                       orderedExecution;
+    private volatile int                           orderedExecutionCapacity = 1024;
+
     public AbstractXTralConfiguration(Class<T> type, T instance) {
         this.type = type;
         this.reference.set(instance);
@@ -135,4 +153,109 @@ public abstract class AbstractXTralConfiguration<T> implements XTralServerConfig
     public void setBootstrapFactory(ServerBootstrapFactory bootstrapFactory) {
         this.bootstrapFactory = bootstrapFactory;
     }
+
+    @Override
+    public CorrelationIdExtractor getCorrelationIdExtractor() {
+        return correlationIdExtractor;
+    }
+
+    protected void setCorrelationIdExtractor(CorrelationIdExtractor correlationIdExtractor) {
+        this.correlationIdExtractor = correlationIdExtractor;
+    }
+
+    @Override
+    public long getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    protected void setRequestTimeout(long requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    @Override
+    public Map<ChannelOption<?>, Object> getSocketOptions() {
+        return socketOptions;
+    }
+
+    /**
+     * Sets the value of a socket option, see {@link #getSocketOptions()}.
+     *
+     * @param option the socket option
+     * @param value the value or {@code null} to remove the option
+     * @param <V> the value type
+     * @throws ClassCastException   if the value is not of the option type
+     * @throws NullPointerException if the option is {@code null}
+     */
+    protected synchronized <V> void setSocketOption(ChannelOption<V> option, V value) {
+        Objects.requireNonNull(option);
+        // Copy on write, the options are read for every created socket.
+        Map<ChannelOption<?>, Object> options = new LinkedHashMap<>(socketOptions);
+        if (value == null) {
+            options.remove(option);
+        } else {
+            options.put(option, option.type().cast(value));
+        }
+        socketOptions = Collections.unmodifiableMap(options);
+    }
+
+    @Override
+    public int getBacklog() {
+        return backlog;
+    }
+
+    /**
+     * Sets the maximum number of pending connections of the server socket.
+     *
+     * @param backlog the backlog; a value {@code <= 0} selects the default
+     *         of the platform
+     */
+    protected void setBacklog(int backlog) {
+        this.backlog = backlog;
+    }
+
+    @Override
+    public SocketAddress getBindAddress() {
+        return bindAddress;
+    }
+
+    protected void setBindAddress(SocketAddress bindAddress) {
+        this.bindAddress = bindAddress;
+    }
+
+    @Override
+    public BroadcastPolicy getBroadcastPolicy() {
+        return broadcastPolicy;
+    }
+
+    protected void setBroadcastPolicy(BroadcastPolicy broadcastPolicy) {
+        this.broadcastPolicy = Objects.requireNonNull(broadcastPolicy);
+    }
+
+    @Override
+    public boolean isOrderedExecution() {
+        return orderedExecution;
+    }
+
+    protected void setOrderedExecution(boolean orderedExecution) {
+        this.orderedExecution = orderedExecution;
+    }
+
+    @Override
+    public int getOrderedExecutionCapacity() {
+        return orderedExecutionCapacity;
+    }
+
+    /**
+     * Sets the maximum number of messages of one connection that may wait
+     * for their handlers if ordered execution is enabled.
+     *
+     * @param capacity the capacity of the ordered execution queue
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    protected void setOrderedExecutionCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        this.orderedExecutionCapacity = capacity;
+    }
 }
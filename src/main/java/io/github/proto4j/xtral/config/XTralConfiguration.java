@@ -27,13 +27,16 @@ package io.github.proto4j.xtral.config;//@date 14.09.2022
 import io.github.proto4j.xtral.XTral;
 import io.github.proto4j.xtral.XTralServer;
 import io.github.proto4j.xtral.io.ConnectionFactory;
+import io.github.proto4j.xtral.io.CorrelationIdExtractor;
 import io.github.proto4j.xtral.io.channel.Channel;
 import io.github.proto4j.xtral.io.channel.ChannelFactory;
+import io.github.proto4j.xtral.io.channel.ChannelOption;
 import io.github.proto4j.xtral.multicast.XTralMulticastConfiguration;
 import io.github.proto4j.xtral.XTralClient;
 import io.github.proto4j.xtral.io.Connection;
 
 import javax.net.SocketFactory;
+import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ExecutorService;
 
@@ -113,4 +116,83 @@ public interface XTralConfiguration<T> {
      */
     Properties getProperties();
 
+    /**
+     * Returns the extractor used to link responses to requests sent with
+     * {@link Connection#request(Object)}.
+     * <p>
+     * The default implementation returns {@code null} which disables
+     * request/response correlation.
+     *
+     * @return the correlation id extractor or {@code null} if not supported
+     * @see CorrelationIdExtractor
+     */
+    default CorrelationIdExtractor getCorrelationIdExtractor() {
+        return null;
+    }
+
+    /**
+     * Returns the default time in milliseconds a request sent with
+     * {@link Connection#request(Object)} waits for its response. A value
+     * {@code <= 0} disables the timeout.
+     *
+     * @return the default request timeout in milliseconds
+     */
+    default long getRequestTimeout() {
+        return 30000L;
+    }
+
+    /**
+     * Returns the options applied to every socket created or accepted with
+     * this configuration.
+     * <p>
+     * Client sockets receive the options before they connect, so buffer
+     * sizes take part in the TCP window negotiation. The server socket
+     * receives them before it is bound, and every accepted socket receives
+     * them as well. Options that a socket does not support are skipped.
+     *
+     * @return the socket options, by default none
+     * @see io.github.proto4j.xtral.io.channel.StandardChannelOptions
+     */
+    default Map<ChannelOption<?>, Object> getSocketOptions() {
+        return Map.of();
+    }
+
+    /**
+     * Returns whether the inbound handlers of a connection run on the
+     * {@link ExecutorService} instead of the reading thread. Every
+     * connection then uses its own {@link io.github.proto4j.xtral.io.SerialExecutor},
+     * so the messages of one connection are handled in order while
+     * different connections are handled in parallel.
+     * <p>
+     * The reading thread continues with the next message while earlier ones
+     * wait for their handlers, so a queued message must not share a buffer
+     * with later reads. Received {@link java.nio.ByteBuffer}s are therefore
+     * copied before they are queued, which covers the reused receive
+     * buffers of the NIO multicast channel, the datagrams of a batch and
+     * the uncompressed messages of a {@code CompressionChannel}. Channels
+     * that return other message types have to return objects that stay
+     * valid after the next read.
+     *
+     * @return {@code true} if ordered execution is enabled, by default
+     *         {@code false}
+     * @see Connection#readObject()
+     */
+    default boolean isOrderedExecution() {
+        return false;
+    }
+
+    /**
+     * Returns the maximum number of messages of one connection that may
+     * wait for their handlers if {@link #isOrderedExecution() ordered
+     * execution} is enabled. If the limit is reached, reading blocks until
+     * a queued message has been handled.
+     *
+     * @return the capacity of the ordered execution queue, by default
+     *         {@code 1024}
+     * @see Connection#readObject()
+     */
+    default int getOrderedExecutionCapacity() {
+        return 1024;
+    }
+
 }
@@ -26,9 +26,11 @@ package io.github.proto4j.xtral.config;//@date 17.09.2022
 
 import io.github.proto4j.xtral.XTralServer;
 import io.github.proto4j.xtral.bootstrap.ServerBootstrapFactory;
+import io.github.proto4j.xtral.io.BroadcastPolicy;
 import io.github.proto4j.xtral.multicast.XTralMulticastConfiguration;
 
 import javax.net.ServerSocketFactory;
+import java.net.SocketAddress;
 
 /**
  * A template configuration with all attributes the {@link XTralServer} will
@@ -55,4 +57,37 @@ public interface XTralServerConfiguration<T> extends XTralConfiguration<T> {
      * @return the bootstrap factory
      */
     public ServerBootstrapFactory getBootstrapFactory();
+
+    /**
+     * Returns the maximum number of pending connections of the server
+     * socket.
+     *
+     * @return the backlog, by default {@code 50}
+     */
+    public default int getBacklog() {
+        return 50;
+    }
+
+    /**
+     * Returns the local address and port the server socket is bound to when
+     * the server is created.
+     * <p>
+     * If no address is provided, the server socket stays unbound and has to
+     * be bound through the bootstrap before connections can be accepted.
+     *
+     * @return the bind address or {@code null}, by default {@code null}
+     */
+    public default SocketAddress getBindAddress() {
+        return null;
+    }
+
+    /**
+     * Returns the policy applied to busy connections by
+     * {@link XTralServer#broadcast(Object, Iterable)}.
+     *
+     * @return the broadcast policy, by default {@link BroadcastPolicy#BLOCK}
+     */
+    public default BroadcastPolicy getBroadcastPolicy() {
+        return BroadcastPolicy.BLOCK;
+    }
 }
@@ -0,0 +1,53 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.io; //@date 18.10.2026
+
+/**
+ * Defines how a broadcast message is written to a connection that is
+ * currently busy writing another message.
+ *
+ * @see Connection#sendEncoded(Object, BroadcastPolicy)
+ * @see io.github.proto4j.xtral.XTralServer#broadcast(Object, Iterable)
+ * @since 1.0
+ */
+public enum BroadcastPolicy {
+
+    /**
+     * The message is not written to busy connections.
+     */
+    SKIP,
+
+    /**
+     * The message is queued and written by the thread that currently writes
+     * to the connection, right after its own message. The caller does not
+     * wait.
+     */
+    QUEUE,
+
+    /**
+     * The caller waits until the connection is available.
+     */
+    BLOCK
+}
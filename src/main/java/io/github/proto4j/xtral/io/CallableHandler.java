@@ -24,25 +24,38 @@
 
 package io.github.proto4j.xtral.io;//@date 17.09.2022
 
+import io.github.proto4j.xtral.annotation.ExceptionHandler;
+import io.github.proto4j.xtral.annotation.InboundHandler;
 import io.github.proto4j.xtral.annotation.IncludedHandler;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 public final class CallableHandler {
 
-    private final Object lock = new Object();
-
-    private final Object agent;
-    private final Method target;
+    private final Annotation     annotation;
+    private final Object         agent;
+    private final ThreadLocal<?> agents;
+    private final Method         target;
 
     private final ExecutorService service;
 
     private boolean sync;
     private boolean parallel;
 
+    // The key extractor and the lanes of keyed execution, see
+    // InboundHandler#key()
+    private Method        keyExtractor;
+    private KeyedExecutor keyedExecutor;
+
+    // The mailbox of the agent if this handler is synchronized, see
+    // InboundHandler#sync()
+    private Mailbox mailbox;
+
     public static CallableHandler getInstance(Object src,  String name, Class<?>... argTypes)
         throws NullPointerException, ReflectiveOperationException {
         return getInstance(src, null, name, argTypes);
@@ -67,33 +80,75 @@ public final class CallableHandler {
     }
 
     public CallableHandler(Annotation annotation, Object agent, Method target, ExecutorService service) {
-        this.agent   = agent;
-        this.target  = target;
-        this.service = service;
+        this(annotation, agent, target, service, null);
+    }
 
-        try {
-            Method m = annotation.annotationType().getDeclaredMethod("sync");
-            if (m.getReturnType() == boolean.class) {
-                sync = (boolean) m.invoke(annotation);
-            }
+    // Keyed handlers use the given executor, or one of their own if it is
+    // null, see InboundHandler#key()
+    public CallableHandler(Annotation annotation, Object agent, Method target, ExecutorService service,
+                           KeyedExecutor keyedExecutor) {
+        this(annotation, agent.getClass(), agent, null, target, service, keyedExecutor);
+    }
+
+    // Creates a handler that calls the agent instance of the current thread,
+    // see Agent.Scope#THREAD. Synchronized handlers do not need a mailbox,
+    // because every instance is only used by its own thread.
+    public CallableHandler(Annotation annotation, Class<?> agentType, ThreadLocal<?> agents,
+                           Method target, ExecutorService service) {
+        this(annotation, agentType, agents, target, service, null);
+    }
+
+    public CallableHandler(Annotation annotation, Class<?> agentType, ThreadLocal<?> agents,
+                           Method target, ExecutorService service, KeyedExecutor keyedExecutor) {
+        this(annotation, agentType, null, Objects.requireNonNull(agents), target, service, keyedExecutor);
+    }
+
+    private CallableHandler(Annotation annotation, Class<?> agentType, Object agent,
+                            ThreadLocal<?> agents, Method target, ExecutorService service,
+                            KeyedExecutor keyedExecutor) {
+        this.annotation = annotation;
+        this.agent      = agent;
+        this.agents     = agents;
+        this.target     = target;
+        this.service    = service;
+
+        sync     = flag(annotation, "sync");
+        parallel = flag(annotation, "parallel");
+
+        // Synchronized calls are queued, so their result could not replace
+        // the message.
+        if (sync && target.getReturnType() != void.class) {
+            throw new IllegalArgumentException("Synchronized handler must return void: "
+                    + agentType.getName() + "." + target.getName());
+        }
 
-            m = annotation.annotationType().getDeclaredMethod("parallel");
-            if (m.getReturnType() == boolean.class) {
-                parallel = (boolean) m.invoke(annotation);
+        if (annotation instanceof InboundHandler) {
+            String key = ((InboundHandler) annotation).key();
+            if (!key.isEmpty()) {
+                // The result of an asynchronous call could not replace the
+                // message, so it would be dropped silently.
+                if (target.getReturnType() != void.class) {
+                    throw new IllegalArgumentException("Keyed handler must return void: "
+                            + agentType.getName() + "." + target.getName());
+                }
+                keyExtractor = findKeyExtractor(agentType, key);
+                if (keyedExecutor == null) {
+                    if (service == null) {
+                        throw new IllegalStateException("ExecutorService == null");
+                    }
+                    keyedExecutor = new KeyedExecutor(service);
+                }
+                this.keyedExecutor = keyedExecutor;
             }
-        } catch (Exception e) {
-            throw new IllegalStateException(e);
         }
+        if (sync && agent != null) {
+            mailbox = Mailbox.of(agent);
+        }
+        target.setAccessible(true);
     }
 
     public Object invoke(Object... args) throws Exception {
-        if (isSync()) {
-            synchronized (lock) {
-                target.setAccessible(true);
-            }
-        } else {
-            target.setAccessible(true);
-        }
+        Object agent = agent();
 
         Class<?>[] types = target.getParameterTypes();
         Object[] values = new Object[types.length];
@@ -107,6 +162,26 @@ public final class CallableHandler {
             }
         }
 
+        if (mailbox != null) {
+            mailbox.post(task(args, values));
+            return args[0];
+        }
+
+        if (keyExtractor != null) {
+            Object key = null;
+            Class<?> type = keyExtractor.getParameterTypes()[0];
+            for (Object arg : args) {
+                if (type.isInstance(arg)) {
+                    key = keyExtractor.invoke(agent, arg);
+                    break;
+                }
+            }
+            if (key != null) {
+                keyedExecutor.execute(key, task(args, values));
+                return args[0];
+            }
+        }
+
         if (target.getReturnType() == void.class) {
             if (isParallel()) {
                 service.submit(() -> target.invoke(agent, values)).get();
@@ -122,6 +197,52 @@ public final class CallableHandler {
         }
     }
 
+    // Creates a task that invokes the target asynchronously. A recyclable
+    // message is retained until the task has run, because the connection
+    // releases it after the handler chain, which does not wait for the task.
+    // Errors of the task are passed to the exception handlers of the
+    // connection, as they would be if the target was called directly.
+    private Runnable task(Object[] args, Object[] values) {
+        Object message = args[0];
+        if (message instanceof Recyclable) {
+            ((Recyclable) message).retain();
+        }
+        return () -> {
+            try {
+                // Thread scoped agents are resolved by the executing thread
+                target.invoke(agent(), values);
+            } catch (Exception e) {
+                report(new IllegalCallerException(e), args);
+            } finally {
+                if (message instanceof Recyclable) {
+                    ((Recyclable) message).release();
+                }
+            }
+        };
+    }
+
+    // Passes the error of an asynchronous call to the exception handlers of
+    // the connection among the handler arguments. The handlers are notified
+    // on another thread, so a failing task does not hold up the lane of its
+    // key or agent while the exception handlers run.
+    private void report(IllegalCallerException e, Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof Connection) {
+                Connection<?> connection = (Connection<?>) arg;
+                CompletableFuture.runAsync(
+                        () -> connection.notifyChange(ExceptionHandler.class, e, connection, connection.getChannel()),
+                        service != null ? service : ForkJoinPool.commonPool());
+                return;
+            }
+        }
+        throw e;
+    }
+
+    // Returns the agent instance used by the current thread
+    private Object agent() {
+        return agents != null ? agents.get() : agent;
+    }
+
     public boolean isSync() {
         return sync;
     }
@@ -129,4 +250,49 @@ public final class CallableHandler {
     public boolean isParallel() {
         return parallel;
     }
+
+    public Annotation getAnnotation() {
+        return annotation;
+    }
+
+    public boolean isKeyed() {
+        return keyExtractor != null;
+    }
+
+    // Returns the value of a boolean annotation property or false if the
+    // annotation, e.g. ExceptionHandler, does not declare it.
+    private static boolean flag(Annotation annotation, String name) {
+        try {
+            Method m = annotation.annotationType().getDeclaredMethod(name);
+            return m.getReturnType() == boolean.class && (boolean) m.invoke(annotation);
+        } catch (NoSuchMethodException e) {
+            return false;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Method findKeyExtractor(Class<?> type, String name) {
+        for (Method method : type.getMethods()) {
+            if (method.getName().equals(name) && method.getParameterCount() == 1
+                    && method.getReturnType() != void.class) {
+                method.setAccessible(true);
+                return method;
+            }
+        }
+        throw new IllegalArgumentException("Key extractor not found: "
+                + type.getName() + "." + name);
+    }
+
+    // Returns true if the target method declares a parameter of the given
+    // type (or a subtype). Parameters of a super type such as Object are not
+    // taken into account.
+    public boolean hasParameter(Class<?> type) {
+        for (Class<?> parameterType : target.getParameterTypes()) {
+            if (type.isAssignableFrom(parameterType)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
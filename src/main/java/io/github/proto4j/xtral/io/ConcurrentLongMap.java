@@ -0,0 +1,254 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.io; //@date 18.10.2026
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A concurrent hash map with primitive {@code long} keys.
+ * <p>
+ * The map is split into a fixed number of segments which are guarded by their
+ * own monitor. Each segment is an open-addressing table with linear probing,
+ * so neither keys nor entries are boxed or allocated on insertion. Removal
+ * uses backward shifting instead of tombstones, which keeps the tables
+ * compact under constant insert/remove churn.
+ * <p>
+ * {@code null} values are not permitted.
+ *
+ * @param <V> the value type
+ * @since 1.0
+ */
+final class ConcurrentLongMap<V> {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final Segment[] segments;
+
+    ConcurrentLongMap() {
+        this(64);
+    }
+
+    ConcurrentLongMap(int expectedSize) {
+        int capacity = tableSizeFor(Math.max(2, expectedSize / SEGMENT_COUNT) * 2);
+        segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(capacity);
+        }
+    }
+
+    /**
+     * Associates the given value with the given key if the key is not already
+     * mapped.
+     *
+     * @param key the key
+     * @param value the value
+     * @return the previous value or {@code null} if the value was inserted
+     */
+    V putIfAbsent(long key, V value) {
+        Objects.requireNonNull(value);
+        long hash = mix(key);
+        return cast(segmentFor(hash).putIfAbsent(key, hash, value));
+    }
+
+    V get(long key) {
+        long hash = mix(key);
+        return cast(segmentFor(hash).get(key, hash));
+    }
+
+    V remove(long key) {
+        long hash = mix(key);
+        return cast(segmentFor(hash).remove(key, hash, null));
+    }
+
+    /**
+     * Removes the entry for the given key only if it is currently mapped to
+     * the given value (identity comparison).
+     *
+     * @param key the key
+     * @param value the expected value
+     * @return {@code true} if the entry was removed
+     */
+    boolean remove(long key, V value) {
+        Objects.requireNonNull(value);
+        long hash = mix(key);
+        return segmentFor(hash).remove(key, hash, value) != null;
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Removes all entries from this map and passes the removed values to the
+     * given consumer. The consumer is called outside the segment locks.
+     *
+     * @param consumer the consumer of removed values
+     */
+    void drain(Consumer<? super V> consumer) {
+        for (Segment segment : segments) {
+            Object[] values;
+            synchronized (segment) {
+                values = segment.values;
+                segment.clear();
+            }
+            for (Object value : values) {
+                if (value != null) {
+                    consumer.accept(cast(value));
+                }
+            }
+        }
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> 60) & (SEGMENT_COUNT - 1)];
+    }
+
+    // The segments store their values untyped; only values of type V are
+    // ever inserted through the public methods, so this cast cannot fail.
+    @SuppressWarnings("unchecked")
+    private static <V> V cast(Object value) {
+        return (V) value;
+    }
+
+    private static long mix(long key) {
+        // Fibonacci hashing spreads sequential ids (the common case for
+        // correlation ids) across segments and slots.
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+
+    private static int tableSizeFor(int n) {
+        int size = Integer.highestOneBit(Math.max(2, n - 1)) << 1;
+        return Math.min(size, 1 << 30);
+    }
+
+    private static final class Segment {
+        private long[]   keys;
+        private Object[] values;
+        private int      size;
+
+        Segment(int capacity) {
+            keys   = new long[capacity];
+            values = new Object[capacity];
+        }
+
+        synchronized Object get(long key, long hash) {
+            int mask = keys.length - 1;
+            for (int i = (int) hash & mask; values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        synchronized Object putIfAbsent(long key, long hash, Object value) {
+            int mask = keys.length - 1;
+            int i    = (int) hash & mask;
+            for (; values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            keys[i]   = key;
+            values[i] = value;
+            if (++size > keys.length >>> 1) {
+                rehash(keys.length << 1);
+            }
+            return null;
+        }
+
+        synchronized Object remove(long key, long hash, Object expected) {
+            int mask = keys.length - 1;
+            for (int i = (int) hash & mask; values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    Object value = values[i];
+                    if (expected != null && value != expected) {
+                        return null;
+                    }
+                    shiftBack(i);
+                    size--;
+                    return value;
+                }
+            }
+            return null;
+        }
+
+        void clear() {
+            keys   = new long[keys.length];
+            values = new Object[values.length];
+            size   = 0;
+        }
+
+        // Moves following entries of the probe sequence into the freed slot,
+        // so lookups never have to skip deleted entries.
+        private void shiftBack(int free) {
+            int mask = keys.length - 1;
+            int next = free;
+            for (;;) {
+                next = (next + 1) & mask;
+                if (values[next] == null) {
+                    break;
+                }
+                int home = (int) mix(keys[next]) & mask;
+                boolean stays = free <= next
+                        ? free < home && home <= next
+                        : free < home || home <= next;
+                if (!stays) {
+                    keys[free]   = keys[next];
+                    values[free] = values[next];
+                    free         = next;
+                }
+            }
+            values[free] = null;
+        }
+
+        private void rehash(int capacity) {
+            long[]   oldKeys   = keys;
+            Object[] oldValues = values;
+            keys   = new long[capacity];
+            values = new Object[capacity];
+
+            int mask = capacity - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldValues[j] != null) {
+                    int i = (int) mix(oldKeys[j]) & mask;
+                    while (values[i] != null) {
+                        i = (i + 1) & mask;
+                    }
+                    keys[i]   = oldKeys[j];
+                    values[i] = oldValues[j];
+                }
+            }
+        }
+    }
+}
@@ -36,10 +36,24 @@ import io.github.proto4j.xtral.io.channel.ChannelFactory;
 import javax.net.SocketFactory;
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.lang.annotation.Annotation;
 import java.net.InetAddress;
+import java.nio.ByteBuffer;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * {@code Connection} objects represent a two-way connection to an endpoint.
@@ -91,7 +105,20 @@ import java.util.Objects;
  * <p>
  * When calling either {@link #sendObject(Object)} or {@link #readObject()},
  * there will be a redundancy check to ensure the reading and writing process
- * execute flawless.
+ * execute flawless. Reading and writing are guarded by separate locks, so a
+ * thread that is blocked while waiting for the next message does not prevent
+ * other threads from sending. The inbound handlers run while the read lock
+ * is held and the outbound handlers while the write lock is held, but not
+ * under the monitor of the connection: an inbound handler may reply with
+ * {@link #sendObject(Object)}, and the inbound and outbound chains of a
+ * connection may run at the same time. Agents that share state between
+ * both chains use synchronized handlers, see {@link InboundHandler#sync()}.
+ * <p>
+ * Instead of a manual read loop, inbound messages can be consumed through
+ * the demand-driven {@link Flow.Publisher} returned by {@link #inbound()}.
+ * If the configuration provides a {@link CorrelationIdExtractor}, messages
+ * can be sent with {@link #request(Object)} which returns a future that is
+ * completed by the matching response.
  *
  * @param <S> the socket type
  * @see CallableHandler
@@ -99,6 +126,12 @@ import java.util.Objects;
  */
 public abstract class Connection<S> implements Closeable {
 
+    /**
+     * Returned by {@link #readObject(boolean)} if nothing was received, so
+     * it can be told apart from a message that a handler filtered out.
+     */
+    static final Object NOTHING_RECEIVED = new Object();
+
     /**
      * Indicates whether this connection has been initialized.
      *
@@ -130,6 +163,71 @@ public abstract class Connection<S> implements Closeable {
      */
     private volatile S socket;
 
+    /**
+     * Serializes calls to {@link #readObject()}.
+     */
+    private final ReentrantLock readLock = new ReentrantLock();
+
+    /**
+     * Serializes calls to {@link #sendObject(Object)}.
+     */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * Encoded messages that are written by the current holder of the write
+     * lock.
+     *
+     * @see #sendEncoded(Object, BroadcastPolicy)
+     */
+    private final Queue<Object> backlog = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The lazily created publisher of inbound messages.
+     *
+     * @see #inbound()
+     */
+    private InboundPublisher inboundPublisher;
+
+    /**
+     * The lazily created tracker of pending requests.
+     *
+     * @see #request(Object)
+     */
+    private volatile RequestCorrelator correlator;
+
+    /**
+     * Completed after this connection has been closed.
+     *
+     * @see #closeFuture()
+     */
+    private final CompletableFuture<Void> closeFuture = new CompletableFuture<>();
+
+    /**
+     * The lazily created lane running the inbound handlers if ordered
+     * execution is enabled.
+     *
+     * @see XTralConfiguration#isOrderedExecution()
+     */
+    private volatile SerialExecutor lane;
+
+    /**
+     * The free slots of the lane, which bound the number of queued
+     * messages. Assigned before the lane.
+     *
+     * @see XTralConfiguration#getOrderedExecutionCapacity()
+     */
+    private volatile Semaphore laneSlots;
+
+    /**
+     * The groups this connection is a member of. A single close listener,
+     * registered with the first membership, removes the connection from
+     * all of them.
+     *
+     * @see ConnectionGroup#add(Connection)
+     */
+    private final Set<ConnectionGroup> memberships = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean        membershipListener = new AtomicBoolean();
+
     /**
      * Creates a new {@link Connection} without being initialized.
      */
@@ -311,12 +409,53 @@ public abstract class Connection<S> implements Closeable {
      * <p>
      * Note that the returned object may have been modified by the registered
      * handlers through {@link #notifyChange(Class, Object...)}.
+     * <p>
+     * The connection releases its reference of a {@link Recyclable} message
+     * after the inbound handler chain unless the message completed a
+     * request, so it must not be used after this method returns unless a
+     * handler has retained it.
+     * <p>
+     * If {@link XTralConfiguration#isOrderedExecution() ordered execution}
+     * is enabled, the handler chain runs on a {@link SerialExecutor} of this
+     * connection instead of the calling thread, and this method returns the
+     * received object as soon as it has been queued. The returned object is
+     * therefore not the result of the handler chain. Messages of one
+     * connection are still handled one after another in the order they were
+     * read, while the caller can continue to read. If
+     * {@link XTralConfiguration#getOrderedExecutionCapacity()} messages are
+     * queued, this method blocks until one of them has been handled. The
+     * {@link #inbound() publisher} always runs the handlers on its own
+     * thread and emits their result.
+     * <p>
+     * Because the next message may be read before a queued one is handled,
+     * a received {@link ByteBuffer} is copied before it is queued: channels
+     * such as the {@code NioMulticastChannel} return views of a receive
+     * buffer that is reused by the next read. Channels that return other
+     * message types must not share their state with later reads.
      *
      * @return the object that was received or {@code null} if an error occurs
+     *         or a non-blocking channel had nothing to read
      * @throws UnsupportedOperationException if this connection was not
      *                                       initialized or has been closed.
      */
-    public synchronized Object readObject() {
+    public Object readObject() {
+        try {
+            Object obj = readObject(true);
+            return obj != NOTHING_RECEIVED ? obj : null;
+        } catch (UnsupportedOperationException e) {
+            throw e;
+        } catch (Exception e) {
+            notifyChange(ExceptionHandler.class, e, this, getChannel());
+            return null;
+        }
+    }
+
+    // Reads the next message, see readObject(). Errors are thrown to the
+    // caller instead of being passed to the exception handlers, and a
+    // recyclable message is only released if release is true. Returns
+    // NOTHING_RECEIVED if the channel had nothing to read and null if the
+    // handlers filtered the message out.
+    Object readObject(boolean release) throws Exception {
         if (!initialized) {
             throw new UnsupportedOperationException("Connection not initialized");
         }
@@ -324,15 +463,122 @@ public abstract class Connection<S> implements Closeable {
         if (closed) {
             throw new UnsupportedOperationException("Connection closed!");
         }
+        readLock.lock();
         try {
-            cyclicCheck("readObject");
-            Object obj = getChannel().read(getSocket());
+            cyclicCheck(readLock, "readObject");
+            Object obj = receive();
+            if (obj == null) {
+                // Non-blocking channels return null if nothing was received
+                return NOTHING_RECEIVED;
+            }
+            Object[] args = inboundArguments(obj);
+
+            // The publisher reads without releasing and emits the result of
+            // the chain. It already handles one message after another on its
+            // own executor, so it does not use the lane.
+            SerialExecutor l = release ? getLane() : null;
+            if (l != null) {
+                Semaphore slots = laneSlots;
+                try {
+                    slots.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+                args[0] = detach(obj);
+                try {
+                    l.execute(() -> {
+                        try {
+                            handle(args, true);
+                        } catch (Exception e) {
+                            notifyChange(ExceptionHandler.class, e, this, getChannel());
+                        } finally {
+                            slots.release();
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    slots.release();
+                    throw e;
+                }
+                return obj;
+            }
+            return handle(args, release);
+        } finally {
+            readLock.unlock();
+        }
+    }
 
-            return notifyChange(InboundHandler.class, obj, this, getChannel());
-        } catch (Exception e) {
-            notifyChange(ExceptionHandler.class, e, this, getChannel());
-            return null;
+    // Copies a received buffer, which the channel may reuse for the next
+    // read, so that it can be handled after the read has returned.
+    private static Object detach(Object obj) {
+        if (!(obj instanceof ByteBuffer)) {
+            return obj;
         }
+        ByteBuffer src = (ByteBuffer) obj;
+        return ByteBuffer.allocate(src.remaining())
+                .put(src.duplicate())
+                .flip()
+                .order(src.order());
+    }
+
+    /**
+     * Receives the next object from the underlying {@link Channel}. This
+     * method is called by {@link #readObject()} while holding the read lock.
+     * <p>
+     * Subclasses that read from more than one socket override this method
+     * together with {@link #inboundArguments(Object)}.
+     *
+     * @return the received object or {@code null} if nothing was received
+     * @throws IOException if an I/O error occurs
+     */
+    protected Object receive() throws IOException {
+        return getChannel().read(getSocket());
+    }
+
+    /**
+     * Returns the arguments passed to the inbound handlers for an object
+     * returned by {@link #receive()}. The first argument has to be the
+     * received object. This method is called while holding the read lock,
+     * directly after the object has been received.
+     *
+     * @param obj the received object
+     * @return the handler arguments, by default the object, this connection
+     *         and its channel
+     */
+    protected Object[] inboundArguments(Object obj) {
+        return new Object[] {obj, this, getChannel()};
+    }
+
+    // Passes a received message through the inbound handler chain, completes
+    // the matching request and releases the message.
+    private Object handle(Object[] args, boolean release) {
+        Object obj = notifyChange(InboundHandler.class, args);
+        RequestCorrelator c = correlator;
+        if (c != null && obj != null && c.complete(obj)) {
+            // The response is owned by the future of the request now
+            return obj;
+        }
+        if (release) {
+            Recycler.release(obj);
+        }
+        return obj;
+    }
+
+    /**
+     * Passes a message that was received outside of {@link #readObject()}
+     * through the inbound handler chain like a message returned by
+     * {@link #receive()}: the handlers are selected by
+     * {@link #notifyChange(Class, Object...)}, a pending request is completed
+     * with the result and a recyclable result is released otherwise.
+     * <p>
+     * This method does not take the read lock, so the inbound handlers run
+     * concurrently if it is called by several threads at once.
+     *
+     * @param args the handler arguments, see {@link #inboundArguments(Object)}
+     * @return the result of the handler chain
+     */
+    protected final Object handleInbound(Object[] args) {
+        return handle(args, true);
     }
 
     /**
@@ -344,26 +590,216 @@ public abstract class Connection<S> implements Closeable {
      * @throws NullPointerException          if the message object is
      *                                       {@code null}
      */
-    public synchronized void sendObject(Object o) {
+    public void sendObject(Object o) {
         if (!initialized) {
             throw new UnsupportedOperationException("Connection not initialized");
         }
         if (closed) {
             throw new UnsupportedOperationException("Connection closed!");
         }
+        writeLock.lock();
         try {
-            cyclicCheck("sendObject");
-            o = notifyChange(OutboundHandler.class, o, this);
-            if (o == null) {
-                throw new NullPointerException("message is null");
+            cyclicCheck(writeLock, "sendObject");
+            write(o);
+        } catch (Exception e) {
+            notifyChange(ExceptionHandler.class, e, this, getChannel());
+        } finally {
+            unlockWrite();
+        }
+    }
+
+    /**
+     * Passes the given message through the outbound handler chain without
+     * writing it.
+     * <p>
+     * Together with {@link #sendEncoded(Object, BroadcastPolicy)}, the same
+     * message can be written to many connections while the handler chain is
+     * only run once, see {@link XTralServer#broadcast(Object, Iterable)}.
+     *
+     * @param o the message to be encoded
+     * @return the message returned by the last outbound handler
+     * @throws UnsupportedOperationException if this connection was not
+     *                                       initialized or has been closed.
+     * @throws IOException                   if a handler fails or returns
+     *                                       {@code null}
+     */
+    public Object encode(Object o) throws IOException {
+        if (!initialized) {
+            throw new UnsupportedOperationException("Connection not initialized");
+        }
+        if (closed) {
+            throw new UnsupportedOperationException("Connection closed!");
+        }
+        writeLock.lock();
+        try {
+            cyclicCheck(writeLock, "encode");
+            Object encoded = notifyChange(OutboundHandler.class, o, this);
+            if (encoded == null) {
+                throw new IOException("message is null");
             }
+            return encoded;
+        } catch (IllegalCallerException e) {
+            throw new IOException(e.getCause());
+        } finally {
+            unlockWrite();
+        }
+    }
 
-            getChannel().write(getSocket(), o);
+    /**
+     * Writes an already encoded message without passing it through the
+     * outbound handler chain.
+     * <p>
+     * A {@link SharedBuffer} is written as a read-only {@link
+     * SharedBuffer#duplicate() duplicate}, all other messages are passed
+     * to the {@link Channel} as they are. The policy defines what happens
+     * if another thread is currently writing to this connection. Write
+     * errors are passed to the exception handlers.
+     *
+     * @param encoded the encoded message
+     * @param policy  the policy applied if this connection is busy
+     * @return {@code true} if the message has been written or queued,
+     *         {@code false} if it was skipped, could not be written or this
+     *         connection is not open
+     * @see #encode(Object)
+     */
+    public boolean sendEncoded(Object encoded, BroadcastPolicy policy) {
+        Objects.requireNonNull(encoded);
+        Objects.requireNonNull(policy);
+        if (!initialized || closed) {
+            return false;
+        }
+
+        switch (policy) {
+            case QUEUE:
+                // Queued messages are always appended, so they keep their
+                // order if the lock is released in the meantime.
+                if (encoded instanceof SharedBuffer) {
+                    ((SharedBuffer) encoded).retain();
+                }
+                backlog.add(encoded);
+                drainBacklog();
+                return true;
+            case SKIP:
+                if (!writeLock.tryLock()) {
+                    return false;
+                }
+                break;
+            default:
+                writeLock.lock();
+        }
+        try {
+            cyclicCheck(writeLock, "sendEncoded");
+            writeEncoded(encoded);
+            return true;
         } catch (Exception e) {
             notifyChange(ExceptionHandler.class, e, this, getChannel());
+            return false;
+        } finally {
+            unlockWrite();
         }
     }
 
+    /**
+     * Sends the given request and returns a future that is completed with the
+     * response, using the default timeout of the {@link XTralConfiguration}.
+     *
+     * @param request the request message
+     * @return a future that is completed with the response
+     * @see #request(Object, long, TimeUnit)
+     */
+    public CompletableFuture<Object> request(Object request) {
+        return request(request, getConfiguration().getRequestTimeout(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sends the given request and returns a future that is completed with the
+     * response.
+     * <p>
+     * Requests and responses are linked by the {@link CorrelationIdExtractor}
+     * of the {@link XTralConfiguration}. The id is taken from the request
+     * before it enters the outbound handler chain and from every received
+     * message after the inbound handler chain. Because this method does not
+     * wait for the response, any number of requests can be in flight on a
+     * single connection. Responses are still returned by {@link #readObject()},
+     * so a read loop or an {@link #inbound()} subscriber must be active.
+     * <p>
+     * The returned future is completed exceptionally with a
+     * {@link java.util.concurrent.TimeoutException} if no response arrives in
+     * time, with the send error if the request could not be written, or with
+     * an {@link IOException} if this connection is closed.
+     *
+     * @param request the request message
+     * @param timeout the maximum time to wait or a value {@code <= 0} to
+     *         wait forever
+     * @param unit the time unit of the timeout argument
+     * @return a future that is completed with the response
+     * @throws UnsupportedOperationException if this connection was not
+     *                                       initialized or has been closed.
+     * @throws IllegalStateException         if no correlation id extractor
+     *                                       is configured
+     * @throws IllegalArgumentException      if the request has no correlation
+     *                                       id or the id is already pending
+     */
+    public CompletableFuture<Object> request(Object request, long timeout, TimeUnit unit) {
+        Objects.requireNonNull(request);
+        Objects.requireNonNull(unit);
+        if (!initialized) {
+            throw new UnsupportedOperationException("Connection not initialized");
+        }
+        if (closed) {
+            throw new UnsupportedOperationException("Connection closed!");
+        }
+
+        RequestCorrelator c = getCorrelator();
+        RequestCorrelator.PendingRequest pending = c.register(request, timeout, unit);
+        writeLock.lock();
+        try {
+            cyclicCheck(writeLock, "request");
+            write(request);
+        } catch (Exception e) {
+            c.fail(pending, e);
+            notifyChange(ExceptionHandler.class, e, this, getChannel());
+        } finally {
+            unlockWrite();
+        }
+        return pending;
+    }
+
+    /**
+     * Returns a {@link Flow.Publisher} that emits all messages read from this
+     * connection after they have been processed by the registered inbound
+     * handlers.
+     * <p>
+     * The publisher reads from this connection on the {@link ExecutorService}
+     * provided by the {@link XTralConfiguration} and only while the subscriber
+     * has outstanding demand. If the demand is zero, the socket is not read,
+     * so a slow subscriber applies backpressure to the remote endpoint instead
+     * of buffering messages. The subscriber is completed after this connection
+     * has been closed. Messages that the handlers filter out by returning
+     * {@code null} are skipped. If a read fails, or a non-blocking channel
+     * has nothing to read, the error is passed to the exception handlers of
+     * this connection and to the subscriber, and the subscription ends.
+     * <p>
+     * Every connection has exactly one publisher which accepts one active
+     * subscriber at a time. Mixing the publisher with manual calls to
+     * {@link #readObject()} splits the received messages between both
+     * consumers.
+     *
+     * @return the publisher of inbound messages
+     * @throws IllegalStateException if no {@link ExecutorService} is
+     *                               configured
+     */
+    public synchronized Flow.Publisher<Object> inbound() {
+        if (inboundPublisher == null) {
+            ExecutorService service = getConfiguration().getExecutorService();
+            if (service == null) {
+                throw new IllegalStateException("ExecutorService == null");
+            }
+            inboundPublisher = new InboundPublisher(this, service);
+        }
+        return inboundPublisher;
+    }
+
     /**
      * Returns whether this connection has been closed.
      *
@@ -388,6 +824,25 @@ public abstract class Connection<S> implements Closeable {
         }
         getChannel().close();
         closed = true;
+        if (inboundPublisher != null) {
+            inboundPublisher.onClose();
+        }
+        if (correlator != null) {
+            correlator.failAll(new IOException("Connection closed"));
+        }
+        drainBacklog();
+        closeFuture.complete(null);
+    }
+
+    /**
+     * Returns a stage that is completed after this connection has been
+     * closed. Dependent actions run in the thread that closes the
+     * connection, or immediately if it is already closed.
+     *
+     * @return the close stage of this connection
+     */
+    public CompletionStage<Void> closeFuture() {
+        return closeFuture.minimalCompletionStage();
     }
 
     /**
@@ -417,19 +872,126 @@ public abstract class Connection<S> implements Closeable {
         return getConfiguration().getChannelFactory();
     }
 
-    // Redundancy check with an Exception
-    private void cyclicCheck(String name) {
-        Exception exception = new Exception();
-        StackTraceElement[] stackTrace = exception.getStackTrace();
+    // Passes the message through the outbound handlers and writes the
+    // result. Callers must hold the write lock.
+    private void write(Object o) throws IOException {
+        o = notifyChange(OutboundHandler.class, o, this);
+        if (o == null) {
+            throw new NullPointerException("message is null");
+        }
+
+        getChannel().write(getSocket(), o);
+    }
+
+    // Writes an encoded message, see sendEncoded(). Callers must hold the
+    // write lock.
+    private void writeEncoded(Object encoded) throws IOException {
+        if (encoded instanceof SharedBuffer) {
+            encoded = ((SharedBuffer) encoded).duplicate();
+        }
+        getChannel().write(getSocket(), encoded);
+    }
+
+    // Releases the write lock and writes the messages that have been queued
+    // while the lock was held.
+    private void unlockWrite() {
+        writeLock.unlock();
+        if (!writeLock.isHeldByCurrentThread()) {
+            drainBacklog();
+        }
+    }
 
-        int count = 0;
-        for (StackTraceElement e : stackTrace) {
-            if (e.getMethodName().equals(name)) {
-                count++;
+    // Writes all queued messages if the write lock is available. A message
+    // that is queued while another thread holds the lock is written by that
+    // thread in unlockWrite(), because it checks the queue after releasing
+    // the lock. Queued messages are discarded once the connection is closed.
+    private void drainBacklog() {
+        while (!backlog.isEmpty() && writeLock.tryLock()) {
+            try {
+                Object encoded;
+                while ((encoded = backlog.poll()) != null) {
+                    try {
+                        if (!closed) {
+                            writeEncoded(encoded);
+                        }
+                    } catch (Exception e) {
+                        notifyChange(ExceptionHandler.class, e, this, getChannel());
+                    } finally {
+                        if (encoded instanceof SharedBuffer) {
+                            ((SharedBuffer) encoded).release();
+                        }
+                    }
+                }
+            } finally {
+                writeLock.unlock();
             }
         }
+    }
+
+    // Records the membership in the given group, see ConnectionGroup.add()
+    void addMembership(ConnectionGroup group) {
+        memberships.add(group);
+        if (membershipListener.compareAndSet(false, true)) {
+            closeFuture.thenRun(() -> {
+                for (ConnectionGroup g : memberships) {
+                    g.remove(this);
+                }
+            });
+        }
+    }
+
+    void removeMembership(ConnectionGroup group) {
+        memberships.remove(group);
+    }
+
+    // Returns the lane of this connection or null if ordered execution is
+    // disabled.
+    private SerialExecutor getLane() {
+        SerialExecutor l = lane;
+        if (l == null) {
+            XTralConfiguration<?> config = getConfiguration();
+            if (config == null || !config.isOrderedExecution()) {
+                return null;
+            }
+            synchronized (this) {
+                l = lane;
+                if (l == null) {
+                    ExecutorService service = config.getExecutorService();
+                    if (service == null) {
+                        throw new IllegalStateException("ExecutorService == null");
+                    }
+                    laneSlots = new Semaphore(config.getOrderedExecutionCapacity());
+                    l = lane = new SerialExecutor(service);
+                }
+            }
+        }
+        return l;
+    }
+
+    private RequestCorrelator getCorrelator() {
+        RequestCorrelator c = correlator;
+        if (c == null) {
+            synchronized (this) {
+                c = correlator;
+                if (c == null) {
+                    CorrelationIdExtractor extractor =
+                            getConfiguration().getCorrelationIdExtractor();
+                    if (extractor == null) {
+                        throw new IllegalStateException("CorrelationIdExtractor == null");
+                    }
+                    c = correlator = new RequestCorrelator(extractor);
+                }
+            }
+        }
+        return c;
+    }
 
-        if (count > 1) {
+    // Redundancy check: the given lock is already held if the current thread
+    // re-enters the method from one of the handlers of this connection.
+    // Other connections (e.g. a stream carried over this one) use their own
+    // locks and are therefore not affected.
+    private void cyclicCheck(ReentrantLock lock, String name) {
+        if (lock.getHoldCount() > 1) {
             throw new RuntimeException("Cannot call "+name+"() twice");
         }
     }
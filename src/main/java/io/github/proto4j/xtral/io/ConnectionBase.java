@@ -109,6 +109,12 @@ public abstract class ConnectionBase<S> extends Connection<S> {
 
     /**
      * {@inheritDoc}
+     * <p>
+     * The handlers are invoked on a snapshot of the handler list without
+     * holding the monitor of this connection. The read and write paths
+     * already serialize their chains with their own locks, and a handler
+     * that writes a reply while the monitor is held could deadlock with a
+     * thread that holds the write lock and waits for the monitor.
      *
      * @param cls {@inheritDoc}
      * @param args {@inheritDoc}
@@ -116,7 +122,7 @@ public abstract class ConnectionBase<S> extends Connection<S> {
      * @return {@inheritDoc}
      */
     @Override
-    protected synchronized <A extends Annotation> Object notifyChange(Class<A> cls, Object... args) {
+    protected <A extends Annotation> Object notifyChange(Class<A> cls, Object... args) {
         Objects.requireNonNull(cls);
 
         HandlerList list = getList(cls);
@@ -150,8 +156,7 @@ public abstract class ConnectionBase<S> extends Connection<S> {
         // given annotation class. Therefore, a new list object is created
         // and added to the cache.
         if (list == null) {
-            list = new HandlerList();
-            handlerCache.put(cls, list);
+            list = handlerCache.computeIfAbsent(cls, k -> new HandlerList());
         }
         return list;
     }
@@ -0,0 +1,272 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.io; //@date 18.10.2026
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A named set of connections that receive the same messages, for example
+ * the subscribers of a topic.
+ * <p>
+ * Membership is stored in a concurrent set: connections can be added and
+ * removed at any time without blocking a running {@link #publish(Object,
+ * BroadcastPolicy, Executor) publish}, which works on the members present
+ * when it started. A connection is removed from the group automatically
+ * when it is closed.
+ * <pre>{@code
+ * server.getGroup("prices").add(connection);
+ * ...
+ * server.publish("prices", update);
+ * }</pre>
+ *
+ * @see io.github.proto4j.xtral.XTralServer#getGroup(String)
+ * @since 1.0
+ */
+public final class ConnectionGroup implements Iterable<Connection<?>> {
+
+    /**
+     * The minimum number of members written by one task of a parallel
+     * publish.
+     */
+    public static final int SLICE_SIZE = 64;
+
+    private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    private final String             name;
+    private final Set<Connection<?>> members = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a new, empty group.
+     *
+     * @param name the name of this group
+     */
+    public ConnectionGroup(String name) {
+        this.name = Objects.requireNonNull(name);
+    }
+
+    /**
+     * Adds the given connection to this group. The connection is removed
+     * again once it has been closed.
+     *
+     * @param connection the connection to add
+     * @return {@code true} if the connection was not a member yet
+     */
+    public boolean add(Connection<?> connection) {
+        Objects.requireNonNull(connection);
+        if (!members.add(connection)) {
+            return false;
+        }
+        connection.addMembership(this);
+        if (connection.isClosed()) {
+            // Closed before the membership was recorded
+            remove(connection);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the given connection from this group.
+     *
+     * @param connection the connection to remove
+     * @return {@code true} if the connection was a member
+     */
+    public boolean remove(Connection<?> connection) {
+        if (!members.remove(connection)) {
+            return false;
+        }
+        connection.removeMembership(this);
+        return true;
+    }
+
+    /**
+     * Returns whether the given connection is a member of this group.
+     *
+     * @param connection the connection
+     * @return {@code true} if the connection is a member
+     */
+    public boolean contains(Connection<?> connection) {
+        return members.contains(connection);
+    }
+
+    /**
+     * Returns the number of members.
+     *
+     * @return the size of this group
+     */
+    public int size() {
+        return members.size();
+    }
+
+    /**
+     * Returns whether this group has no members.
+     *
+     * @return {@code true} if this group is empty
+     */
+    public boolean isEmpty() {
+        return members.isEmpty();
+    }
+
+    /**
+     * Returns the name of this group.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the members of this group.
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Iterator<Connection<?>> iterator() {
+        return members.iterator();
+    }
+
+    /**
+     * Sends the given message to all members of this group.
+     * <p>
+     * The message is passed through the outbound handler chain of one member
+     * only and shared between all members as described in
+     * {@link io.github.proto4j.xtral.XTralServer#broadcast(Object, Iterable,
+     * BroadcastPolicy)}. The members are split into slices of at least
+     * {@link #SLICE_SIZE} connections, at most one per processor, and the
+     * slices are written in parallel on the given executor.
+     *
+     * @param message  the message to be sent
+     * @param policy   the policy applied to busy connections
+     * @param executor the executor running the slices or {@code null} to
+     *                 write all members in the calling thread
+     * @return a future that is completed with the number of connections
+     *         the message was written or queued to, or completed
+     *         exceptionally if the message could not be encoded
+     */
+    public CompletableFuture<Integer> publish(Object message, BroadcastPolicy policy,
+                                              Executor executor) {
+        Objects.requireNonNull(message);
+        Objects.requireNonNull(policy);
+
+        Connection<?>[] targets = members.toArray(new Connection<?>[0]);
+        Object encoded = null;
+        int    first   = 0;
+        // The first open member encodes the message, closed members before
+        // it are skipped.
+        for (; first < targets.length; first++) {
+            if (targets[first].isClosed()) {
+                continue;
+            }
+            try {
+                encoded = targets[first].encode(message);
+                break;
+            } catch (UnsupportedOperationException e) {
+                // Not initialized or closed in the meantime
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        if (encoded == null) {
+            return CompletableFuture.completedFuture(0);
+        }
+
+        Object shared = SharedBuffer.share(encoded);
+        int    count  = targets.length - first;
+        int    slices = executor == null ? 1
+                : Math.max(1, Math.min(PARALLELISM, count / SLICE_SIZE));
+        if (slices == 1) {
+            int sent = send(shared, policy, targets, first, targets.length);
+            release(shared);
+            return CompletableFuture.completedFuture(sent);
+        }
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>(slices);
+        for (int i = 0; i < slices; i++) {
+            int from = first + (int) ((long) count * i / slices);
+            int to   = first + (int) ((long) count * (i + 1) / slices);
+            if (shared instanceof SharedBuffer) {
+                ((SharedBuffer) shared).retain();
+            }
+            try {
+                futures.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return send(shared, policy, targets, from, to);
+                    } finally {
+                        release(shared);
+                    }
+                }, executor));
+            } catch (RejectedExecutionException e) {
+                // Write the slice in the calling thread instead
+                futures.add(CompletableFuture.completedFuture(
+                        send(shared, policy, targets, from, to)));
+                release(shared);
+            }
+        }
+        release(shared);
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            int sent = 0;
+            for (CompletableFuture<Integer> future : futures) {
+                sent += future.join();
+            }
+            return sent;
+        });
+    }
+
+    private static int send(Object encoded, BroadcastPolicy policy,
+                            Connection<?>[] targets, int from, int to) {
+        int sent = 0;
+        for (int i = from; i < to; i++) {
+            if (targets[i].sendEncoded(encoded, policy)) {
+                sent++;
+            }
+        }
+        return sent;
+    }
+
+    private static void release(Object encoded) {
+        if (encoded instanceof SharedBuffer) {
+            ((SharedBuffer) encoded).release();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "ConnectionGroup[" + name + ", size=" + members.size() + "]";
+    }
+}
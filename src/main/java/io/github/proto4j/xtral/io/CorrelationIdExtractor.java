@@ -0,0 +1,64 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.io; //@date 18.10.2026
+
+import io.github.proto4j.xtral.config.XTralConfiguration;
+
+/**
+ * A {@code CorrelationIdExtractor} is used to link response messages to the
+ * request they answer.
+ * <p>
+ * The extractor is applied to the request before it enters the outbound
+ * handler chain and to every inbound message after it has passed the inbound
+ * handler chain. Therefore, it works on the application-level message types
+ * and not on their encoded form. A request and its response must return the
+ * same identifier:
+ * <pre>{@code
+ * CorrelationIdExtractor extractor = msg -> msg instanceof RpcMessage
+ *         ? ((RpcMessage) msg).getCallId()
+ *         : CorrelationIdExtractor.NONE;
+ * }</pre>
+ *
+ * @see Connection#request(Object)
+ * @see XTralConfiguration#getCorrelationIdExtractor()
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface CorrelationIdExtractor {
+
+    /**
+     * The value returned for messages that do not carry a correlation id.
+     */
+    public static final long NONE = Long.MIN_VALUE;
+
+    /**
+     * Returns the correlation id of the given message.
+     *
+     * @param message the request or response message
+     * @return the correlation id of the given message or {@link #NONE} if
+     *         the message does not contain one.
+     */
+    public abstract long correlationId(Object message);
+}
@@ -0,0 +1,268 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.io; //@date 18.10.2026
+
+import io.github.proto4j.xtral.annotation.ExceptionHandler;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A {@link Flow.Publisher} that emits the messages read by a {@link Connection}
+ * after they passed the inbound handler chain.
+ * <p>
+ * Reading is driven by the subscriber's demand: the linked connection is only
+ * read from while there is outstanding demand. If the demand drops to zero,
+ * the read loop returns its thread to the {@link Executor} and the socket is
+ * not touched until {@link Flow.Subscription#request(long)} is called again.
+ * <p>
+ * Because every message can only be read once, this publisher accepts at most
+ * one active subscriber. Further subscribers are rejected with an
+ * {@link IllegalStateException} until the current subscription is cancelled.
+ *
+ * @see Connection#inbound()
+ * @since 1.0
+ */
+final class InboundPublisher implements Flow.Publisher<Object> {
+
+    /**
+     * The subscription passed to rejected subscribers.
+     */
+    private static final Flow.Subscription NO_SUBSCRIPTION = new Flow.Subscription() {
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    };
+
+    private final Connection<?> connection;
+    private final Executor      executor;
+
+    /**
+     * The currently active subscription or {@code null} if there is none.
+     */
+    private final AtomicReference<InboundSubscription> active =
+            new AtomicReference<>();
+
+    InboundPublisher(Connection<?> connection, Executor executor) {
+        this.connection = Objects.requireNonNull(connection);
+        this.executor   = Objects.requireNonNull(executor);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param subscriber {@inheritDoc}
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super Object> subscriber) {
+        Objects.requireNonNull(subscriber);
+
+        InboundSubscription subscription = new InboundSubscription(subscriber);
+        if (!active.compareAndSet(null, subscription)) {
+            // The rejected subscriber must not be able to start a read loop
+            subscriber.onSubscribe(NO_SUBSCRIPTION);
+            subscriber.onError(new IllegalStateException("Connection already has an inbound subscriber"));
+            return;
+        }
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * Signals the active subscriber that the linked connection has been
+     * closed, even if there is no outstanding demand.
+     */
+    void onClose() {
+        InboundSubscription subscription = active.get();
+        if (subscription != null && subscription.wip.getAndIncrement() == 0) {
+            executor.execute(subscription);
+        }
+    }
+
+    private final class InboundSubscription implements Flow.Subscription, Runnable {
+
+        private final Flow.Subscriber<? super Object> subscriber;
+
+        /**
+         * The number of messages requested but not yet delivered.
+         */
+        private final AtomicLong demand = new AtomicLong();
+
+        /**
+         * Work-in-progress counter that guarantees a single running read loop
+         * per subscription.
+         */
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile boolean cancelled;
+
+        InboundSubscription(Flow.Subscriber<? super Object> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (cancelled) {
+                return;
+            }
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException("non-positive request: " + n));
+                return;
+            }
+
+            long current, next;
+            do {
+                current = demand.get();
+                next    = current + n;
+                // Saturate at Long.MAX_VALUE which means 'unbounded'
+                if (next < 0) {
+                    next = Long.MAX_VALUE;
+                }
+            } while (!demand.compareAndSet(current, next));
+
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                active.compareAndSet(this, null);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            for (;;) {
+                if (cancelled) {
+                    return;
+                }
+                if (connection.isClosed()) {
+                    complete();
+                    return;
+                }
+
+                long requested = demand.get();
+                long emitted   = 0;
+
+                while (emitted != requested) {
+                    if (cancelled) {
+                        return;
+                    }
+                    if (connection.isClosed()) {
+                        complete();
+                        return;
+                    }
+
+                    Object message;
+                    try {
+                        // The subscriber owns recyclable messages and
+                        // releases them itself.
+                        message = connection.readObject(false);
+                    } catch (UnsupportedOperationException e) {
+                        // The connection has been closed while waiting for
+                        // the read lock.
+                        complete();
+                        return;
+                    } catch (Exception e) {
+                        fail(e);
+                        return;
+                    }
+                    if (message == Connection.NOTHING_RECEIVED) {
+                        // A non-blocking channel had nothing to read, or the
+                        // connection was closed while waiting. Reading again
+                        // would spin without ever blocking.
+                        fail(new IOException("No message received"));
+                        return;
+                    }
+                    if (message == null) {
+                        // Filtered out by a handler, read the next one
+                        continue;
+                    }
+                    if (cancelled) {
+                        return;
+                    }
+
+                    try {
+                        subscriber.onNext(message);
+                    } catch (Throwable t) {
+                        cancel();
+                        subscriber.onError(t);
+                        return;
+                    }
+                    emitted++;
+                }
+
+                if (emitted != 0 && requested != Long.MAX_VALUE) {
+                    demand.addAndGet(-emitted);
+                }
+
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    // No demand left: stop reading from the connection until
+                    // the subscriber requests more messages.
+                    return;
+                }
+            }
+        }
+
+        private void complete() {
+            if (!cancelled) {
+                cancel();
+                subscriber.onComplete();
+            }
+        }
+
+        // Terminates the subscription after a failed read. The error is
+        // passed to the exception handlers like on every other read path. A
+        // read that failed because the connection has been closed completes
+        // the subscriber.
+        private void fail(Exception e) {
+            try {
+                connection.notifyChange(ExceptionHandler.class, e, connection, connection.getChannel());
+            } catch (RuntimeException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            if (connection.isClosed()) {
+                complete();
+            } else if (!cancelled) {
+                cancel();
+                subscriber.onError(e);
+            }
+        }
+    }
+}
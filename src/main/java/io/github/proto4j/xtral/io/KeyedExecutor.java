@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.io; //@date 18.10.2026
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+/**
+ * An executor that runs tasks with the same key one after another and tasks
+ * with different keys in parallel.
+ * <p>
+ * Every key that has pending tasks gets its own {@link SerialExecutor}, and
+ * all of them share one {@link Executor}. Tasks of the same key therefore
+ * run in submission order, while a busy key never delays the tasks of
+ * another key, and the bounded batches of the serial executors keep a hot
+ * key from occupying the shared executor. The serial executor of a key is
+ * removed as soon as its last task has completed, so only keys with pending
+ * tasks use memory.
+ * <p>
+ * Tasks are only ordered within one keyed executor, so the handlers that
+ * should order their keys together have to share it. The
+ * {@link io.github.proto4j.xtral.XTralClient} creates one for all of its
+ * connections.
+ *
+ * @see io.github.proto4j.xtral.annotation.InboundHandler#key()
+ * @since 1.0
+ */
+public final class KeyedExecutor {
+
+    private final Executor                   executor;
+    private final ConcurrentMap<Object, Key> keys = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new keyed executor.
+     *
+     * @param executor the shared executor running the tasks
+     */
+    public KeyedExecutor(Executor executor) {
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    /**
+     * Runs the given task after all previously submitted tasks of the same
+     * key.
+     *
+     * @param key the key of the task
+     * @param task the task
+     */
+    public void execute(Object key, Runnable task) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(task);
+        // The pending tasks are counted while the entry of the key is
+        // locked, so an entry is never removed while a task is added.
+        Key k = keys.compute(key, (o, v) -> {
+            if (v == null) {
+                v = new Key(executor);
+            }
+            v.pending++;
+            return v;
+        });
+        k.serial.execute(() -> {
+            try {
+                task.run();
+            } finally {
+                keys.computeIfPresent(key, (o, v) -> --v.pending == 0 ? null : v);
+            }
+        });
+    }
+
+    /**
+     * Returns the number of keys that have pending tasks.
+     *
+     * @return the number of active keys
+     */
+    public int size() {
+        return keys.size();
+    }
+
+    private static final class Key {
+        final SerialExecutor serial;
+
+        // Guarded by the entry of the key in the map
+        int pending;
+
+        Key(Executor executor) {
+            serial = new SerialExecutor(executor);
+        }
+    }
+}
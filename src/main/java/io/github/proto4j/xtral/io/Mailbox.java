@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.io; //@date 18.10.2026
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+// The mailbox of an agent with synchronized handlers, see
+// InboundHandler#sync(). All handler calls of the agent are queued on a
+// SerialExecutor, so the agent is only ever used by one thread at a time.
+// One mailbox is shared by all handlers of an agent, independent of the
+// connection they belong to.
+//
+// Callers never wait for a queued call. A caller usually holds a lock of its
+// connection, and a queued call that sends a message needs that lock, so
+// waiting for it could deadlock.
+//
+// Mailboxes are looked up by the identity of the agent, because agents of
+// the same class may be equal without sharing state. The mailboxes run on
+// their own pool, because the handlers of one agent may belong to
+// connections with different configurations.
+final class Mailbox {
+
+    private static final ConcurrentMap<AgentKey, Mailbox> MAILBOXES =
+            new ConcurrentHashMap<>();
+
+    private static final ReferenceQueue<Object> COLLECTED = new ReferenceQueue<>();
+
+    private static final Executor EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "xtral-mailbox");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final SerialExecutor lane;
+
+    private Mailbox() {
+        this.lane = new SerialExecutor(EXECUTOR);
+    }
+
+    static Mailbox of(Object agent) {
+        Objects.requireNonNull(agent);
+        // Removes the mailboxes of collected agents
+        Reference<?> ref;
+        while ((ref = COLLECTED.poll()) != null) {
+            MAILBOXES.remove(ref);
+        }
+        return MAILBOXES.computeIfAbsent(new AgentKey(agent, COLLECTED), k -> new Mailbox());
+    }
+
+    // Queues the given task and returns immediately.
+    void post(Runnable task) {
+        lane.execute(task);
+    }
+
+    // A weak reference to an agent that is compared by identity
+    private static final class AgentKey extends WeakReference<Object> {
+        private final int hash;
+
+        AgentKey(Object agent, ReferenceQueue<Object> queue) {
+            super(agent, queue);
+            this.hash = System.identityHashCode(agent);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof AgentKey)) {
+                return false;
+            }
+            Object agent = get();
+            return agent != null && agent == ((AgentKey) obj).get();
+        }
+    }
+}
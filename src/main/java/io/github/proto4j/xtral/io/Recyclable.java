@@ -0,0 +1,136 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.io; //@date 18.10.2026
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The base class for messages that are taken from and returned to a
+ * {@link Recycler}.
+ * <p>
+ * A recyclable message is reference counted. {@link Recycler#get()} hands it
+ * out with a count of one, which is the reference of the connection that
+ * decodes the message and passes it through the inbound handler chain. The
+ * connection releases its reference as soon as the chain has finished, and
+ * the message is returned to its recycler when the count drops to zero, so
+ * the same instance is used again for one of the next messages. A handler
+ * that keeps the message beyond its own call, for example by passing it to
+ * another thread, has to {@link #retain()} it and {@link #release()} it when
+ * it is done:
+ * <pre>{@code
+ * @InboundHandler
+ * public void onQuote(Quote quote) {
+ *     quote.retain();
+ *     executor.execute(() -> {
+ *         process(quote);
+ *         quote.release();
+ *     });
+ * }
+ * }</pre>
+ * Messages that are completed as a response of a request are not released
+ * automatically, because they are owned by the future of the request.
+ * Instances that were not obtained from a recycler are not counted.
+ *
+ * @see Recycler
+ * @since 1.0
+ */
+public abstract class Recyclable {
+
+    Recycler<?> recycler;
+
+    // The number of owners, set to one by Recycler.get()
+    final AtomicInteger refCnt = new AtomicInteger(1);
+
+    /**
+     * Adds an owner to this message, so it is not returned to its recycler
+     * before the owner has called {@link #release()}. A message can be
+     * retained several times, for example by handlers running on different
+     * threads.
+     *
+     * @throws IllegalStateException if the message has already been
+     *                               released
+     */
+    public final void retain() {
+        if (recycler == null) {
+            return;
+        }
+        for (;;) {
+            int count = refCnt.get();
+            if (count <= 0) {
+                throw new IllegalStateException("Message already released");
+            }
+            if (refCnt.compareAndSet(count, count + 1)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of owners of this message.
+     *
+     * @return the reference count; {@code 0} if the message has been
+     *         returned to its recycler
+     */
+    public final int refCnt() {
+        return refCnt.get();
+    }
+
+    /**
+     * Removes one owner of this message. The owner that releases the last
+     * reference resets the message and returns it to its recycler, so it
+     * must not be used afterwards.
+     *
+     * @throws IllegalStateException if the message has already been
+     *                               released
+     */
+    public final void release() {
+        Recycler<?> r = recycler;
+        if (r == null) {
+            return;
+        }
+        for (;;) {
+            int count = refCnt.get();
+            if (count <= 0) {
+                throw new IllegalStateException("Message already released");
+            }
+            if (refCnt.compareAndSet(count, count - 1)) {
+                if (count == 1) {
+                    reset();
+                    r.recycle(this);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Clears the state of this message before it is returned to the pool.
+     * Fields that are overwritten by the decoder anyway do not need to be
+     * cleared; references to other objects should be cleared, so they can
+     * be collected.
+     */
+    protected void reset() {
+    }
+}
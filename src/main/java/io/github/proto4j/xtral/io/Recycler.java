@@ -0,0 +1,157 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.io; //@date 18.10.2026
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * A per-thread object pool of {@link Recyclable} messages of one type.
+ * <p>
+ * Every thread takes instances from and returns them to its own pool, so
+ * neither operation needs synchronization. Decoders obtain instances with
+ * {@link #get()}, and {@link Connection#readObject()} releases them after
+ * the inbound handler chain. In a read loop, the same few instances are
+ * therefore used for all messages instead of allocating one per message.
+ * Instances released by another thread, for example after they have been
+ * retained, are added to the pool of that thread. Each pool keeps at most
+ * {@link #getCapacity()} instances; further instances are left to the
+ * garbage collector.
+ * <p>
+ * Recyclers are shared per message type:
+ * <pre>{@code
+ * Recycler<Quote> recycler = Recycler.of(Quote.class, Quote::new);
+ * Quote quote = recycler.get();
+ * }</pre>
+ * The {@code BinaryCodec} uses the recycler of message classes that extend
+ * {@link Recyclable} automatically.
+ *
+ * @param <T> the message type
+ * @see Recyclable
+ * @since 1.0
+ */
+public final class Recycler<T extends Recyclable> {
+
+    /**
+     * The default maximum number of pooled instances per thread.
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private static final ConcurrentMap<Class<?>, Recycler<?>> RECYCLERS =
+            new ConcurrentHashMap<>();
+
+    private final Supplier<T> factory;
+    private final int         capacity;
+
+    private final ThreadLocal<ArrayDeque<Recyclable>> pool =
+            ThreadLocal.withInitial(ArrayDeque::new);
+
+    /**
+     * Creates a new recycler.
+     *
+     * @param factory the factory of new instances
+     * @param capacity the maximum number of pooled instances per thread
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public Recycler(Supplier<T> factory, int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        this.factory  = Objects.requireNonNull(factory);
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the shared recycler of the given message type, creating it
+     * with the given factory and the {@link #DEFAULT_CAPACITY} if necessary.
+     *
+     * @param type the message type
+     * @param factory the factory of new instances
+     * @param <T> the message type
+     * @return the recycler of the type
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Recyclable> Recycler<T> of(Class<T> type, Supplier<T> factory) {
+        Objects.requireNonNull(type);
+        Objects.requireNonNull(factory);
+        Recycler<?> recycler = RECYCLERS.get(type);
+        if (recycler == null) {
+            recycler = RECYCLERS.computeIfAbsent(type,
+                    k -> new Recycler<>(factory, DEFAULT_CAPACITY));
+        }
+        return (Recycler<T>) recycler;
+    }
+
+    /**
+     * Releases one reference of the given message if it is a
+     * {@link Recyclable}. Other objects are ignored.
+     *
+     * @param message the message
+     * @see Recyclable#release()
+     */
+    public static void release(Object message) {
+        if (message instanceof Recyclable) {
+            ((Recyclable) message).release();
+        }
+    }
+
+    /**
+     * Returns a pooled instance of the calling thread or a new instance if
+     * the pool is empty.
+     *
+     * @return an instance with a reference count of one, which is owned by
+     *         the caller
+     */
+    @SuppressWarnings("unchecked")
+    public T get() {
+        Recyclable instance = pool.get().pollLast();
+        if (instance == null) {
+            instance = Objects.requireNonNull(factory.get());
+            instance.recycler = this;
+        }
+        instance.refCnt.set(1);
+        return (T) instance;
+    }
+
+    /**
+     * Returns the maximum number of pooled instances per thread.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // Called by the owner that released the last reference
+    void recycle(Recyclable instance) {
+        ArrayDeque<Recyclable> deque = pool.get();
+        if (deque.size() < capacity) {
+            deque.addLast(instance);
+        }
+    }
+}
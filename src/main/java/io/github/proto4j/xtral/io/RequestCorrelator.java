@@ -0,0 +1,235 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.io; //@date 18.10.2026
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Keeps track of the requests sent by a {@link Connection} that are still
+ * waiting for their response.
+ * <p>
+ * Pending requests are stored in a {@link ConcurrentLongMap} keyed by the
+ * id returned from the {@link CorrelationIdExtractor}. Timeouts of all
+ * connections are scheduled on one shared daemon timer thread, so the number
+ * of in-flight requests is not limited by the number of threads.
+ *
+ * @see Connection#request(Object)
+ * @since 1.0
+ */
+final class RequestCorrelator {
+
+    /**
+     * The timer shared by all correlators. Cancelled timeouts are removed
+     * from the work queue immediately, because most requests complete long
+     * before their timeout expires.
+     */
+    private static final ScheduledThreadPoolExecutor TIMER;
+
+    static {
+        TIMER = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "xtral-request-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        TIMER.setRemoveOnCancelPolicy(true);
+    }
+
+    private final ConcurrentLongMap<PendingRequest> pending =
+            new ConcurrentLongMap<>(1024);
+
+    private final CorrelationIdExtractor extractor;
+
+    RequestCorrelator(CorrelationIdExtractor extractor) {
+        this.extractor = Objects.requireNonNull(extractor);
+    }
+
+    /**
+     * Registers a new pending request for the given message.
+     *
+     * @param message the request message
+     * @param timeout the maximum time to wait for a response or a value
+     *         {@code <= 0} to wait forever
+     * @param unit the time unit of the timeout argument
+     * @return the pending request
+     * @throws IllegalArgumentException if the message has no correlation id
+     *                                  or the id is already in use
+     */
+    PendingRequest register(Object message, long timeout, TimeUnit unit) {
+        long id = extractor.correlationId(message);
+        if (id == CorrelationIdExtractor.NONE) {
+            throw new IllegalArgumentException("Message has no correlation id: " + message);
+        }
+
+        PendingRequest request = new PendingRequest(id);
+        if (pending.putIfAbsent(id, request) != null) {
+            throw new IllegalArgumentException("Duplicate correlation id: " + id);
+        }
+        if (timeout > 0) {
+            request.timeout = TIMER.schedule(request, timeout, unit);
+        }
+        return request;
+    }
+
+    /**
+     * Completes the pending request the given response belongs to.
+     *
+     * @param response the received message
+     * @return {@code true} if the message was a response to a pending
+     *         request
+     */
+    boolean complete(Object response) {
+        long id = extractor.correlationId(response);
+        if (id == CorrelationIdExtractor.NONE) {
+            return false;
+        }
+
+        PendingRequest request = pending.remove(id);
+        if (request == null) {
+            return false;
+        }
+        request.cancelTimeout();
+        return request.complete(response);
+    }
+
+    /**
+     * Removes the given request and completes it exceptionally.
+     *
+     * @param request the pending request
+     * @param cause the failure cause
+     */
+    void fail(PendingRequest request, Throwable cause) {
+        if (pending.remove(request.id, request)) {
+            request.cancelTimeout();
+            request.completeExceptionally(cause);
+        }
+    }
+
+    /**
+     * Completes all pending requests exceptionally.
+     *
+     * @param cause the failure cause
+     */
+    void failAll(Throwable cause) {
+        pending.drain(request -> {
+            request.cancelTimeout();
+            request.completeExceptionally(cause);
+        });
+    }
+
+    /**
+     * Returns the number of requests that are waiting for a response.
+     *
+     * @return the number of pending requests
+     */
+    int size() {
+        return pending.size();
+    }
+
+    /**
+     * A pending request is the future returned to the caller and, at the
+     * same time, the timeout task scheduled on the shared timer.
+     * <p>
+     * Callers may complete or cancel the returned future themselves, so every
+     * completion removes the request from the map and cancels its timeout.
+     */
+    final class PendingRequest extends CompletableFuture<Object> implements Runnable {
+
+        private final long id;
+
+        private volatile ScheduledFuture<?> timeout;
+
+        PendingRequest(long id) {
+            this.id = id;
+        }
+
+        @Override
+        public void run() {
+            completeExceptionally(new TimeoutException("No response for request " + id));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean complete(Object value) {
+            settle();
+            return super.complete(value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean completeExceptionally(Throwable ex) {
+            settle();
+            return super.completeExceptionally(ex);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            settle();
+            return super.cancel(mayInterruptIfRunning);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void obtrudeValue(Object value) {
+            settle();
+            super.obtrudeValue(value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void obtrudeException(Throwable ex) {
+            settle();
+            super.obtrudeException(ex);
+        }
+
+        // Frees the slot of this request, regardless of who completed it
+        private void settle() {
+            pending.remove(id, this);
+            cancelTimeout();
+        }
+
+        private void cancelTimeout() {
+            ScheduledFuture<?> task = timeout;
+            if (task != null) {
+                task.cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.io; //@date 18.10.2026
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An executor that runs its tasks one after another, in submission order,
+ * on a shared {@link Executor}.
+ * <p>
+ * Tasks are added to a lock-free queue. The first task submitted to an idle
+ * executor schedules a drain task on the shared executor, which runs the
+ * queued tasks until the queue is empty. Many serial executors can share a
+ * small pool: tasks of one serial executor never run concurrently, while
+ * different serial executors run in parallel, and no thread is bound to a
+ * serial executor while it is idle. To keep the pool fair, the drain task
+ * runs at most {@link #getBatchSize()} tasks before it is scheduled again.
+ * <p>
+ * Exceptions thrown by a task are passed to the uncaught exception handler
+ * of the running thread and do not stop the following tasks.
+ *
+ * @see Connection#readObject()
+ * @since 1.0
+ */
+public final class SerialExecutor implements Executor {
+
+    /**
+     * The default maximum number of tasks run by one drain task.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    private final Executor        executor;
+    private final int             batchSize;
+    private final Queue<Runnable> tasks     = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean   scheduled = new AtomicBoolean();
+    private final Runnable        drain     = this::drain;
+
+    /**
+     * Creates a new serial executor with the {@link #DEFAULT_BATCH_SIZE}.
+     *
+     * @param executor the shared executor running the tasks
+     */
+    public SerialExecutor(Executor executor) {
+        this(executor, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a new serial executor.
+     *
+     * @param executor the shared executor running the tasks
+     * @param batchSize the maximum number of tasks run by one drain task
+     * @throws IllegalArgumentException if the batch size is not positive
+     */
+    public SerialExecutor(Executor executor, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Invalid batch size: " + batchSize);
+        }
+        this.executor  = Objects.requireNonNull(executor);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Runs the given task after all previously submitted tasks.
+     *
+     * @param task the task
+     * @throws RejectedExecutionException if the shared executor does not
+     *                                    accept the drain task
+     */
+    @Override
+    public void execute(Runnable task) {
+        tasks.add(Objects.requireNonNull(task));
+        schedule();
+    }
+
+    /**
+     * Returns the number of tasks waiting to be run.
+     *
+     * @return the number of queued tasks
+     */
+    public int size() {
+        return tasks.size();
+    }
+
+    /**
+     * Returns the maximum number of tasks run by one drain task.
+     *
+     * @return the batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    private void schedule() {
+        if (!scheduled.get() && scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(drain);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                throw e;
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            for (int i = 0; i < batchSize; i++) {
+                Runnable task = tasks.poll();
+                if (task == null) {
+                    break;
+                }
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    Thread thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+                }
+            }
+        } finally {
+            scheduled.set(false);
+            // A task that was added after the last poll could not schedule
+            // the drain task, because it was still running.
+            if (!tasks.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.io; //@date 18.10.2026
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A read-only, reference-counted buffer that is written to many connections.
+ * <p>
+ * A broadcast message is encoded once and copied into a shared buffer.
+ * Every write uses its own {@link #duplicate()}, so all connections share
+ * the same content without copying it again. Queued writes
+ * {@link #retain()} the buffer and {@link #release()} it after they have
+ * been completed; the buffer must not be used after the last reference
+ * has been released.
+ *
+ * @see Connection#sendEncoded(Object, BroadcastPolicy)
+ * @since 1.0
+ */
+public final class SharedBuffer {
+
+    private final ByteBuffer    buffer;
+    private final AtomicInteger refCnt = new AtomicInteger(1);
+
+    private SharedBuffer(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Creates a shared buffer with a copy of the remaining bytes of the given
+     * buffer. The position of the given buffer is not changed. The returned
+     * buffer has a reference count of {@code 1}.
+     *
+     * @param src the buffer to copy
+     * @return the shared buffer
+     */
+    public static SharedBuffer copyOf(ByteBuffer src) {
+        Objects.requireNonNull(src);
+        ByteBuffer copy = ByteBuffer.allocate(src.remaining());
+        copy.put(src.duplicate()).flip();
+        return new SharedBuffer(copy.asReadOnlyBuffer());
+    }
+
+    /**
+     * Prepares an encoded message to be written to many connections. Encoders
+     * may reuse their buffers, so a {@link ByteBuffer} is copied into a new
+     * shared buffer and a {@code byte[]} is cloned. Other messages are
+     * returned as they are.
+     *
+     * @param encoded the result of the outbound handler chain
+     * @return the message that can be passed to
+     *         {@link Connection#sendEncoded(Object, BroadcastPolicy)}; a
+     *         returned {@code SharedBuffer} has to be released by the caller
+     */
+    public static Object share(Object encoded) {
+        if (encoded instanceof ByteBuffer) {
+            return copyOf((ByteBuffer) encoded);
+        }
+        if (encoded instanceof byte[]) {
+            return ((byte[]) encoded).clone();
+        }
+        return encoded;
+    }
+
+    /**
+     * Returns a new read-only view of the content of this buffer with its
+     * own position and limit.
+     *
+     * @return the view
+     * @throws IllegalStateException if this buffer has been released
+     */
+    public ByteBuffer duplicate() {
+        if (refCnt.get() <= 0) {
+            throw new IllegalStateException("Buffer released");
+        }
+        return buffer.duplicate();
+    }
+
+    /**
+     * Returns the number of bytes of this buffer.
+     *
+     * @return the size in bytes
+     */
+    public int size() {
+        return buffer.limit();
+    }
+
+    /**
+     * Returns the current reference count.
+     *
+     * @return the reference count, {@code 0} if the buffer has been released
+     */
+    public int refCnt() {
+        return refCnt.get();
+    }
+
+    /**
+     * Increments the reference count.
+     *
+     * @return this buffer
+     * @throws IllegalStateException if this buffer has been released
+     */
+    public SharedBuffer retain() {
+        int count;
+        do {
+            count = refCnt.get();
+            if (count <= 0) {
+                throw new IllegalStateException("Buffer released");
+            }
+        } while (!refCnt.compareAndSet(count, count + 1));
+        return this;
+    }
+
+    /**
+     * Decrements the reference count.
+     *
+     * @return {@code true} if the last reference has been released
+     * @throws IllegalStateException if this buffer has already been
+     *                               released
+     */
+    public boolean release() {
+        int count = refCnt.decrementAndGet();
+        if (count < 0) {
+            refCnt.incrementAndGet();
+            throw new IllegalStateException("Buffer released");
+        }
+        return count == 0;
+    }
+}
@@ -24,15 +24,23 @@
 
 package io.github.proto4j.xtral.io; //@date 18.09.2022
 
+import io.github.proto4j.xtral.io.channel.ChannelOption;
+import io.github.proto4j.xtral.io.channel.StandardChannelOptions;
+
 import javax.net.SocketFactory;
 import java.io.IOException;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.util.Map;
 import java.util.Objects;
 
 /**
  * The base class for connection implementations that use a class that
  * extends the {@link Socket} class.
+ * <p>
+ * The socket options of the configuration are applied to every socket
+ * created by this class before it is connected.
  *
  * @param <S> the socket type
  */
@@ -49,7 +57,7 @@ public abstract class SocketConnectionBase<S extends Socket> extends ConnectionB
     public void doConnect(InetAddress address, int port) throws IOException {
         Objects.requireNonNull(getConfiguration());
         Objects.requireNonNull(getChannelFactory());
-        if (!initialized || !closed) {
+        if (!initialized || closed) {
             throw new IOException("Connection not initialized!");
         }
 
@@ -58,7 +66,22 @@ public abstract class SocketConnectionBase<S extends Socket> extends ConnectionB
             if (socketFactory == null) {
                 throw new IllegalArgumentException("DTFactory == null");
             }
-            Socket socket = socketFactory.createSocket(address, port);
+            Map<ChannelOption<?>, Object> options = getConfiguration().getSocketOptions();
+            Socket socket;
+            if (options.isEmpty()) {
+                socket = socketFactory.createSocket(address, port);
+            } else {
+                // Buffer sizes must be set before connecting to affect the
+                // negotiated TCP window.
+                socket = socketFactory.createSocket();
+                try {
+                    StandardChannelOptions.apply(socket, options);
+                    socket.connect(new InetSocketAddress(address, port));
+                } catch (IOException | RuntimeException e) {
+                    socket.close();
+                    throw e;
+                }
+            }
             // This will raise an exception if the provided socket object is not
             // a subclass of the type parameter's type.
             //noinspection unchecked
@@ -25,10 +25,13 @@
 package io.github.proto4j.xtral.io.channel; //@date 17.09.2022
 
 import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Stream;
 
 /**
@@ -38,6 +41,11 @@ import java.util.stream.Stream;
  * <p>
  * The read() and write() methods should be implemented by inheritors of
  * this class.
+ * <p>
+ * Option values are stored in an array that is indexed by the
+ * {@link ChannelOption#id() id} of the option, so reading an option costs
+ * an array load. Subclasses declare the options they support with
+ * {@link #addOption(ChannelOption, Object)}, usually in their constructor.
  *
  * @see Channel
  * @since 1.0
@@ -49,7 +57,15 @@ public abstract class AbstractChannel<S> implements Channel<S> {
      */
     private volatile boolean closed;
 
-    private final ConcurrentMap<ChannelOption<?>, Object> options = new ConcurrentHashMap<>();
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    // Stored instead of null in the slot of a supported option, because an
+    // empty slot marks an unsupported one.
+    private static final Object NULL = new Object();
+
+    private final Set<ChannelOption<?>> options = ConcurrentHashMap.newKeySet();
+
+    private volatile Object[] slots = new Object[0];
 
     /**
      * Returns whether this channel is closed.
@@ -87,7 +103,31 @@ public abstract class AbstractChannel<S> implements Channel<S> {
      */
     @Override
     public Set<ChannelOption<?>> getOptions() {
-        return options.keySet();
+        return Collections.unmodifiableSet(options);
+    }
+
+    /**
+     * Adds the given option to the supported options of this channel and
+     * sets its initial value.
+     *
+     * @param option The channel option
+     * @param value The initial value of the channel option. A value of
+     *         {@code null} may be valid for some options.
+     * @throws ClassCastException   if the value is not of the option type
+     * @throws NullPointerException if option is {@code null}
+     */
+    protected synchronized <T> void addOption(ChannelOption<T> option, T value) {
+        Objects.requireNonNull(option);
+        Object stored = value == null ? NULL : option.type().cast(value);
+
+        int      id    = option.id();
+        Object[] table = slots;
+        if (id >= table.length) {
+            table = Arrays.copyOf(table, Math.max(id + 1, table.length * 2));
+        }
+        SLOTS.setRelease(table, id, stored);
+        slots = table;
+        options.add(option);
     }
 
     /**
@@ -105,13 +145,18 @@ public abstract class AbstractChannel<S> implements Channel<S> {
      * @throws NullPointerException          if option is {@code null}
      */
     @Override
-    public <T> void setOption(ChannelOption<T> option, T value) throws IOException {
+    public synchronized <T> void setOption(ChannelOption<T> option, T value) throws IOException {
         Objects.requireNonNull(option);
+        Object stored = value == null ? NULL : option.type().cast(value);
 
-        if (!options.containsKey(option)) {
+        // Writers hold the monitor, so addOption cannot copy the table while
+        // the value is stored. Only reads are lock-free.
+        int      id    = option.id();
+        Object[] table = slots;
+        if (id >= table.length || SLOTS.getAcquire(table, id) == null) {
             throw new UnsupportedOperationException("Unsupported option: " + option.name());
         }
-        options.put(option, value);
+        SLOTS.setRelease(table, id, stored);
     }
 
     /**
@@ -121,20 +166,24 @@ public abstract class AbstractChannel<S> implements Channel<S> {
      * @return The value of the channel option.
      * @throws UnsupportedOperationException if the channel does not support
      *                                       the option.
+     * @throws ClassCastException            if the value was stored through
+     *                                       an option with the same name but
+     *                                       another type.
      * @throws IOException                   if an I/O error occurs, or if the
      *                                       channel is closed.
      * @throws NullPointerException          if option is {@code null}
      */
     @Override
     public <T> T getOption(ChannelOption<T> option) throws IOException {
-        Objects.requireNonNull(option);
-
-        if (!options.containsKey(option)) {
+        int      id    = option.id();
+        Object[] table = slots;
+        Object   value = id < table.length ? SLOTS.getAcquire(table, id) : null;
+        if (value == null) {
             throw new UnsupportedOperationException("Unsupported option: " + option.name());
         }
-
-        Object obj = options.get(option);
-        return option.type().cast(obj);
+        // Ids are shared by options with the same name, so the value may
+        // have been stored through an option of another type.
+        return value == NULL ? null : option.type().cast(value);
     }
 
     /**
@@ -25,21 +25,44 @@
 package io.github.proto4j.xtral.io.channel;//@date 18.09.2022
 
 import java.net.SocketOption;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A channel option associated with a {@link Channel}.
+ * <p>
+ * Every option gets a small integer id when it is created. Options with
+ * the same name share the same id, so channels can store option values in
+ * an array that is indexed by the id (see {@link AbstractChannel}).
  *
  * @param <T> The type of the channel option value.
  * @since 1.0
  */
 public class ChannelOption<T> implements SocketOption<T> {
 
+    private static final ConcurrentMap<String, Integer> IDS     = new ConcurrentHashMap<>();
+    private static final AtomicInteger                  NEXT_ID = new AtomicInteger();
+
     private final Class<T> valueType;
     private final String   valueName;
+    private final int      id;
 
     public ChannelOption(Class<T> valueType, String name) {
-        this.valueType = valueType;
-        this.valueName = name;
+        this.valueType = Objects.requireNonNull(valueType);
+        this.valueName = Objects.requireNonNull(name);
+        this.id        = IDS.computeIfAbsent(name, k -> NEXT_ID.getAndIncrement());
+    }
+
+    /**
+     * Returns the id of this option. The id is unique per option name and
+     * stable for the lifetime of the JVM.
+     *
+     * @return the id of this option
+     */
+    public int id() {
+        return id;
     }
 
     /**
@@ -65,14 +88,14 @@ public class ChannelOption<T> implements SocketOption<T> {
     @Override
     public boolean equals(Object obj) {
         if (obj instanceof ChannelOption) {
-            return ((ChannelOption<?>) obj).valueName.equals(name());
+            return ((ChannelOption<?>) obj).id == id;
         }
         return false;
     }
 
     @Override
     public int hashCode() {
-        return name().hashCode();
+        return id;
     }
 
     @Override
@@ -0,0 +1,396 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.io.channel; //@date 18.10.2026
+
+import io.github.proto4j.xtral.annotation.InboundHandler;
+import io.github.proto4j.xtral.annotation.OutboundHandler;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A {@link Channel} decorator that compresses outgoing and decompresses
+ * incoming messages with the DEFLATE algorithm.
+ * <p>
+ * Because it wraps the channel of a connection, the compression stage always
+ * sits at the same position: after the last {@link OutboundHandler} and
+ * before the first {@link InboundHandler}. The outbound handlers therefore
+ * have to produce a {@link ByteBuffer} or a {@code byte[]}, and the inbound
+ * handlers receive a {@link ByteBuffer}. The wrapped channel has to accept
+ * a {@code ByteBuffer} on {@link #write(Object, Object)} and has to return a
+ * {@code ByteBuffer}, a {@code byte[]} or a {@link DatagramPacket} on
+ * {@link #read(Object)}.
+ * <p>
+ * Every message is prefixed with a one-byte header. Messages smaller than the
+ * configured threshold, or messages that do not get smaller, are sent as they
+ * are. Compressed messages additionally store their original length, so the
+ * receiving side allocates the result buffer exactly once. Because that
+ * length is sent by the remote side, messages that would inflate to more than
+ * the configured maximum size are rejected before anything is allocated.
+ * Each channel (and therefore each connection) owns one {@link Deflater} and
+ * one {@link Inflater} which are reset instead of re-created for every
+ * message, as well as a reusable output buffer. An optional preset dictionary improves the ratio of
+ * small messages that share common content; both sides must use the same
+ * dictionary.
+ * <pre>{@code
+ * setChannelFactory(CompressionChannel.wrap(MyChannel::new,
+ *         Deflater.BEST_SPEED, 512, null));
+ * }</pre>
+ *
+ * @param <S> the socket type
+ * @see Deflater
+ * @see Inflater
+ * @since 1.0
+ */
+public class CompressionChannel<S> implements Channel<S> {
+
+    /**
+     * The default minimum size in bytes of a message to be compressed.
+     */
+    public static final int DEFAULT_THRESHOLD = 256;
+
+    /**
+     * The default maximum size in bytes of a decompressed message (16 MiB).
+     */
+    public static final int DEFAULT_MAX_MESSAGE_SIZE = 16 << 20;
+
+    private static final byte STORED   = 0;
+    private static final byte DEFLATED = 1;
+
+    private final Channel<S> delegate;
+    private final int        level;
+    private final int        threshold;
+    private final byte[]     dictionary;
+    private final int        maxMessageSize;
+
+    private Deflater   deflater;
+    private Inflater   inflater;
+    private ByteBuffer output;
+
+    /**
+     * Creates a new compression channel with the default compression level
+     * and the {@link #DEFAULT_THRESHOLD}.
+     *
+     * @param delegate the wrapped channel
+     */
+    public CompressionChannel(Channel<S> delegate) {
+        this(delegate, Deflater.DEFAULT_COMPRESSION, DEFAULT_THRESHOLD, null);
+    }
+
+    /**
+     * Creates a new compression channel that accepts decompressed messages up
+     * to {@link #DEFAULT_MAX_MESSAGE_SIZE}.
+     *
+     * @param delegate the wrapped channel
+     * @param level the compression level ({@code 0-9} or
+     *         {@link Deflater#DEFAULT_COMPRESSION})
+     * @param threshold the minimum size in bytes of a message to be
+     *         compressed
+     * @param dictionary the preset dictionary or {@code null}
+     * @throws IllegalArgumentException if the compression level is invalid
+     */
+    public CompressionChannel(Channel<S> delegate, int level, int threshold, byte[] dictionary) {
+        this(delegate, level, threshold, dictionary, DEFAULT_MAX_MESSAGE_SIZE);
+    }
+
+    /**
+     * Creates a new compression channel.
+     *
+     * @param delegate the wrapped channel
+     * @param level the compression level ({@code 0-9} or
+     *         {@link Deflater#DEFAULT_COMPRESSION})
+     * @param threshold the minimum size in bytes of a message to be
+     *         compressed
+     * @param dictionary the preset dictionary or {@code null}
+     * @param maxMessageSize the maximum size in bytes of a decompressed
+     *         message
+     * @throws IllegalArgumentException if the compression level or the
+     *                                  maximum message size is invalid
+     */
+    public CompressionChannel(Channel<S> delegate, int level, int threshold, byte[] dictionary,
+                              int maxMessageSize) {
+        if ((level < 0 || level > 9) && level != Deflater.DEFAULT_COMPRESSION) {
+            throw new IllegalArgumentException("invalid compression level: " + level);
+        }
+        if (maxMessageSize <= 0) {
+            throw new IllegalArgumentException("invalid maximum message size: " + maxMessageSize);
+        }
+        this.delegate       = Objects.requireNonNull(delegate);
+        this.level          = level;
+        this.threshold      = Math.max(0, threshold);
+        this.dictionary     = dictionary == null ? null : dictionary.clone();
+        this.maxMessageSize = maxMessageSize;
+    }
+
+    /**
+     * Returns a factory that wraps every channel created by the given factory
+     * into a {@code CompressionChannel}.
+     *
+     * @param factory the factory of the wrapped channels
+     * @param level the compression level
+     * @param threshold the minimum size in bytes of a message to be
+     *         compressed
+     * @param dictionary the preset dictionary or {@code null}
+     * @param <S> the socket type
+     * @return a factory of compression channels
+     */
+    public static <S> ChannelFactory<S> wrap(ChannelFactory<S> factory, int level,
+                                             int threshold, byte[] dictionary) {
+        return wrap(factory, level, threshold, dictionary, DEFAULT_MAX_MESSAGE_SIZE);
+    }
+
+    /**
+     * Returns a factory that wraps every channel created by the given factory
+     * into a {@code CompressionChannel} with the given maximum message size.
+     *
+     * @param factory the factory of the wrapped channels
+     * @param level the compression level
+     * @param threshold the minimum size in bytes of a message to be
+     *         compressed
+     * @param dictionary the preset dictionary or {@code null}
+     * @param maxMessageSize the maximum size in bytes of a decompressed
+     *         message
+     * @param <S> the socket type
+     * @return a factory of compression channels
+     */
+    public static <S> ChannelFactory<S> wrap(ChannelFactory<S> factory, int level, int threshold,
+                                             byte[] dictionary, int maxMessageSize) {
+        Objects.requireNonNull(factory);
+        return () -> new CompressionChannel<>(factory.createChannel(), level, threshold,
+                                              dictionary, maxMessageSize);
+    }
+
+    /**
+     * Compresses the given message and writes it to the wrapped channel.
+     *
+     * @param socket {@inheritDoc}
+     * @param obj a {@link ByteBuffer} or {@code byte[]}
+     * @throws IOException if an I/O error occurs, or if the message type is
+     *                     not supported
+     */
+    @Override
+    public void write(S socket, Object obj) throws IOException {
+        ByteBuffer message = toBuffer(obj);
+        int        length  = message.remaining();
+
+        ByteBuffer out;
+        if (length < threshold || (out = deflate(message, length)) == null) {
+            out = prepareOutput(length + 1);
+            out.put(STORED).put(message).flip();
+        }
+        delegate.write(socket, out);
+    }
+
+    /**
+     * Reads the next message from the wrapped channel and decompresses it.
+     * <p>
+     * Messages that were sent uncompressed are returned as a view of the
+     * received buffer without copying.
+     *
+     * @param socket {@inheritDoc}
+     * @return the decompressed message as {@link ByteBuffer}
+     * @throws IOException if an I/O error occurs, if the message is
+     *                     malformed or if it exceeds the maximum message
+     *                     size
+     */
+    @Override
+    public Object read(S socket) throws IOException {
+        Object obj = delegate.read(socket);
+        if (obj == null) {
+            return null;
+        }
+
+        ByteBuffer message = toBuffer(obj);
+        if (!message.hasRemaining()) {
+            throw new IOException("Missing compression header");
+        }
+        byte header = message.get();
+        if (header == STORED) {
+            return message.slice();
+        }
+        if (header != DEFLATED || message.remaining() < Integer.BYTES) {
+            throw new IOException("Invalid compression header: " + header);
+        }
+        int length = message.getInt();
+        if (length < 0) {
+            throw new IOException("Invalid message length: " + length);
+        }
+        if (length > maxMessageSize) {
+            throw new IOException("Message too large: " + length + " > " + maxMessageSize);
+        }
+        return inflate(message, length);
+    }
+
+    private ByteBuffer deflate(ByteBuffer message, int length) {
+        if (length + 1 <= 1 + Integer.BYTES) {
+            return null;
+        }
+        if (deflater == null) {
+            deflater = new Deflater(level);
+        } else {
+            deflater.reset();
+        }
+        if (dictionary != null) {
+            deflater.setDictionary(dictionary);
+        }
+        deflater.setInput(message.duplicate());
+        deflater.finish();
+
+        // Compressed messages that are not smaller than the original one
+        // are sent uncompressed.
+        ByteBuffer out = prepareOutput(length + 1);
+        out.put(DEFLATED).putInt(length);
+        while (!deflater.finished()) {
+            if (!out.hasRemaining()) {
+                return null;
+            }
+            deflater.deflate(out);
+        }
+        out.flip();
+        return out;
+    }
+
+    private ByteBuffer inflate(ByteBuffer message, int length) throws IOException {
+        if (inflater == null) {
+            inflater = new Inflater();
+        } else {
+            inflater.reset();
+        }
+        inflater.setInput(message);
+
+        ByteBuffer result = ByteBuffer.allocate(length);
+        try {
+            while (!inflater.finished()) {
+                int n = inflater.inflate(result);
+                if (n == 0) {
+                    if (inflater.needsDictionary()) {
+                        if (dictionary == null) {
+                            throw new IOException("Message requires a preset dictionary");
+                        }
+                        inflater.setDictionary(dictionary);
+                    } else if (inflater.needsInput() || !result.hasRemaining()) {
+                        break;
+                    }
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new IOException(e);
+        }
+        if (!inflater.finished() || result.hasRemaining()) {
+            throw new IOException("Corrupted message: expected " + length + " bytes");
+        }
+        result.flip();
+        return result;
+    }
+
+    // The output buffer is reused by all writes, because the wrapped channel
+    // writes the message before write() returns.
+    private ByteBuffer prepareOutput(int capacity) {
+        if (output == null || output.capacity() < capacity) {
+            output = ByteBuffer.allocate(Math.max(capacity, 512));
+        }
+        output.clear().limit(capacity);
+        return output;
+    }
+
+    private static ByteBuffer toBuffer(Object obj) throws IOException {
+        if (obj instanceof ByteBuffer) {
+            return (ByteBuffer) obj;
+        }
+        if (obj instanceof byte[]) {
+            return ByteBuffer.wrap((byte[]) obj);
+        }
+        if (obj instanceof DatagramPacket) {
+            DatagramPacket packet = (DatagramPacket) obj;
+            return ByteBuffer.wrap(packet.getData(), packet.getOffset(), packet.getLength());
+        }
+        throw new IOException("Invalid type: " + (obj == null ? "null" : obj.getClass().getName()));
+    }
+
+    /**
+     * Returns the wrapped channel.
+     *
+     * @return the wrapped channel
+     */
+    public Channel<S> getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Returns the maximum size in bytes of a decompressed message.
+     *
+     * @return the maximum message size
+     */
+    public int getMaxMessageSize() {
+        return maxMessageSize;
+    }
+
+    /**
+     * Closes the wrapped channel and releases the native resources of the
+     * compressor.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            delegate.close();
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+            if (inflater != null) {
+                inflater.end();
+            }
+        }
+    }
+
+    @Override
+    public <T> void setOption(ChannelOption<T> option, T value) throws IOException {
+        delegate.setOption(option, value);
+    }
+
+    @Override
+    public <T> T getOption(ChannelOption<T> option) throws IOException {
+        return delegate.getOption(option);
+    }
+
+    @Override
+    public Set<ChannelOption<?>> getOptions() {
+        return delegate.getOptions();
+    }
+
+    @Override
+    public Stream<ChannelOption<?>> options() {
+        return delegate.options();
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.io.channel; //@date 18.10.2026
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.Objects;
+
+/**
+ * A {@code Channel} that sends binary messages over a stream
+ * {@link SocketChannel}, such as a TCP or a Unix domain socket, as frames
+ * with a four-byte length prefix.
+ * <p>
+ * Received bytes are read into one buffer per channel, whose size is
+ * predicted by a {@link ReceiveBufferSizer} from the sizes of recent reads.
+ * A connection that carries small messages therefore keeps a small buffer
+ * instead of one of the socket receive buffer size. The buffer is only
+ * resized while it holds no partial frame, and a frame that does not fit
+ * is read into a buffer of its exact size. The kernel buffers of the socket
+ * are adjusted by a {@link SocketBufferTuner} from the number of bytes read
+ * and written by this channel.
+ * <p>
+ * Messages are accepted as {@link ByteBuffer} or {@code byte[]}; every
+ * received frame is copied into a {@link ByteBuffer} of its own, which
+ * stays valid after the next read. Subclasses can override
+ * {@link #encode(Object)} and {@link #decode(ByteBuffer)} to convert between
+ * message objects and frames. If the socket is in non-blocking mode,
+ * {@link #read(SocketChannel)} returns {@code null} while no complete frame
+ * has been received.
+ * <pre>{@code
+ * setChannelFactory(FramedSocketChannel::new);
+ * }</pre>
+ *
+ * @see ReceiveBufferSizer
+ * @see SocketBufferTuner
+ * @since 1.0
+ */
+public class FramedSocketChannel extends AbstractChannel<SocketChannel> {
+
+    /**
+     * The default maximum size in bytes of a frame (16 MiB).
+     */
+    public static final int DEFAULT_MAX_FRAME_SIZE = 16 << 20;
+
+    private final ReceiveBufferSizer sizer;
+    private final SocketBufferTuner  tuner;
+    private final int                maxFrameSize;
+
+    // The header is only used by write() and the input buffer only by
+    // read(), which the connection calls under its write and read lock.
+    private final ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+    private       ByteBuffer input;
+
+    /**
+     * Creates a new channel with a default {@link ReceiveBufferSizer} and
+     * {@link SocketBufferTuner} that accepts frames up to
+     * {@link #DEFAULT_MAX_FRAME_SIZE}.
+     */
+    public FramedSocketChannel() {
+        this(new ReceiveBufferSizer(), new SocketBufferTuner(), DEFAULT_MAX_FRAME_SIZE);
+    }
+
+    /**
+     * Creates a new channel.
+     *
+     * @param sizer the sizer of the receive buffer, which must not be shared
+     *         with another channel
+     * @param tuner the tuner of the socket buffers or {@code null} to keep
+     *         the buffer sizes of the socket
+     * @param maxFrameSize the maximum size in bytes of a frame
+     * @throws IllegalArgumentException if the maximum frame size is not
+     *                                  positive
+     */
+    public FramedSocketChannel(ReceiveBufferSizer sizer, SocketBufferTuner tuner,
+                               int maxFrameSize) {
+        if (maxFrameSize <= 0) {
+            throw new IllegalArgumentException("invalid maximum frame size: " + maxFrameSize);
+        }
+        this.sizer        = Objects.requireNonNull(sizer);
+        this.tuner        = tuner;
+        this.maxFrameSize = maxFrameSize;
+        this.input        = ByteBuffer.allocate(sizer.nextSize()).flip();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param socket {@inheritDoc}
+     * @param obj {@inheritDoc}
+     * @throws IOException {@inheritDoc}
+     */
+    @Override
+    public void write(SocketChannel socket, Object obj) throws IOException {
+        if (isClosed()) {
+            throw new IOException("Channel closed");
+        }
+        ByteBuffer payload = encode(obj);
+        int        length  = payload.remaining();
+        if (length > maxFrameSize) {
+            throw new IOException("Frame too large: " + length + " > " + maxFrameSize);
+        }
+        header.clear();
+        header.putInt(length).flip();
+
+        ByteBuffer[] frame   = {header, payload};
+        long         written = 0;
+        while (payload.hasRemaining() || header.hasRemaining()) {
+            written += socket.write(frame);
+        }
+        if (tuner != null) {
+            tuner.sent((int) written);
+            tuner.tune(socket);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param socket {@inheritDoc}
+     * @return {@inheritDoc}
+     * @throws IOException  {@inheritDoc}
+     * @throws EOFException if the remote side closed the connection
+     */
+    @Override
+    public Object read(SocketChannel socket) throws IOException {
+        if (isClosed()) {
+            throw new IOException("Channel closed");
+        }
+        ByteBuffer frame;
+        while ((frame = nextFrame()) == null) {
+            int n = fill(socket);
+            if (n < 0) {
+                throw new EOFException("Connection closed");
+            }
+            if (n == 0) {
+                return null;
+            }
+        }
+        return decode(frame);
+    }
+
+    // Copies the next complete frame out of the input buffer, or returns
+    // null if more bytes are needed.
+    private ByteBuffer nextFrame() throws IOException {
+        int available = input.remaining();
+        if (available < Integer.BYTES) {
+            return null;
+        }
+        int length = input.getInt(input.position());
+        if (length < 0 || length > maxFrameSize) {
+            throw new IOException("Invalid frame length: " + length);
+        }
+        if (available - Integer.BYTES < length) {
+            return null;
+        }
+        int start = input.position() + Integer.BYTES;
+        ByteBuffer frame = ByteBuffer.allocate(length)
+                .put(0, input, start, length);
+        input.position(start + length);
+        return frame;
+    }
+
+    // Reads more bytes from the socket into the input buffer and returns
+    // the number of bytes read.
+    private int fill(SocketChannel socket) throws IOException {
+        if (!input.hasRemaining()) {
+            int size = sizer.nextSize();
+            if (input.capacity() != size) {
+                input = ByteBuffer.allocate(size);
+            } else {
+                input.clear();
+            }
+        } else {
+            // The length of a partial frame has been validated by nextFrame()
+            int required = input.remaining() < Integer.BYTES
+                    ? Integer.BYTES
+                    : Integer.BYTES + input.getInt(input.position());
+            if (required > input.capacity()) {
+                input = ByteBuffer.allocate(required).put(input);
+            } else {
+                input.compact();
+            }
+        }
+
+        int n;
+        try {
+            n = socket.read(input);
+        } finally {
+            input.flip();
+        }
+        if (n > 0) {
+            sizer.record(n);
+            if (tuner != null) {
+                tuner.received(n);
+                tuner.tune(socket);
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Converts the given message into the payload of a frame.
+     *
+     * @param obj the message to be written
+     * @return the frame payload
+     * @throws IOException if the message type is not supported
+     */
+    protected ByteBuffer encode(Object obj) throws IOException {
+        if (obj instanceof ByteBuffer) {
+            return ((ByteBuffer) obj).duplicate();
+        }
+        if (obj instanceof byte[]) {
+            return ByteBuffer.wrap((byte[]) obj);
+        }
+        throw new IOException("Unsupported message type: " + obj.getClass().getName());
+    }
+
+    /**
+     * Converts the payload of a received frame into a message.
+     *
+     * @param frame the frame payload
+     * @return the message
+     * @throws IOException if the frame could not be decoded
+     */
+    protected Object decode(ByteBuffer frame) throws IOException {
+        return frame;
+    }
+
+    /**
+     * Returns the maximum size in bytes of a frame.
+     *
+     * @return the maximum frame size
+     */
+    public int getMaxFrameSize() {
+        return maxFrameSize;
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.io.channel; //@date 18.10.2026
+
+import java.util.Arrays;
+
+/**
+ * Predicts the size of the next receive buffer from the sizes of recent
+ * reads.
+ * <p>
+ * Read sizes are counted in a histogram of power-of-two buckets between
+ * the minimum and the maximum size. After every window of reads, the
+ * predicted size is set to the smallest bucket that covers most of the
+ * recorded reads, so a connection that carries 200-byte messages
+ * allocates 256-byte buffers instead of buffers of the socket receive
+ * buffer size. A read that fills the whole buffer doubles the prediction
+ * immediately, without waiting for the end of the window.
+ * <pre>{@code
+ * ByteBuffer buffer = ByteBuffer.allocate(sizer.nextSize());
+ * int n = socketChannel.read(buffer);
+ * sizer.record(n);
+ * }</pre>
+ * The prediction is meant for stream reads, where a buffer that is too
+ * small only results in another read. Datagrams that do not fit into the
+ * buffer are truncated, so datagram channels should only use it to size
+ * buffers they keep or pool after a datagram has been received.
+ * <p>
+ * Instances of this class are not thread-safe; every channel should use its
+ * own instance.
+ *
+ * @see FramedSocketChannel
+ * @since 1.0
+ */
+public final class ReceiveBufferSizer {
+
+    /**
+     * The default minimum buffer size.
+     */
+    public static final int DEFAULT_MINIMUM = 64;
+
+    /**
+     * The default initial buffer size.
+     */
+    public static final int DEFAULT_INITIAL = 2048;
+
+    /**
+     * The default maximum buffer size.
+     */
+    public static final int DEFAULT_MAXIMUM = 65536;
+
+    /**
+     * The default number of reads after which the prediction is updated.
+     */
+    public static final int DEFAULT_WINDOW = 64;
+
+    private final int   minimum;
+    private final int   maximum;
+    private final int   minShift;
+    private final int   window;
+    private final int[] histogram;
+
+    private int samples;
+    private int nextSize;
+
+    /**
+     * Creates a new sizer with the default sizes and window.
+     */
+    public ReceiveBufferSizer() {
+        this(DEFAULT_MINIMUM, DEFAULT_INITIAL, DEFAULT_MAXIMUM, DEFAULT_WINDOW);
+    }
+
+    /**
+     * Creates a new sizer. All sizes are rounded up to a power of two.
+     *
+     * @param minimum the minimum buffer size
+     * @param initial the buffer size until the first window is complete
+     * @param maximum the maximum buffer size
+     * @param window the number of reads after which the prediction is
+     *         updated
+     * @throws IllegalArgumentException if the sizes are not ordered or not
+     *                                  positive, or if the window is not
+     *                                  positive
+     */
+    public ReceiveBufferSizer(int minimum, int initial, int maximum, int window) {
+        if (minimum <= 0 || minimum > initial || initial > maximum) {
+            throw new IllegalArgumentException("Invalid sizes: " + minimum + ", "
+                    + initial + ", " + maximum);
+        }
+        if (window <= 0) {
+            throw new IllegalArgumentException("Invalid window: " + window);
+        }
+        this.minimum   = ceilPowerOfTwo(minimum);
+        this.maximum   = ceilPowerOfTwo(maximum);
+        this.minShift  = Integer.numberOfTrailingZeros(this.minimum);
+        this.window    = window;
+        this.histogram = new int[Integer.numberOfTrailingZeros(this.maximum) - minShift + 1];
+        this.nextSize  = ceilPowerOfTwo(initial);
+    }
+
+    /**
+     * Returns the predicted size of the next receive buffer.
+     *
+     * @return the buffer size in bytes
+     */
+    public int nextSize() {
+        return nextSize;
+    }
+
+    /**
+     * Records the number of bytes of a completed read.
+     *
+     * @param bytes the number of bytes that were read; negative values
+     *         (end of stream) are ignored
+     */
+    public void record(int bytes) {
+        if (bytes < 0) {
+            return;
+        }
+        if (bytes >= nextSize && nextSize < maximum) {
+            // The buffer was filled, so the message was probably larger.
+            nextSize = Math.min(maximum, nextSize << 1);
+        }
+        histogram[bucketOf(bytes)]++;
+        if (++samples == window) {
+            update();
+        }
+    }
+
+    /**
+     * Returns the minimum buffer size.
+     *
+     * @return the minimum buffer size
+     */
+    public int getMinimum() {
+        return minimum;
+    }
+
+    /**
+     * Returns the maximum buffer size.
+     *
+     * @return the maximum buffer size
+     */
+    public int getMaximum() {
+        return maximum;
+    }
+
+    private void update() {
+        // Use the bucket that covers all reads except for the largest 1/16,
+        // so single outliers do not keep the buffers large.
+        int target = samples - samples / 16;
+        int count  = 0;
+        int bucket = 0;
+        while (bucket < histogram.length - 1) {
+            count += histogram[bucket];
+            if (count >= target) {
+                break;
+            }
+            bucket++;
+        }
+        nextSize = minimum << bucket;
+
+        Arrays.fill(histogram, 0);
+        samples = 0;
+    }
+
+    private int bucketOf(int size) {
+        if (size <= minimum) {
+            return 0;
+        }
+        int shift = 32 - Integer.numberOfLeadingZeros(size - 1);
+        return Math.min(shift - minShift, histogram.length - 1);
+    }
+
+    private static int ceilPowerOfTwo(int value) {
+        int highest = Integer.highestOneBit(value);
+        return highest == value ? value : highest << 1;
+    }
+}
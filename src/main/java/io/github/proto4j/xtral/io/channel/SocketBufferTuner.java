@@ -0,0 +1,241 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.io.channel; //@date 18.10.2026
+
+import java.io.IOException;
+import java.net.Socket;
+import java.net.StandardSocketOptions;
+import java.nio.channels.NetworkChannel;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tunes the kernel buffers ({@code SO_RCVBUF} and {@code SO_SNDBUF}) of a
+ * stream socket from the observed throughput.
+ * <p>
+ * Channels report the number of bytes they read and write with
+ * {@link #received(int)} and {@link #sent(int)}, and call
+ * {@link #tune(Socket)} or {@link #tune(NetworkChannel)} from time to time,
+ * for example after every read. Once per interval, the throughput of each
+ * direction is multiplied with the configured delay to estimate the number
+ * of bytes in flight, and the buffer is set to that estimate rounded up to
+ * a power of two within the minimum and maximum size. A buffer is only
+ * changed if the estimate differs from the current size by at least a
+ * factor of two, so a steady connection does not issue system calls.
+ * <p>
+ * Idle connections shrink their buffers down to the minimum, which keeps
+ * the memory held by the kernel per connection small; busy connections get
+ * buffers that are large enough to keep the link busy.
+ *
+ * @see FramedSocketChannel
+ * @see ReceiveBufferSizer
+ * @since 1.0
+ */
+public final class SocketBufferTuner {
+
+    /**
+     * The default delay used to estimate the number of bytes in flight.
+     */
+    public static final Duration DEFAULT_DELAY = Duration.ofMillis(20);
+
+    /**
+     * The default interval between two adjustments.
+     */
+    public static final Duration DEFAULT_INTERVAL = Duration.ofSeconds(1);
+
+    /**
+     * The default minimum buffer size.
+     */
+    public static final int DEFAULT_MINIMUM = 8 * 1024;
+
+    /**
+     * The default maximum buffer size.
+     */
+    public static final int DEFAULT_MAXIMUM = 4 * 1024 * 1024;
+
+    private final long delayNanos;
+    private final long intervalNanos;
+    private final int  minimum;
+    private final int  maximum;
+
+    private final AtomicLong receivedBytes = new AtomicLong();
+    private final AtomicLong sentBytes     = new AtomicLong();
+
+    private volatile long lastTune = System.nanoTime();
+
+    private int receiveBufferSize;
+    private int sendBufferSize;
+
+    /**
+     * Creates a new tuner with the default settings.
+     */
+    public SocketBufferTuner() {
+        this(DEFAULT_DELAY, DEFAULT_INTERVAL, DEFAULT_MINIMUM, DEFAULT_MAXIMUM);
+    }
+
+    /**
+     * Creates a new tuner.
+     *
+     * @param delay the delay used to estimate the number of bytes in flight,
+     *         usually the round-trip time of the link
+     * @param interval the interval between two adjustments
+     * @param minimum the minimum buffer size
+     * @param maximum the maximum buffer size
+     * @throws IllegalArgumentException if a duration is not positive or the
+     *                                  sizes are not ordered
+     */
+    public SocketBufferTuner(Duration delay, Duration interval, int minimum, int maximum) {
+        Objects.requireNonNull(delay);
+        Objects.requireNonNull(interval);
+        if (delay.isNegative() || delay.isZero() || interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Invalid duration");
+        }
+        if (minimum <= 0 || minimum > maximum) {
+            throw new IllegalArgumentException("Invalid sizes: " + minimum + ", " + maximum);
+        }
+        this.delayNanos    = delay.toNanos();
+        this.intervalNanos = interval.toNanos();
+        this.minimum       = minimum;
+        this.maximum       = maximum;
+    }
+
+    /**
+     * Records received bytes.
+     *
+     * @param bytes the number of bytes read from the socket
+     */
+    public void received(int bytes) {
+        if (bytes > 0) {
+            receivedBytes.addAndGet(bytes);
+        }
+    }
+
+    /**
+     * Records sent bytes.
+     *
+     * @param bytes the number of bytes written to the socket
+     */
+    public void sent(int bytes) {
+        if (bytes > 0) {
+            sentBytes.addAndGet(bytes);
+        }
+    }
+
+    /**
+     * Adjusts the buffers of the given socket if the interval has elapsed.
+     *
+     * @param socket the socket to tune
+     * @return {@code true} if the buffers were evaluated
+     * @throws IOException if the buffer sizes could not be set
+     */
+    public boolean tune(Socket socket) throws IOException {
+        long elapsed = elapsed();
+        if (elapsed < 0) {
+            return false;
+        }
+        synchronized (this) {
+            if (receiveBufferSize == 0) {
+                receiveBufferSize = socket.getReceiveBufferSize();
+                sendBufferSize    = socket.getSendBufferSize();
+            }
+            int rcv = target(receivedBytes.getAndSet(0), elapsed, receiveBufferSize);
+            if (rcv != receiveBufferSize) {
+                socket.setReceiveBufferSize(rcv);
+                receiveBufferSize = rcv;
+            }
+            int snd = target(sentBytes.getAndSet(0), elapsed, sendBufferSize);
+            if (snd != sendBufferSize) {
+                socket.setSendBufferSize(snd);
+                sendBufferSize = snd;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adjusts the buffers of the given channel if the interval has elapsed.
+     *
+     * @param channel the channel to tune
+     * @return {@code true} if the buffers were evaluated
+     * @throws IOException if the buffer sizes could not be set
+     */
+    public boolean tune(NetworkChannel channel) throws IOException {
+        long elapsed = elapsed();
+        if (elapsed < 0) {
+            return false;
+        }
+        synchronized (this) {
+            if (receiveBufferSize == 0) {
+                receiveBufferSize = channel.getOption(StandardSocketOptions.SO_RCVBUF);
+                sendBufferSize    = channel.getOption(StandardSocketOptions.SO_SNDBUF);
+            }
+            int rcv = target(receivedBytes.getAndSet(0), elapsed, receiveBufferSize);
+            if (rcv != receiveBufferSize) {
+                channel.setOption(StandardSocketOptions.SO_RCVBUF, rcv);
+                receiveBufferSize = rcv;
+            }
+            int snd = target(sentBytes.getAndSet(0), elapsed, sendBufferSize);
+            if (snd != sendBufferSize) {
+                channel.setOption(StandardSocketOptions.SO_SNDBUF, snd);
+                sendBufferSize = snd;
+            }
+        }
+        return true;
+    }
+
+    // Returns the elapsed time since the last evaluation and starts a new
+    // interval, or -1 if the interval has not elapsed yet or another thread
+    // is evaluating.
+    private long elapsed() {
+        long last = lastTune;
+        long now  = System.nanoTime();
+        if (now - last < intervalNanos) {
+            return -1;
+        }
+        synchronized (this) {
+            if (lastTune != last) {
+                return -1;
+            }
+            lastTune = now;
+        }
+        return now - last;
+    }
+
+    private int target(long bytes, long elapsedNanos, int current) {
+        double inFlight = (double) bytes * delayNanos / elapsedNanos;
+        long   size     = Math.max(minimum, Math.min(maximum, (long) inFlight));
+        int    rounded  = Math.min(maximum, ceilPowerOfTwo((int) size));
+        if (rounded >= current * 2L || rounded * 2L <= current) {
+            return rounded;
+        }
+        return current;
+    }
+
+    private static int ceilPowerOfTwo(int value) {
+        int highest = Integer.highestOneBit(value);
+        return highest == value ? value : highest << 1;
+    }
+}
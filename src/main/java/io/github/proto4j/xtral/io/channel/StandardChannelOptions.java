@@ -0,0 +1,158 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.io.channel; //@date 18.10.2026
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketOption;
+import java.net.StandardSocketOptions;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Defines channel options for tuning the sockets created and accepted by
+ * the framework (see {@code XTralConfiguration#getSocketOptions()}).
+ * <p>
+ * A socket option is applied by its name: the socket is asked for a
+ * supported {@link SocketOption} with the same name as the channel option,
+ * so platform specific options can be used without referencing their
+ * module, for example
+ * <pre>{@code
+ * setSocketOption(new ChannelOption<>(Boolean.class, "TCP_QUICKACK"), true);
+ * }</pre>
+ * Options that are not supported by a socket are skipped, which allows
+ * using the same options for client, server and accepted sockets.
+ *
+ * @see StandardSocketOptions
+ * @since 1.0
+ */
+public final class StandardChannelOptions {
+
+    private StandardChannelOptions() {}
+
+    /**
+     * Disables the Nagle algorithm. See {@link StandardSocketOptions#TCP_NODELAY}.
+     */
+    public static final ChannelOption<Boolean> TCP_NODELAY =
+            new ChannelOption<>(Boolean.class, StandardSocketOptions.TCP_NODELAY.name());
+
+    /**
+     * The size of the socket send buffer. See {@link StandardSocketOptions#SO_SNDBUF}.
+     */
+    public static final ChannelOption<Integer> SO_SNDBUF =
+            new ChannelOption<>(Integer.class, StandardSocketOptions.SO_SNDBUF.name());
+
+    /**
+     * The size of the socket receive buffer. See {@link StandardSocketOptions#SO_RCVBUF}.
+     * Set on a server socket, the size is inherited by accepted sockets.
+     */
+    public static final ChannelOption<Integer> SO_RCVBUF =
+            new ChannelOption<>(Integer.class, StandardSocketOptions.SO_RCVBUF.name());
+
+    /**
+     * Keeps the connection alive. See {@link StandardSocketOptions#SO_KEEPALIVE}.
+     */
+    public static final ChannelOption<Boolean> SO_KEEPALIVE =
+            new ChannelOption<>(Boolean.class, StandardSocketOptions.SO_KEEPALIVE.name());
+
+    /**
+     * Re-uses the address. See {@link StandardSocketOptions#SO_REUSEADDR}.
+     */
+    public static final ChannelOption<Boolean> SO_REUSEADDR =
+            new ChannelOption<>(Boolean.class, StandardSocketOptions.SO_REUSEADDR.name());
+
+    /**
+     * Lingers on close if data is present. See {@link StandardSocketOptions#SO_LINGER}.
+     */
+    public static final ChannelOption<Integer> SO_LINGER =
+            new ChannelOption<>(Integer.class, StandardSocketOptions.SO_LINGER.name());
+
+    /**
+     * The type of service in the IP header. See {@link StandardSocketOptions#IP_TOS}.
+     */
+    public static final ChannelOption<Integer> IP_TOS =
+            new ChannelOption<>(Integer.class, StandardSocketOptions.IP_TOS.name());
+
+    /**
+     * Applies the given options to the given socket.
+     *
+     * @param socket the socket
+     * @param options the options and their values
+     * @throws IOException              if an option could not be set
+     * @throws IllegalArgumentException if a value is not valid for its
+     *                                  option
+     */
+    public static void apply(Socket socket, Map<ChannelOption<?>, Object> options)
+            throws IOException {
+        if (options.isEmpty()) {
+            return;
+        }
+        Set<SocketOption<?>> supported = socket.supportedOptions();
+        for (Map.Entry<ChannelOption<?>, Object> entry : options.entrySet()) {
+            SocketOption<Object> option = find(supported, entry.getKey());
+            if (option != null) {
+                socket.setOption(option, entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Applies the given options to the given server socket.
+     *
+     * @param socket the server socket
+     * @param options the options and their values
+     * @throws IOException              if an option could not be set
+     * @throws IllegalArgumentException if a value is not valid for its
+     *                                  option
+     */
+    public static void apply(ServerSocket socket, Map<ChannelOption<?>, Object> options)
+            throws IOException {
+        if (options.isEmpty()) {
+            return;
+        }
+        Set<SocketOption<?>> supported = socket.supportedOptions();
+        for (Map.Entry<ChannelOption<?>, Object> entry : options.entrySet()) {
+            SocketOption<Object> option = find(supported, entry.getKey());
+            if (option != null) {
+                socket.setOption(option, entry.getValue());
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SocketOption<Object> find(Set<SocketOption<?>> supported, ChannelOption<?> option) {
+        for (SocketOption<?> candidate : supported) {
+            if (candidate.name().equals(option.name())) {
+                if (candidate.type() != option.type()) {
+                    throw new IllegalArgumentException("Invalid type of option "
+                            + option.name() + ": " + option.type().getName());
+                }
+                return (SocketOption<Object>) candidate;
+            }
+        }
+        return null;
+    }
+}
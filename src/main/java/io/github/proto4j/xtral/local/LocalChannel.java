@@ -0,0 +1,74 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.local; //@date 18.10.2026
+
+import io.github.proto4j.xtral.io.channel.AbstractChannel;
+
+import java.io.IOException;
+
+/**
+ * A {@code Channel} that passes message objects to the linked
+ * {@link LocalSocket} without encoding them. It can be registered as
+ * {@code ChannelFactory} with {@code LocalChannel::new}.
+ * <p>
+ * Outbound handlers still run before a message is written and inbound
+ * handlers after it has been read, so agents work the same as with a
+ * socket based transport.
+ *
+ * @see LocalSocket
+ * @since 1.0
+ */
+public class LocalChannel extends AbstractChannel<LocalSocket> {
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param socket {@inheritDoc}
+     * @param obj {@inheritDoc}
+     * @throws IOException {@inheritDoc}
+     */
+    @Override
+    public void write(LocalSocket socket, Object obj) throws IOException {
+        if (isClosed()) {
+            throw new IOException("Channel closed");
+        }
+        socket.write(obj);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param socket {@inheritDoc}
+     * @return {@inheritDoc}
+     * @throws IOException {@inheritDoc}
+     */
+    @Override
+    public Object read(LocalSocket socket) throws IOException {
+        if (isClosed()) {
+            throw new IOException("Channel closed");
+        }
+        return socket.read();
+    }
+}
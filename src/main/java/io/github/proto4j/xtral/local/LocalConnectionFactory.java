@@ -0,0 +1,57 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.local; //@date 18.10.2026
+
+import io.github.proto4j.xtral.io.Connection;
+import io.github.proto4j.xtral.io.ConnectionFactory;
+
+import java.io.IOException;
+
+/**
+ * Creates {@link LocalConnection}s. Clients and servers that use the local
+ * transport are configured with this factory, a {@link LocalChannel}
+ * factory and a {@link LocalServerBootstrapFactory}:
+ * <pre>{@code
+ * setConnectionFactory(new LocalConnectionFactory());
+ * setChannelFactory((ChannelFactory<LocalSocket>) LocalChannel::new);
+ * setBootstrapFactory(new LocalServerBootstrapFactory(8080));
+ * }</pre>
+ *
+ * @see LocalConnection
+ * @since 1.0
+ */
+public class LocalConnectionFactory implements ConnectionFactory<LocalSocket> {
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     * @throws IOException {@inheritDoc}
+     */
+    @Override
+    public Connection<LocalSocket> createConnection() throws IOException {
+        return new LocalConnection();
+    }
+}
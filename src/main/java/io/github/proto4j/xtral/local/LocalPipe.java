@@ -0,0 +1,199 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.local; //@date 18.10.2026
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A bounded single-producer single-consumer queue that transfers message
+ * objects in one direction between two {@link LocalSocket}s.
+ * <p>
+ * Exactly one thread may call {@link #offer(Object)} and one thread may call
+ * {@link #take()} at the same time, which is ensured by the read and write
+ * locks of the {@code Connection}. The queue does not use any locks: the
+ * producer publishes a slot by advancing the volatile {@code tail} and the
+ * consumer frees it by advancing the volatile {@code head}. A thread that
+ * has to wait spins shortly and parks afterwards; the other side unparks it
+ * after the next state change.
+ *
+ * @since 1.0
+ */
+final class LocalPipe {
+
+    /**
+     * The number of busy-wait iterations before a waiting thread parks.
+     */
+    private static final int SPINS = 128;
+
+    private final Object[] buffer;
+    private final int      mask;
+
+    // Index of the next slot to read, written by the consumer only.
+    private volatile long head;
+    // Index of the next slot to write, written by the producer only.
+    private volatile long tail;
+
+    private volatile Thread  producer;
+    private volatile Thread  consumer;
+    private volatile boolean closed;
+
+    /**
+     * Creates a new pipe that holds at least the given number of messages.
+     *
+     * @param capacity the minimum capacity, rounded up to a power of two
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    LocalPipe(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        buffer = new Object[size];
+        mask   = size - 1;
+    }
+
+    /**
+     * Appends the given message and waits if the pipe is full.
+     *
+     * @param message the message to transfer
+     * @throws IOException if the pipe has been closed or the current thread
+     *                     was interrupted while waiting
+     */
+    void offer(Object message) throws IOException {
+        long t = tail;
+        int spins = SPINS;
+        while (t - head >= buffer.length) {
+            if (closed) {
+                throw new IOException("Pipe closed");
+            }
+            if (spins > 0) {
+                spins--;
+                Thread.onSpinWait();
+                continue;
+            }
+            producer = Thread.currentThread();
+            // Re-check after publishing the waiter, otherwise the consumer
+            // may have freed a slot in between and nobody unparks us.
+            if (t - head >= buffer.length && !closed) {
+                LockSupport.park(this);
+            }
+            producer = null;
+            checkInterrupt();
+        }
+        if (closed) {
+            throw new IOException("Pipe closed");
+        }
+        buffer[(int) t & mask] = message;
+        tail = t + 1;
+        Thread waiter = consumer;
+        if (waiter != null) {
+            LockSupport.unpark(waiter);
+        }
+    }
+
+    /**
+     * Removes the next message and waits if the pipe is empty.
+     *
+     * @return the next message or {@code null} if the pipe has been closed
+     *         and all messages have been taken
+     * @throws IOException if the current thread was interrupted while
+     *                     waiting
+     */
+    Object take() throws IOException {
+        long h = head;
+        int spins = SPINS;
+        while (tail == h) {
+            if (closed) {
+                // Messages written before the pipe was closed are still
+                // delivered.
+                if (tail == h) {
+                    return null;
+                }
+                break;
+            }
+            if (spins > 0) {
+                spins--;
+                Thread.onSpinWait();
+                continue;
+            }
+            consumer = Thread.currentThread();
+            if (tail == h && !closed) {
+                LockSupport.park(this);
+            }
+            consumer = null;
+            checkInterrupt();
+        }
+        int index = (int) h & mask;
+        Object message = buffer[index];
+        buffer[index] = null;
+        head = h + 1;
+        Thread waiter = producer;
+        if (waiter != null) {
+            LockSupport.unpark(waiter);
+        }
+        return message;
+    }
+
+    /**
+     * Returns the number of messages that are waiting to be taken.
+     *
+     * @return the number of queued messages
+     */
+    int size() {
+        return (int) (tail - head);
+    }
+
+    /**
+     * Closes this pipe and wakes up waiting threads. Queued messages can
+     * still be taken.
+     */
+    void close() {
+        closed = true;
+        Thread waiter = producer;
+        if (waiter != null) {
+            LockSupport.unpark(waiter);
+        }
+        waiter = consumer;
+        if (waiter != null) {
+            LockSupport.unpark(waiter);
+        }
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    private static void checkInterrupt() throws InterruptedIOException {
+        if (Thread.interrupted()) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+    }
+}
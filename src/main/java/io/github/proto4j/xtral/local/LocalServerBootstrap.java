@@ -0,0 +1,172 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.local; //@date 18.10.2026
+
+import io.github.proto4j.xtral.bootstrap.AbstractServerBootstrap;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * An {@link AbstractServerBootstrap} that accepts {@link LocalSocket}s from clients
+ * in the same JVM.
+ * <p>
+ * The bootstrap binds to a local port that only exists inside this JVM and
+ * does not conflict with ports of the operating system. Clients connect
+ * with {@link LocalSocket#connect(int)}; the server side of the new
+ * connection is queued until it is accepted.
+ *
+ * @see LocalServerBootstrapFactory
+ * @since 1.0
+ */
+public class LocalServerBootstrap extends AbstractServerBootstrap<LocalSocket> {
+
+    /**
+     * The default number of messages each direction of a connection can
+     * buffer.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * The default number of connections that can wait to be accepted.
+     */
+    public static final int DEFAULT_BACKLOG = 50;
+
+    private static final ConcurrentMap<Integer, LocalServerBootstrap> BOUND =
+            new ConcurrentHashMap<>();
+
+    private final int                        port;
+    private final int                        capacity;
+    private final BlockingQueue<LocalSocket> pending;
+
+    private volatile boolean open;
+
+    /**
+     * Creates a new bootstrap with the default capacity and backlog and
+     * binds it to the given local port.
+     *
+     * @param port the local port
+     * @throws IOException if another bootstrap is bound to the port
+     */
+    public LocalServerBootstrap(int port) throws IOException {
+        this(port, DEFAULT_CAPACITY, DEFAULT_BACKLOG);
+    }
+
+    /**
+     * Creates a new bootstrap and binds it to the given local port.
+     *
+     * @param port the local port
+     * @param capacity the number of messages each direction of an accepted
+     *         connection can buffer
+     * @param backlog the maximum number of connections waiting to be
+     *         accepted
+     * @throws IOException              if another bootstrap is bound to the
+     *                                  port
+     * @throws IllegalArgumentException if capacity or backlog are not
+     *                                  positive
+     */
+    public LocalServerBootstrap(int port, int capacity, int backlog) throws IOException {
+        super();
+        if (capacity <= 0 || backlog <= 0) {
+            throw new IllegalArgumentException("capacity and backlog must be positive");
+        }
+        this.port     = port;
+        this.capacity = capacity;
+        this.pending  = new LinkedBlockingQueue<>(backlog);
+
+        open = true;
+        if (BOUND.putIfAbsent(port, this) != null) {
+            open = false;
+            throw new IOException("Address already in use: local:" + port);
+        }
+    }
+
+    static LocalServerBootstrap lookup(int port) {
+        return BOUND.get(port);
+    }
+
+    /**
+     * Returns the local port of this bootstrap.
+     *
+     * @return the local port
+     */
+    public int getPort() {
+        return port;
+    }
+
+    // Called by LocalSocket.connect(int) on the client thread.
+    LocalSocket link() throws IOException {
+        LocalSocket[] pair = LocalSocket.pair(port, capacity);
+        if (!open || !pending.offer(pair[1])) {
+            throw new IOException("Connection refused: local:" + port);
+        }
+        // close() may have drained the queue right before the offer
+        if (!open && pending.remove(pair[1])) {
+            throw new IOException("Connection refused: local:" + port);
+        }
+        return pair[0];
+    }
+
+    @Override
+    protected LocalSocket accept() throws IOException {
+        if (!open) {
+            throw new IOException("Bootstrap closed");
+        }
+        LocalSocket socket;
+        try {
+            socket = pending.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+        if (socket == LocalSocket.CLOSED) {
+            // Let other threads that wait in accept() wake up as well
+            pending.offer(LocalSocket.CLOSED);
+            throw new IOException("Bootstrap closed");
+        }
+        return socket;
+    }
+
+    @Override
+    protected boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    protected void doClose() throws IOException {
+        open = false;
+        BOUND.remove(port, this);
+
+        LocalSocket socket;
+        while ((socket = pending.poll()) != null) {
+            socket.close();
+        }
+        pending.offer(LocalSocket.CLOSED);
+    }
+}
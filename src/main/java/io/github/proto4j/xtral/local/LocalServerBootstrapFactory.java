@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.local; //@date 18.10.2026
+
+import io.github.proto4j.xtral.bootstrap.AbstractServerBootstrap;
+import io.github.proto4j.xtral.bootstrap.ServerBootstrapFactory;
+
+import java.io.IOException;
+
+/**
+ * Creates {@link LocalServerBootstrap}s bound to a fixed local port.
+ *
+ * @see LocalServerBootstrap
+ * @since 1.0
+ */
+public class LocalServerBootstrapFactory extends ServerBootstrapFactory {
+
+    private final int port;
+    private final int capacity;
+    private final int backlog;
+
+    /**
+     * Creates a factory for the given local port with the default capacity
+     * and backlog.
+     *
+     * @param port the local port
+     */
+    public LocalServerBootstrapFactory(int port) {
+        this(port, LocalServerBootstrap.DEFAULT_CAPACITY, LocalServerBootstrap.DEFAULT_BACKLOG);
+    }
+
+    /**
+     * Creates a factory for the given local port.
+     *
+     * @param port the local port
+     * @param capacity the number of messages each direction of an accepted
+     *         connection can buffer
+     * @param backlog the maximum number of connections waiting to be
+     *         accepted
+     */
+    public LocalServerBootstrapFactory(int port, int capacity, int backlog) {
+        this.port     = port;
+        this.capacity = capacity;
+        this.backlog  = backlog;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     * @throws IOException if another bootstrap is bound to the port
+     */
+    @Override
+    public AbstractServerBootstrap<?> createBootstrap() throws IOException {
+        return new LocalServerBootstrap(port, capacity, backlog);
+    }
+}
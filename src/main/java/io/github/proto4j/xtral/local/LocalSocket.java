@@ -0,0 +1,172 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.local; //@date 18.10.2026
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * One endpoint of an in-JVM connection. Two linked sockets share a pair of
+ * bounded {@code LocalPipe}s, one for each direction, and transfer message
+ * objects by reference. Socket I/O and encoding are skipped completely.
+ * <p>
+ * Because messages are not copied, an object must not be modified after it
+ * has been written. Sockets are created by {@link #connect(int)} on the
+ * client side and by the {@link LocalServerBootstrap} bound to the same
+ * local port on the server side.
+ *
+ * @see LocalChannel
+ * @see LocalServerBootstrap
+ * @since 1.0
+ */
+public final class LocalSocket implements Closeable {
+
+    /**
+     * A marker that wakes up a {@link LocalServerBootstrap} when it is
+     * closed.
+     */
+    static final LocalSocket CLOSED = new LocalSocket(-1, null, null);
+
+    private final int       port;
+    private final LocalPipe in;
+    private final LocalPipe out;
+
+    private LocalSocket(int port, LocalPipe in, LocalPipe out) {
+        this.port = port;
+        this.in   = in;
+        this.out  = out;
+    }
+
+    /**
+     * Connects to the {@link LocalServerBootstrap} that is bound to the
+     * given local port.
+     * <p>
+     * This method does not wait until the server accepts the connection.
+     * Messages written before that are queued.
+     *
+     * @param port the local port of the server
+     * @return the client side of the new connection
+     * @throws IOException if no server is bound to the port or its backlog
+     *                     is full
+     */
+    public static LocalSocket connect(int port) throws IOException {
+        LocalServerBootstrap bootstrap = LocalServerBootstrap.lookup(port);
+        if (bootstrap == null) {
+            throw new IOException("Connection refused: local:" + port);
+        }
+        return bootstrap.link();
+    }
+
+    /**
+     * Creates two linked sockets and returns them as an array with the
+     * client side at index {@code 0} and the server side at index {@code 1}.
+     *
+     * @param port the local port
+     * @param capacity the number of messages each direction can buffer
+     * @return the linked sockets
+     */
+    static LocalSocket[] pair(int port, int capacity) {
+        LocalPipe up   = new LocalPipe(capacity);
+        LocalPipe down = new LocalPipe(capacity);
+        return new LocalSocket[]{
+                new LocalSocket(port, down, up),
+                new LocalSocket(port, up, down)
+        };
+    }
+
+    /**
+     * Transfers the given message to the linked socket. This method blocks
+     * while the buffer of the linked socket is full.
+     *
+     * @param message the message to transfer
+     * @throws IOException if either side has been closed
+     */
+    public void write(Object message) throws IOException {
+        Objects.requireNonNull(message);
+        out.offer(message);
+    }
+
+    /**
+     * Returns the next message written by the linked socket. This method
+     * blocks until a message is available.
+     *
+     * @return the next message
+     * @throws EOFException if the linked socket has been closed and all of
+     *                      its messages have been read
+     * @throws IOException  if the current thread was interrupted
+     */
+    public Object read() throws IOException {
+        Object message = in.take();
+        if (message == null) {
+            throw new EOFException("Local connection closed");
+        }
+        return message;
+    }
+
+    /**
+     * Returns the number of messages that can be read without blocking.
+     *
+     * @return the number of buffered inbound messages
+     */
+    public int available() {
+        return in.size();
+    }
+
+    /**
+     * Returns the local port of the server.
+     *
+     * @return the local port
+     */
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * Returns whether this socket has been closed.
+     *
+     * @return {@code true} if this socket has been closed; {@code false}
+     *         otherwise.
+     */
+    public boolean isClosed() {
+        return out.isClosed();
+    }
+
+    /**
+     * Closes this socket. The linked socket can still read the messages
+     * that were written before, and fails on further writes.
+     */
+    @Override
+    public void close() {
+        out.close();
+        in.close();
+    }
+
+    @Override
+    public String toString() {
+        return "LocalSocket[port=" + port + "]";
+    }
+}
@@ -0,0 +1,469 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.multicast; //@date 18.10.2026
+
+import io.github.proto4j.xtral.annotation.InboundHandler;
+import io.github.proto4j.xtral.io.channel.ChannelFactory;
+import io.github.proto4j.xtral.io.channel.ChannelOption;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * A {@link MulticastChannel} decorator that packs several small outgoing
+ * messages into one datagram and unpacks them again on the receiving side.
+ * <p>
+ * Messages ({@code byte[]} or {@link ByteBuffer}) are collected until the
+ * next one would exceed the configured payload size, or until the flush
+ * delay has passed since the first message of the batch. The batch is then
+ * written to the wrapped channel as a single {@code byte[]} with the
+ * following layout (all numbers unsigned, big-endian):
+ * <pre>
+ * magic (2 bytes) | version (1 byte) | count (2 bytes) | { length (2 bytes) | message }*
+ * </pre>
+ * A message that does not fit into an empty batch is sent alone. The reading
+ * side unpacks every batch before the {@link InboundHandler} chain, so each
+ * handler still sees single messages. The wrapped channel has to return a
+ * {@link DatagramPacket}, a {@code byte[]} or a {@link ByteBuffer}, and
+ * unpacked messages are returned with the same type. Datagrams that are not
+ * a valid batch (another magic number or version, or lengths that do not
+ * add up to the datagram size) are passed through unchanged, because the
+ * group may also carry datagrams of other senders.
+ * <p>
+ * Batches that are flushed after the delay are written on a shared timer
+ * thread. If such a write fails, the error is passed to the
+ * {@linkplain #setErrorHandler(Consumer) error handler}, which
+ * {@link MulticastConnectionBase} links with its exception handlers.
+ * Without an error handler, the error is thrown by the next write.
+ * <pre>{@code
+ * setChannelFactory(BatchingMulticastChannel.wrap(MyChannel::new,
+ *         BatchingMulticastChannel.DEFAULT_PAYLOAD_SIZE, 200, TimeUnit.MICROSECONDS));
+ * }</pre>
+ *
+ * @see MulticastConnectionBase
+ * @since 1.0
+ */
+public class BatchingMulticastChannel implements MulticastChannel {
+
+    /**
+     * The default payload size: an Ethernet MTU of 1500 bytes minus the
+     * IPv4 and UDP headers.
+     */
+    public static final int DEFAULT_PAYLOAD_SIZE = 1472;
+
+    private static final short MAGIC         = 0x5842;
+    private static final byte  VERSION       = 1;
+    private static final int   COUNT_OFFSET  = 3;
+    private static final int   HEADER_SIZE   = 5;
+    private static final int   LENGTH_SIZE   = 2;
+    private static final int   MAX_DATAGRAM  = 65507;
+
+    /**
+     * A shared daemon thread that flushes batches whose delay has passed.
+     */
+    private static final ScheduledThreadPoolExecutor FLUSHER;
+
+    static {
+        FLUSHER = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "xtral-batch-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        FLUSHER.setRemoveOnCancelPolicy(true);
+    }
+
+    private final MulticastChannel delegate;
+    private final int              payloadSize;
+    private final long             flushDelayNanos;
+
+    private final ReentrantLock     lock    = new ReentrantLock();
+    private final ArrayDeque<Object> inbound = new ArrayDeque<>();
+
+    // Guarded by lock
+    private final ByteBuffer         batch;
+    private       int                count;
+    private       long               generation;
+    private       ScheduledFuture<?> flushTask;
+    private       MulticastSocket    socket;
+    private       IOException        flushError;
+
+    private volatile Consumer<? super IOException> errorHandler;
+
+    /**
+     * Creates a new batching channel.
+     *
+     * @param delegate the wrapped channel
+     * @param payloadSize the maximum size of a batch datagram
+     * @param flushDelay the maximum time a message waits for other messages
+     * @param unit the time unit of the flush delay
+     * @throws IllegalArgumentException if the payload size is out of range
+     *                                  or the delay is negative
+     */
+    public BatchingMulticastChannel(MulticastChannel delegate, int payloadSize,
+                                    long flushDelay, TimeUnit unit) {
+        if (payloadSize <= HEADER_SIZE + LENGTH_SIZE || payloadSize > MAX_DATAGRAM) {
+            throw new IllegalArgumentException("Invalid payload size: " + payloadSize);
+        }
+        if (flushDelay < 0) {
+            throw new IllegalArgumentException("Invalid flush delay: " + flushDelay);
+        }
+        this.delegate        = Objects.requireNonNull(delegate);
+        this.payloadSize     = payloadSize;
+        this.flushDelayNanos = unit.toNanos(flushDelay);
+        this.batch           = ByteBuffer.allocate(payloadSize);
+        resetBatch();
+    }
+
+    /**
+     * Returns a factory that wraps every channel created by the given factory
+     * into a {@code BatchingMulticastChannel}.
+     *
+     * @param factory the factory of the wrapped channels
+     * @param payloadSize the maximum size of a batch datagram
+     * @param flushDelay the maximum time a message waits for other messages
+     * @param unit the time unit of the flush delay
+     * @return a factory of batching channels
+     */
+    public static ChannelFactory<MulticastSocket> wrap(ChannelFactory<MulticastSocket> factory,
+                                                       int payloadSize, long flushDelay,
+                                                       TimeUnit unit) {
+        Objects.requireNonNull(factory);
+        return () -> new BatchingMulticastChannel((MulticastChannel) factory.createChannel(),
+                                                  payloadSize, flushDelay, unit);
+    }
+
+    /**
+     * Adds the given message to the current batch. The batch is written if
+     * the message does not fit anymore; otherwise it is written by
+     * {@link #flush()} or after the flush delay.
+     *
+     * @param socket {@inheritDoc}
+     * @param obj a {@code byte[]} or {@link ByteBuffer}
+     * @throws IOException if an I/O error occurs, if the previous delayed
+     *                     flush failed or if the message type is not
+     *                     supported
+     */
+    @Override
+    public void write(MulticastSocket socket, Object obj) throws IOException {
+        ByteBuffer message = toBuffer(obj);
+        int        length  = message.remaining();
+        if (length > MAX_DATAGRAM - HEADER_SIZE - LENGTH_SIZE) {
+            throw new IOException("Message too large: " + length);
+        }
+
+        lock.lock();
+        try {
+            this.socket = socket;
+            IOException error = flushError;
+            if (error != null) {
+                flushError = null;
+                throw error;
+            }
+
+            if (LENGTH_SIZE + length > batch.remaining()) {
+                flushBatch();
+            }
+            if (LENGTH_SIZE + length > batch.remaining()) {
+                // Larger than an empty batch: sent alone and possibly
+                // fragmented by the IP layer
+                ByteBuffer single = ByteBuffer.allocate(HEADER_SIZE + LENGTH_SIZE + length);
+                single.putShort(MAGIC).put(VERSION).putShort((short) 1)
+                      .putShort((short) length).put(message);
+                delegate.write(socket, single.array());
+                return;
+            }
+
+            batch.putShort((short) length).put(message);
+            if (++count == 1 && flushDelayNanos > 0) {
+                long gen = generation;
+                flushTask = FLUSHER.schedule(() -> flushDelayed(gen),
+                                             flushDelayNanos, TimeUnit.NANOSECONDS);
+            }
+            if (flushDelayNanos == 0 || batch.remaining() <= LENGTH_SIZE) {
+                flushBatch();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sets the handler that receives the errors of batches written after the
+     * flush delay. The handler is called on the timer thread.
+     *
+     * @param errorHandler the error handler or {@code null} to throw the
+     *         error on the next write
+     */
+    public void setErrorHandler(Consumer<? super IOException> errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * Writes the current batch immediately.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void flush() throws IOException {
+        lock.lock();
+        try {
+            flushBatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the next message. Batches are unpacked and their messages are
+     * returned one by one with subsequent calls.
+     *
+     * @param socket {@inheritDoc}
+     * @return the next message or {@code null} if the wrapped channel
+     *         returned {@code null}
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public Object read(MulticastSocket socket) throws IOException {
+        Object next = inbound.poll();
+        if (next != null) {
+            return next;
+        }
+
+        Object obj = delegate.read(socket);
+        if (obj == null) {
+            return null;
+        }
+        ByteBuffer data = toBuffer(obj);
+        if (!isBatch(data)) {
+            return obj;
+        }
+
+        int n        = Short.toUnsignedInt(data.getShort(data.position() + COUNT_OFFSET));
+        int position = data.position() + HEADER_SIZE;
+        for (int i = 0; i < n; i++) {
+            int length = Short.toUnsignedInt(data.getShort(position));
+            position += LENGTH_SIZE;
+            inbound.add(slice(obj, data, position, length));
+            position += length;
+        }
+        return inbound.poll();
+    }
+
+    // Returns true if the given datagram has the header of a batch and its
+    // message lengths exactly cover the datagram.
+    private static boolean isBatch(ByteBuffer data) {
+        int start = data.position();
+        int limit = data.limit();
+        if (limit - start < HEADER_SIZE
+                || data.getShort(start) != MAGIC
+                || data.get(start + 2) != VERSION) {
+            return false;
+        }
+        int n = Short.toUnsignedInt(data.getShort(start + COUNT_OFFSET));
+        if (n == 0) {
+            return false;
+        }
+        int position = start + HEADER_SIZE;
+        for (int i = 0; i < n; i++) {
+            if (position + LENGTH_SIZE > limit) {
+                return false;
+            }
+            position += LENGTH_SIZE + Short.toUnsignedInt(data.getShort(position));
+        }
+        return position == limit;
+    }
+
+    // Returns the message with the type of the received object. Messages of
+    // a DatagramPacket or ByteBuffer share the received array.
+    private static Object slice(Object obj, ByteBuffer data, int position, int length) {
+        if (obj instanceof DatagramPacket) {
+            DatagramPacket packet = (DatagramPacket) obj;
+            SocketAddress  sender = packet.getSocketAddress();
+            int offset = data.arrayOffset() + position;
+            return sender == null
+                    ? new DatagramPacket(data.array(), offset, length)
+                    : new DatagramPacket(data.array(), offset, length, sender);
+        }
+        if (obj instanceof byte[]) {
+            return Arrays.copyOfRange((byte[]) obj, position, position + length);
+        }
+        return data.slice(position, length);
+    }
+
+    private void flushDelayed(long gen) {
+        IOException error = null;
+        lock.lock();
+        try {
+            if (gen == generation) {
+                flushBatch();
+            }
+        } catch (IOException e) {
+            error = e;
+        } finally {
+            lock.unlock();
+        }
+
+        if (error != null) {
+            Consumer<? super IOException> handler = errorHandler;
+            if (handler != null) {
+                // Called outside the lock, the handler may write again
+                handler.accept(error);
+            } else {
+                lock.lock();
+                try {
+                    flushError = error;
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    // Caller must hold the lock
+    private void flushBatch() throws IOException {
+        if (count == 0) {
+            return;
+        }
+        batch.putShort(COUNT_OFFSET, (short) count);
+        byte[] datagram = Arrays.copyOf(batch.array(), batch.position());
+        MulticastSocket target = socket;
+        resetBatch();
+        delegate.write(target, datagram);
+    }
+
+    // Caller must hold the lock
+    private void resetBatch() {
+        generation++;
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+        count = 0;
+        batch.clear();
+        batch.putShort(MAGIC).put(VERSION).putShort((short) 0);
+    }
+
+    private static ByteBuffer toBuffer(Object obj) throws IOException {
+        if (obj instanceof ByteBuffer) {
+            return ((ByteBuffer) obj).duplicate();
+        }
+        if (obj instanceof byte[]) {
+            return ByteBuffer.wrap((byte[]) obj);
+        }
+        if (obj instanceof DatagramPacket) {
+            DatagramPacket packet = (DatagramPacket) obj;
+            return ByteBuffer.wrap(packet.getData(), packet.getOffset(), packet.getLength());
+        }
+        throw new IOException("Invalid type: " + (obj == null ? "null" : obj.getClass().getName()));
+    }
+
+    /**
+     * Returns the wrapped channel.
+     *
+     * @return the wrapped channel
+     */
+    public MulticastChannel getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Returns the maximum size of a batch datagram.
+     *
+     * @return the payload size in bytes
+     */
+    public int getPayloadSize() {
+        return payloadSize;
+    }
+
+    /**
+     * Writes the pending batch and closes the wrapped channel.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            delegate.close();
+        }
+    }
+
+    @Override
+    public void joinGroup(MulticastSocket socket, InetAddress address) throws IOException {
+        delegate.joinGroup(socket, address);
+    }
+
+    @Override
+    public void joinGroup(MulticastSocket socket, SocketAddress group, NetworkInterface netiface)
+            throws IOException {
+        delegate.joinGroup(socket, group, netiface);
+    }
+
+    @Override
+    public void leaveGroup(MulticastSocket socket, SocketAddress group, NetworkInterface iface)
+            throws IOException {
+        delegate.leaveGroup(socket, group, iface);
+    }
+
+    @Override
+    public void leaveGroup(MulticastSocket socket, InetAddress address) throws IOException {
+        delegate.leaveGroup(socket, address);
+    }
+
+    @Override
+    public <T> void setOption(ChannelOption<T> option, T value) throws IOException {
+        delegate.setOption(option, value);
+    }
+
+    @Override
+    public <T> T getOption(ChannelOption<T> option) throws IOException {
+        return delegate.getOption(option);
+    }
+
+    @Override
+    public Set<ChannelOption<?>> getOptions() {
+        return delegate.getOptions();
+    }
+
+    @Override
+    public Stream<ChannelOption<?>> options() {
+        return delegate.options();
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.multicast; //@date 18.10.2026
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.Arrays;
+
+/**
+ * A reusable batch of datagrams received by a {@link NioMulticastChannel}
+ * in batch mode.
+ * <p>
+ * All datagrams of a batch are received into one direct buffer, so draining
+ * a socket does not allocate any objects apart from sender addresses that
+ * the {@code DatagramChannel} does not cache. The batch and the buffers
+ * returned by {@link #payload(int)} are only valid until the next read of
+ * the channel; handlers that keep data must copy it.
+ * <p>
+ * Inbound handlers that declare a {@code DatagramBatch} parameter receive
+ * the whole batch with a single invocation:
+ * <pre>{@code
+ * @InboundHandler
+ * public void onBatch(DatagramBatch batch) {
+ *     for (int i = 0; i < batch.size(); i++) {
+ *         ByteBuffer payload = batch.payload(i);
+ *         ...
+ *     }
+ * }
+ * }</pre>
+ *
+ * @see NioMulticastChannel#setBatchSize(int)
+ * @since 1.0
+ */
+public final class DatagramBatch {
+
+    private final ByteBuffer      buffer;
+    private final ByteBuffer      view;
+    private final int             datagramSize;
+    private final int[]           offsets;
+    private final int[]           lengths;
+    private final SocketAddress[] sources;
+
+    private int size;
+
+    /**
+     * Creates a new batch.
+     *
+     * @param capacity the maximum number of datagrams
+     * @param datagramSize the maximum size of a single datagram
+     */
+    DatagramBatch(int capacity, int datagramSize) {
+        if (capacity <= 0 || datagramSize <= 0
+                || (long) capacity * datagramSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid batch size: " + capacity);
+        }
+        this.buffer       = ByteBuffer.allocateDirect(capacity * datagramSize);
+        this.view         = buffer.duplicate();
+        this.datagramSize = datagramSize;
+        this.offsets      = new int[capacity];
+        this.lengths      = new int[capacity];
+        this.sources      = new SocketAddress[capacity];
+    }
+
+    /**
+     * Receives all datagrams that are queued on the given channel, up to the
+     * capacity of this batch. A channel in blocking mode delivers a single
+     * datagram per call.
+     *
+     * @param channel the channel to drain
+     * @return the number of received datagrams
+     * @throws IOException if an I/O error occurs
+     */
+    int drain(DatagramChannel channel) throws IOException {
+        clear();
+        boolean blocking = channel.isBlocking();
+        int position = 0;
+        while (size < offsets.length) {
+            buffer.limit(position + datagramSize).position(position);
+            SocketAddress source = channel.receive(buffer);
+            if (source == null) {
+                break;
+            }
+            offsets[size] = position;
+            lengths[size] = buffer.position() - position;
+            sources[size] = source;
+            size++;
+            position += datagramSize;
+            if (blocking) {
+                break;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of datagrams in this batch.
+     *
+     * @return the number of datagrams
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the maximum number of datagrams of this batch.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return offsets.length;
+    }
+
+    /**
+     * Returns the payload of the datagram at the given index.
+     * <p>
+     * The returned buffer is shared by all calls to this method, so it is
+     * only valid until the next call.
+     *
+     * @param index the index of the datagram
+     * @return a buffer positioned at the payload
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public ByteBuffer payload(int index) {
+        checkIndex(index);
+        view.limit(offsets[index] + lengths[index]).position(offsets[index]);
+        return view;
+    }
+
+    /**
+     * Returns the length of the datagram at the given index.
+     *
+     * @param index the index of the datagram
+     * @return the payload length in bytes
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public int length(int index) {
+        checkIndex(index);
+        return lengths[index];
+    }
+
+    /**
+     * Returns the sender of the datagram at the given index.
+     *
+     * @param index the index of the datagram
+     * @return the sender address
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public SocketAddress source(int index) {
+        checkIndex(index);
+        return sources[index];
+    }
+
+    private void clear() {
+        Arrays.fill(sources, 0, size, null);
+        size = 0;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DatagramBatch[size=" + size + ", capacity=" + offsets.length + "]";
+    }
+}
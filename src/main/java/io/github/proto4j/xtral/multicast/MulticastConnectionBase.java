@@ -24,6 +24,7 @@
 
 package io.github.proto4j.xtral.multicast; //@date 18.09.2022
 
+import io.github.proto4j.xtral.annotation.ExceptionHandler;
 import io.github.proto4j.xtral.io.ConnectionBase;
 
 import java.io.IOException;
@@ -75,6 +76,13 @@ public abstract class MulticastConnectionBase extends ConnectionBase<MulticastSo
         }
         setSocket((MulticastSocket) socket);
         setChannel();
+
+        MulticastChannel channel = getChannel();
+        if (channel instanceof BatchingMulticastChannel) {
+            // Report failed delayed flushes when they happen
+            ((BatchingMulticastChannel) channel).setErrorHandler(
+                    e -> notifyChange(ExceptionHandler.class, e, this, channel));
+        }
     }
 
     /**
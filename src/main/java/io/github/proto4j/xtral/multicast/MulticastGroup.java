@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.multicast; //@date 18.10.2026
+
+import java.net.InetAddress;
+import java.util.Objects;
+
+/**
+ * The multicast group a message was received from.
+ * <p>
+ * Connections that receive datagrams of several groups, such as the
+ * {@link NioMultiGroupConnectionBase}, pass the group of each message as an
+ * additional argument to the inbound handlers. Handlers can declare a
+ * parameter of this type to receive it:
+ * <pre>{@code
+ * @InboundHandler
+ * public void onMessage(ByteBuffer message, MulticastGroup group) {
+ *     //...
+ * }
+ * }</pre>
+ *
+ * @see io.github.proto4j.xtral.annotation.InboundHandler#groups()
+ * @since 1.0
+ */
+public final class MulticastGroup {
+
+    private final InetAddress address;
+    private final int         port;
+
+    /**
+     * Creates a new group descriptor.
+     *
+     * @param address the multicast address of the group
+     * @param port the port datagrams of the group are received on
+     */
+    public MulticastGroup(InetAddress address, int port) {
+        this.address = Objects.requireNonNull(address);
+        this.port    = port;
+    }
+
+    /**
+     * Returns the multicast address of this group.
+     *
+     * @return the group address
+     */
+    public InetAddress getAddress() {
+        return address;
+    }
+
+    /**
+     * Returns the port datagrams of this group are received on.
+     *
+     * @return the port
+     */
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param obj {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof MulticastGroup) {
+            MulticastGroup other = (MulticastGroup) obj;
+            return other.port == port && other.address.equals(address);
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return 31 * address.hashCode() + port;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return address.getHostAddress() + ":" + port;
+    }
+}
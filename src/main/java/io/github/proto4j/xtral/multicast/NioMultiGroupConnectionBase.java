@@ -0,0 +1,384 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.multicast; //@date 18.10.2026
+
+import io.github.proto4j.xtral.annotation.InboundHandler;
+
+import java.io.IOException;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ProtocolFamily;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.MembershipKey;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A multicast connection that receives the datagrams of many groups with a
+ * single reader and a single handler chain.
+ * <p>
+ * Java does not expose the destination address of a received datagram
+ * ({@code IP_PKTINFO}), so every joined group gets its own receive socket
+ * that is bound to the group address and registered with a selector shared
+ * by all groups. {@link #readObject()} waits on that selector and reads the
+ * ready sockets in turn, so the group of every message is known. The group
+ * is passed as a {@link MulticastGroup} to the inbound handlers, and
+ * handlers can be restricted to certain groups:
+ * <pre>{@code
+ * @InboundHandler(groups = {"239.1.1.1", "239.1.1.2"})
+ * public void onQuote(ByteBuffer message, MulticastGroup group) {
+ *     //...
+ * }
+ * }</pre>
+ * Messages are sent with a separate socket to the group given to
+ * {@link #doConnect(InetAddress, int)}.
+ * <p>
+ * Binding to a multicast address is supported on Linux and macOS. On other
+ * platforms the receive sockets are bound to the wildcard address, and the
+ * groups must use distinct ports to be told apart.
+ * <p>
+ * The sockets of this connection are managed internally, therefore it can
+ * neither be registered with another selector nor be read by a
+ * {@link ShardedMulticastReceiver}.
+ *
+ * @see MulticastGroup
+ * @see InboundHandler#groups()
+ * @since 1.0
+ */
+public abstract class NioMultiGroupConnectionBase extends NioMulticastConnectionBase {
+
+    private final Map<InetAddress, SelectionKey> groups = new ConcurrentHashMap<>();
+
+    // Selected keys that may have more datagrams queued, and the group of
+    // the last received datagram. Only accessed by the reading thread while
+    // holding the read lock of the connection.
+    private final ArrayDeque<SelectionKey> ready = new ArrayDeque<>();
+    private       MulticastGroup           current;
+
+    private volatile Selector selector;
+    private volatile int      port;
+
+    /**
+     * Opens the selector and the socket used for sending, and joins the
+     * given multicast group.
+     *
+     * @param address the first multicast group and the destination of sent
+     *         messages
+     * @param port the default port of joined groups and the port to send to
+     * @throws IOException {@inheritDoc}
+     */
+    @Override
+    public synchronized void doConnect(InetAddress address, int port)
+            throws IOException {
+        Objects.requireNonNull(address);
+        Objects.requireNonNull(getConfiguration());
+        Objects.requireNonNull(getChannelFactory());
+        if (!initialized || closed) {
+            throw new IOException("Connection not initialized!");
+        }
+        if (!address.isMulticastAddress()) {
+            throw new IOException("Not a multicast address: " + address);
+        }
+
+        if (getSocket() == null) {
+            DatagramChannel channel = DatagramChannel.open(familyOf(address));
+            try {
+                channel.setOption(StandardSocketOptions.IP_MULTICAST_IF, getNetworkInterface());
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+            setSocket(channel);
+        }
+        setChannel();
+        if (selector == null) {
+            selector = Selector.open();
+        }
+        this.port = port;
+
+        NioMulticastChannel channel = getChannel();
+        channel.setBatchSize(getConfiguration().getReceiveBatchSize());
+        joinGroup(address, port);
+        channel.setDestination(new InetSocketAddress(address, port));
+    }
+
+    /**
+     * Joins the given multicast group on the port given to
+     * {@link #doConnect(InetAddress, int)}.
+     *
+     * @param group the multicast address to join
+     * @return the membership keys
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public List<MembershipKey> joinGroup(InetAddress group) throws IOException {
+        return joinGroup(group, port);
+    }
+
+    /**
+     * Opens a receive socket for the given multicast group on the given port
+     * and joins the group with the source filters of the configuration.
+     *
+     * @param group the multicast address to join
+     * @param port the port to receive datagrams of the group on
+     * @return the membership keys
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if the group was already joined
+     */
+    public List<MembershipKey> joinGroup(InetAddress group, int port) throws IOException {
+        DatagramChannel socket = open(group, port);
+        try {
+            return join(socket, group);
+        } catch (IOException | RuntimeException e) {
+            leaveGroup(group);
+            throw e;
+        }
+    }
+
+    /**
+     * Joins the given multicast group to receive datagrams of the given
+     * source only. If the group has not been joined before, a receive
+     * socket is opened on the port given to {@link #doConnect(InetAddress, int)}.
+     *
+     * @param group the multicast address to join
+     * @param source the address of the sender
+     * @return the membership key
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public MembershipKey joinGroup(InetAddress group, InetAddress source) throws IOException {
+        SelectionKey    key    = groups.get(group);
+        DatagramChannel socket = key != null
+                ? (DatagramChannel) key.channel()
+                : open(group, port);
+        return getChannel().join(socket, group, getNetworkInterface(), source);
+    }
+
+    /**
+     * Leaves the given multicast group and closes its receive socket.
+     *
+     * @param group the multicast address to leave
+     */
+    @Override
+    public void leaveGroup(InetAddress group) {
+        getChannel().leave(group);
+        SelectionKey key = groups.remove(group);
+        if (key != null) {
+            key.cancel();
+            try {
+                key.channel().close();
+            } catch (IOException e) {
+                // The socket is no longer used
+            }
+        }
+    }
+
+    /**
+     * Returns the groups that have been joined by this connection.
+     *
+     * @return an unmodifiable set of the joined groups
+     */
+    public Set<MulticastGroup> getGroups() {
+        Set<MulticastGroup> result = new HashSet<>();
+        for (SelectionKey key : groups.values()) {
+            result.add((MulticastGroup) key.attachment());
+        }
+        return Set.copyOf(result);
+    }
+
+    /**
+     * Waits until a datagram of any joined group is available and receives
+     * it. Ready groups are read in turn, one datagram per call; the
+     * datagrams of a received batch are returned before the next group is
+     * read.
+     *
+     * @return the object that was received or {@code null} if the connection
+     *         was closed while waiting
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    protected Object receive() throws IOException {
+        NioMulticastChannel channel = getChannel();
+        try {
+            Object next = nextDatagram();
+            if (next != null) {
+                return next;
+            }
+            for (;;) {
+                SelectionKey key = ready.poll();
+                if (key == null) {
+                    if (!select()) {
+                        return null;
+                    }
+                    continue;
+                }
+                if (!key.isValid()) {
+                    continue;
+                }
+                Object obj = channel.read((DatagramChannel) key.channel());
+                if (obj == null) {
+                    // The socket has been drained
+                    continue;
+                }
+                // Read the other ready groups first to prevent a busy
+                // group from starving the others.
+                ready.add(key);
+                current = (MulticastGroup) key.attachment();
+                obj     = unbatch(obj);
+                if (obj != null) {
+                    return obj;
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            if (closed) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the default arguments followed by the {@link MulticastGroup}
+     * of the received datagram, which is used to select the handlers of the
+     * group.
+     *
+     * @param obj {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    protected Object[] inboundArguments(Object obj) {
+        return new Object[] {obj, this, getChannel(), current};
+    }
+
+    /**
+     * This connection manages its own selector.
+     *
+     * @param selector the selector
+     * @param attachment the attachment
+     * @return never
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public SelectionKey register(Selector selector, Object attachment) {
+        throw new UnsupportedOperationException("Groups are read by readObject()");
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IOException {@inheritDoc}
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (isClosed()) {
+            return;
+        }
+        try {
+            super.close();
+        } finally {
+            for (SelectionKey key : groups.values()) {
+                key.channel().close();
+            }
+            groups.clear();
+            Selector s = selector;
+            if (s != null) {
+                s.close();
+            }
+        }
+    }
+
+    // Waits for ready groups and moves their keys into the ready queue.
+    // Returns false if the selector has been closed.
+    private boolean select() throws IOException {
+        Selector s = selector;
+        if (s == null || !s.isOpen()) {
+            return false;
+        }
+        s.select();
+        if (!s.isOpen()) {
+            return false;
+        }
+        Set<SelectionKey> keys = s.selectedKeys();
+        ready.addAll(keys);
+        keys.clear();
+        return true;
+    }
+
+    private DatagramChannel open(InetAddress group, int port) throws IOException {
+        Objects.requireNonNull(group);
+        Selector s = selector;
+        if (s == null) {
+            throw new ClosedChannelException();
+        }
+        if (!group.isMulticastAddress()) {
+            throw new IOException("Not a multicast address: " + group);
+        }
+        if (groups.containsKey(group)) {
+            throw new IllegalStateException("Group already joined: " + group);
+        }
+
+        DatagramChannel socket = DatagramChannel.open(familyOf(group));
+        try {
+            socket.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            try {
+                // Only datagrams sent to the group are delivered to a socket
+                // bound to the group address.
+                socket.bind(new InetSocketAddress(group, port));
+            } catch (IOException e) {
+                socket.bind(new InetSocketAddress(port));
+            }
+            socket.configureBlocking(false);
+
+            SelectionKey key = socket.register(s, SelectionKey.OP_READ,
+                    new MulticastGroup(group, port));
+            if (groups.putIfAbsent(group, key) != null) {
+                throw new IllegalStateException("Group already joined: " + group);
+            }
+            s.wakeup();
+        } catch (IOException | RuntimeException e) {
+            socket.close();
+            throw e;
+        }
+        return socket;
+    }
+
+    private static ProtocolFamily familyOf(InetAddress address) {
+        return address instanceof Inet6Address
+                ? StandardProtocolFamily.INET6
+                : StandardProtocolFamily.INET;
+    }
+}
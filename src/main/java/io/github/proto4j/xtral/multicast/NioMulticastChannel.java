@@ -0,0 +1,383 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.multicast; //@date 18.10.2026
+
+import io.github.proto4j.xtral.io.channel.AbstractChannel;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+import java.net.SocketAddress;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.MembershipKey;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A channel for multicast communication over a {@link DatagramChannel}.
+ * <p>
+ * In contrast to a {@link MulticastChannel}, this channel does not create
+ * any objects per datagram: datagrams are received into and sent from
+ * direct buffers that are allocated once, and the destination address is
+ * stored in a field instead of a {@code ChannelOption}. Subclasses convert
+ * between messages and datagrams with {@link #encode(Object, ByteBuffer)}
+ * and {@link #decode(SocketAddress, ByteBuffer)}.
+ * <p>
+ * {@link #read(DatagramChannel)} returns {@code null} if the channel is in
+ * non-blocking mode and no datagram is available, which makes it usable
+ * in selector-driven event loops (see
+ * {@link NioMulticastConnectionBase#register(java.nio.channels.Selector, Object)}).
+ * <p>
+ * In batch mode (see {@link #setBatchSize(int)}), a read drains all queued
+ * datagrams up to the batch size and returns them as a {@link DatagramBatch}.
+ *
+ * @see NioMulticastConnectionBase
+ * @since 1.0
+ */
+public class NioMulticastChannel extends AbstractChannel<DatagramChannel> {
+
+    /**
+     * The maximum payload of an IPv4 UDP datagram.
+     */
+    public static final int MAX_DATAGRAM_SIZE = 65507;
+
+    private final ByteBuffer receiveBuffer;
+    private final ByteBuffer sendBuffer;
+    private final int        bufferSize;
+
+    private DatagramBatch batch;
+
+    private final List<MembershipKey> memberships = new CopyOnWriteArrayList<>();
+
+    private volatile SocketAddress destination;
+
+    /**
+     * Creates a new channel with buffers that can hold the largest possible
+     * datagram.
+     */
+    public NioMulticastChannel() {
+        this(MAX_DATAGRAM_SIZE);
+    }
+
+    /**
+     * Creates a new channel with buffers of the given size. Datagrams that
+     * are larger than the buffer are truncated on receive.
+     *
+     * @param bufferSize the size of the receive and send buffer
+     */
+    public NioMulticastChannel(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Invalid buffer size: " + bufferSize);
+        }
+        this.bufferSize    = bufferSize;
+        this.receiveBuffer = ByteBuffer.allocateDirect(bufferSize);
+        this.sendBuffer    = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * Writes the given message as a single datagram to the destination
+     * address of this channel.
+     *
+     * @param socket {@inheritDoc}
+     * @param obj {@inheritDoc}
+     * @throws IOException {@inheritDoc}
+     */
+    @Override
+    public void write(DatagramChannel socket, Object obj) throws IOException {
+        if (isClosed()) {
+            throw new IOException("Channel closed");
+        }
+        SocketAddress target = destination;
+        if (target == null && !socket.isConnected()) {
+            throw new IOException("Destination == null");
+        }
+
+        ByteBuffer buffer = sendBuffer;
+        buffer.clear();
+        encode(obj, buffer);
+        buffer.flip();
+        if (target == null) {
+            socket.write(buffer);
+        } else {
+            socket.send(buffer, target);
+        }
+    }
+
+    /**
+     * Receives the next datagram and converts it with
+     * {@link #decode(SocketAddress, ByteBuffer)}.
+     * <p>
+     * In batch mode, all queued datagrams are received up to the batch size
+     * and returned without decoding as a {@link DatagramBatch}.
+     *
+     * @param socket {@inheritDoc}
+     * @return the decoded message, the received batch or {@code null} if the
+     *         channel is in non-blocking mode and no datagram is available
+     * @throws IOException {@inheritDoc}
+     */
+    @Override
+    public Object read(DatagramChannel socket) throws IOException {
+        if (isClosed()) {
+            throw new IOException("Channel closed");
+        }
+        DatagramBatch b = batch;
+        if (b != null) {
+            return b.drain(socket) > 0 ? b : null;
+        }
+        ByteBuffer buffer = receiveBuffer;
+        buffer.clear();
+        SocketAddress source = socket.receive(buffer);
+        if (source == null) {
+            return null;
+        }
+        buffer.flip();
+        return decode(source, buffer);
+    }
+
+    /**
+     * Writes the given message into the send buffer.
+     * <p>
+     * The default implementation accepts {@code byte[]} and {@link ByteBuffer}
+     * messages.
+     *
+     * @param message the message to be sent
+     * @param dst the cleared send buffer
+     * @throws IOException if the message type is not supported or the message
+     *                     does not fit into the buffer
+     */
+    protected void encode(Object message, ByteBuffer dst) throws IOException {
+        try {
+            if (message instanceof byte[]) {
+                dst.put((byte[]) message);
+            } else if (message instanceof ByteBuffer) {
+                dst.put(((ByteBuffer) message).duplicate());
+            } else {
+                throw new IOException("Invalid type: " + message.getClass().getName());
+            }
+        } catch (BufferOverflowException e) {
+            throw new IOException("Message too large", e);
+        }
+    }
+
+    /**
+     * Converts a received datagram into a message.
+     * <p>
+     * The default implementation returns the receive buffer itself. Its
+     * content is only valid until the next call to {@link #read(DatagramChannel)},
+     * so handlers that keep the data must copy it. If ordered execution is
+     * enabled, the connection copies the buffer before queuing it. Subclasses
+     * usually parse the datagram in place to avoid any allocation.
+     *
+     * @param source the address of the sender
+     * @param src the flipped receive buffer
+     * @return the message
+     * @throws IOException if the datagram could not be decoded
+     */
+    protected Object decode(SocketAddress source, ByteBuffer src) throws IOException {
+        return src;
+    }
+
+    /**
+     * Sets the maximum number of datagrams received with a single read.
+     * <p>
+     * A value greater than {@code 1} enables batch mode: reads drain the
+     * socket and return a reusable {@link DatagramBatch}. Draining more than
+     * one datagram per read requires a channel in non-blocking mode. The
+     * batch allocates {@code batchSize} times the buffer size of this
+     * channel once, so the buffer size should match the largest expected
+     * datagram.
+     *
+     * @param batchSize the batch size or {@code 1} to disable batch mode
+     * @throws IllegalArgumentException if the batch size is not positive
+     */
+    public synchronized void setBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Invalid batch size: " + batchSize);
+        }
+        if (batchSize == 1) {
+            batch = null;
+        } else if (batch == null || batch.capacity() != batchSize) {
+            batch = new DatagramBatch(batchSize, bufferSize);
+        }
+    }
+
+    /**
+     * Returns the maximum number of datagrams received with a single read.
+     *
+     * @return the batch size, {@code 1} if batch mode is disabled
+     */
+    public synchronized int getBatchSize() {
+        return batch == null ? 1 : batch.capacity();
+    }
+
+    /**
+     * Joins the given multicast group on the given interface.
+     *
+     * @param socket the channel which should join the group
+     * @param group the multicast address to join
+     * @param networkInterface the network interface on which to join
+     * @return the membership key
+     * @throws IOException if an I/O error occurs
+     */
+    public MembershipKey join(DatagramChannel socket, InetAddress group,
+                              NetworkInterface networkInterface) throws IOException {
+        MembershipKey key = socket.join(group, networkInterface);
+        if (!memberships.contains(key)) {
+            memberships.add(key);
+        }
+        return key;
+    }
+
+    /**
+     * Joins the given multicast group on the given interface to receive
+     * datagrams of the given source only (source-specific multicast). The
+     * operating system drops datagrams of other sources, so they never reach
+     * the socket.
+     *
+     * @param socket the channel which should join the group
+     * @param group the multicast address to join
+     * @param networkInterface the network interface on which to join
+     * @param source the address of the sender to receive datagrams from
+     * @return the membership key
+     * @throws IOException if an I/O error occurs
+     * @throws UnsupportedOperationException if the platform does not support
+     *                                       source-specific multicast
+     */
+    public MembershipKey join(DatagramChannel socket, InetAddress group,
+                              NetworkInterface networkInterface, InetAddress source)
+            throws IOException {
+        MembershipKey key = socket.join(group, networkInterface, source);
+        if (!memberships.contains(key)) {
+            memberships.add(key);
+        }
+        return key;
+    }
+
+    /**
+     * Blocks datagrams of the given source on all any-source memberships of
+     * the given group.
+     *
+     * @param group the joined multicast address
+     * @param source the address of the sender to block
+     * @throws IOException           if an I/O error occurs
+     * @throws IllegalStateException if the group was not joined for any
+     *                               source
+     */
+    public void block(InetAddress group, InetAddress source) throws IOException {
+        boolean found = false;
+        for (MembershipKey key : memberships) {
+            if (key.group().equals(group) && key.sourceAddress() == null) {
+                key.block(source);
+                found = true;
+            }
+        }
+        if (!found) {
+            throw new IllegalStateException("Group not joined for any source: " + group);
+        }
+    }
+
+    /**
+     * Unblocks datagrams of the given source on all any-source memberships
+     * of the given group.
+     *
+     * @param group the joined multicast address
+     * @param source the address of the sender to unblock
+     */
+    public void unblock(InetAddress group, InetAddress source) {
+        for (MembershipKey key : memberships) {
+            if (key.group().equals(group) && key.sourceAddress() == null) {
+                key.unblock(source);
+            }
+        }
+    }
+
+    /**
+     * Leaves the given multicast group on all interfaces it was joined on.
+     *
+     * @param group the multicast address to leave
+     */
+    public void leave(InetAddress group) {
+        for (MembershipKey key : memberships) {
+            if (key.group().equals(group)) {
+                key.drop();
+                memberships.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Returns the memberships of this channel.
+     *
+     * @return an unmodifiable list of the membership keys
+     */
+    public List<MembershipKey> getMemberships() {
+        return List.copyOf(memberships);
+    }
+
+    /**
+     * Returns the size of the receive and send buffer.
+     *
+     * @return the maximum datagram size in bytes
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Returns the address datagrams are sent to.
+     *
+     * @return the destination address or {@code null} if the underlying
+     *         channel is connected
+     */
+    public SocketAddress getDestination() {
+        return destination;
+    }
+
+    /**
+     * Sets the address datagrams are sent to.
+     *
+     * @param destination the destination address
+     */
+    public void setDestination(SocketAddress destination) {
+        this.destination = Objects.requireNonNull(destination);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IOException {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        for (MembershipKey key : memberships) {
+            key.drop();
+        }
+        memberships.clear();
+        super.close();
+    }
+}
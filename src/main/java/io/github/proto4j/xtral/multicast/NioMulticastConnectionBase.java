@@ -0,0 +1,479 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.multicast; //@date 18.10.2026
+
+import io.github.proto4j.xtral.annotation.ExceptionHandler;
+import io.github.proto4j.xtral.annotation.InboundHandler;
+import io.github.proto4j.xtral.io.CallableHandler;
+import io.github.proto4j.xtral.io.ConnectionBase;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.ProtocolFamily;
+import java.net.SocketException;
+import java.net.UnknownHostException;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.MembershipKey;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The base class for multicast connections that use a {@link DatagramChannel}
+ * instead of a {@link java.net.MulticastSocket}.
+ * <p>
+ * {@link #doConnect(InetAddress, int)} binds a new channel to the given port,
+ * joins the given multicast group on the network interface of the
+ * {@link XTralMulticastConfiguration} and uses the group as destination of
+ * sent messages. Source filters of the configuration are applied by the
+ * operating system through source-specific joins or blocked sources. The
+ * connection can either be read in a loop like other
+ * connections, or be registered with a {@link Selector}:
+ * <pre>{@code
+ * connection.doConnect(group, port);
+ * connection.register(selector, connection);
+ * while (selector.select() > 0) {
+ *     for (SelectionKey key : selector.selectedKeys()) {
+ *         ((NioMulticastConnectionBase) key.attachment()).readObject();
+ *     }
+ *     selector.selectedKeys().clear();
+ * }
+ * }</pre>
+ * The channel created by the configured {@code ChannelFactory} must be a
+ * {@link NioMulticastChannel}.
+ * <p>
+ * If the configuration defines a receive batch size greater than {@code 1},
+ * the socket is drained into a {@link DatagramBatch}, so the system call and
+ * the wake-up are paid once per batch. Inbound handlers that declare a
+ * {@code DatagramBatch} parameter are invoked once with the whole batch when
+ * it is received. Afterwards, {@link #readObject()} returns the datagrams of
+ * the batch one by one without touching the socket, and each of them passes
+ * the other inbound handlers like a single received datagram.
+ *
+ * @see NioMulticastChannel
+ * @since 1.0
+ */
+public abstract class NioMulticastConnectionBase extends ConnectionBase<DatagramChannel> {
+
+    private volatile NetworkInterface networkInterface;
+
+    private final ConcurrentMap<CallableHandler, Set<InetAddress>> groupFilters =
+            new ConcurrentHashMap<>();
+
+    /**
+     * The batch whose datagrams are returned by the next reads and the index
+     * of the next datagram (guarded by the read lock of this connection).
+     */
+    private DatagramBatch batch;
+    private int           batchIndex;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public synchronized NioMulticastChannel getChannel() {
+        return (NioMulticastChannel) super.getChannel();
+    }
+
+    /**
+     * Opens a new {@link DatagramChannel} bound to the given port and joins
+     * the given multicast group.
+     *
+     * @param address the multicast group
+     * @param port the port to bind to and to send to
+     * @throws IOException {@inheritDoc}
+     */
+    @Override
+    public synchronized void doConnect(InetAddress address, int port)
+            throws IOException {
+        Objects.requireNonNull(address);
+        Objects.requireNonNull(getConfiguration());
+        Objects.requireNonNull(getChannelFactory());
+        if (!initialized || closed) {
+            throw new IOException("Connection not initialized!");
+        }
+        if (!address.isMulticastAddress()) {
+            throw new IOException("Not a multicast address: " + address);
+        }
+
+        NetworkInterface ni = getNetworkInterface();
+        if (getSocket() == null) {
+            ProtocolFamily family = address instanceof Inet6Address
+                    ? StandardProtocolFamily.INET6
+                    : StandardProtocolFamily.INET;
+            DatagramChannel channel = DatagramChannel.open(family);
+            try {
+                channel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+                channel.bind(new InetSocketAddress(port));
+                channel.setOption(StandardSocketOptions.IP_MULTICAST_IF, ni);
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+            setSocket(channel);
+        }
+        setChannel();
+
+        NioMulticastChannel channel = getChannel();
+        channel.setBatchSize(getConfiguration().getReceiveBatchSize());
+        joinGroup(address);
+        channel.setDestination(new InetSocketAddress(address, port));
+    }
+
+    /**
+     * Joins another multicast group on the network interface of this
+     * connection.
+     * <p>
+     * If the configuration defines allowed sources, the group is joined for
+     * each of these sources only. Otherwise, the group is joined for any
+     * source and the blocked sources of the configuration are blocked.
+     *
+     * @param group the multicast address to join
+     * @return the membership keys
+     * @throws IOException if an I/O error occurs
+     * @see XTralMulticastConfiguration#getAllowedSources()
+     * @see XTralMulticastConfiguration#getBlockedSources()
+     */
+    public List<MembershipKey> joinGroup(InetAddress group) throws IOException {
+        return join(getSocket(), group);
+    }
+
+    /**
+     * Joins the given multicast group with the given socket and applies the
+     * source filters of the configuration.
+     *
+     * @param socket the socket which should join the group
+     * @param group the multicast address to join
+     * @return the membership keys
+     * @throws IOException if an I/O error occurs
+     */
+    protected List<MembershipKey> join(DatagramChannel socket, InetAddress group)
+            throws IOException {
+        NioMulticastChannel channel = getChannel();
+        NetworkInterface    ni      = getNetworkInterface();
+
+        Set<InetAddress> allowed = getConfiguration().getAllowedSources();
+        if (!allowed.isEmpty()) {
+            List<MembershipKey> keys = new ArrayList<>(allowed.size());
+            for (InetAddress source : allowed) {
+                keys.add(channel.join(socket, group, ni, source));
+            }
+            return keys;
+        }
+
+        MembershipKey key = channel.join(socket, group, ni);
+        for (InetAddress source : getConfiguration().getBlockedSources()) {
+            key.block(source);
+        }
+        return List.of(key);
+    }
+
+    /**
+     * Joins the given multicast group to receive datagrams of the given
+     * source only.
+     *
+     * @param group the multicast address to join
+     * @param source the address of the sender
+     * @return the membership key
+     * @throws IOException if an I/O error occurs
+     */
+    public MembershipKey joinGroup(InetAddress group, InetAddress source) throws IOException {
+        return getChannel().join(getSocket(), group, getNetworkInterface(), source);
+    }
+
+    /**
+     * Blocks datagrams of the given source in the given group. The group
+     * must have been joined for any source.
+     *
+     * @param group the joined multicast address
+     * @param source the address of the sender to block
+     * @throws IOException if an I/O error occurs
+     */
+    public void blockSource(InetAddress group, InetAddress source) throws IOException {
+        getChannel().block(group, source);
+    }
+
+    /**
+     * Unblocks datagrams of the given source in the given group.
+     *
+     * @param group the joined multicast address
+     * @param source the address of the sender to unblock
+     */
+    public void unblockSource(InetAddress group, InetAddress source) {
+        getChannel().unblock(group, source);
+    }
+
+    /**
+     * Leaves the given multicast group.
+     *
+     * @param group the multicast address to leave
+     */
+    public void leaveGroup(InetAddress group) {
+        getChannel().leave(group);
+    }
+
+    /**
+     * Switches the underlying channel to non-blocking mode and registers it
+     * for read events with the given selector.
+     * <p>
+     * In non-blocking mode, {@link #readObject()} returns {@code null} if no
+     * datagram is available.
+     *
+     * @param selector the selector
+     * @param attachment the attachment of the selection key, usually this
+     *         connection
+     * @return the selection key
+     * @throws IOException if the channel is closed or an I/O error occurs
+     */
+    public SelectionKey register(Selector selector, Object attachment) throws IOException {
+        DatagramChannel channel = getSocket();
+        if (channel == null) {
+            throw new ClosedChannelException();
+        }
+        channel.configureBlocking(false);
+        return channel.register(selector, SelectionKey.OP_READ, attachment);
+    }
+
+    /**
+     * Returns the network interface used for multicast. If the configuration
+     * does not define one, the first interface that is up and supports
+     * multicast is used.
+     *
+     * @return the network interface
+     * @throws IOException if no suitable interface exists
+     */
+    public NetworkInterface getNetworkInterface() throws IOException {
+        NetworkInterface ni = networkInterface;
+        if (ni == null) {
+            ni = getConfiguration().getNetworkInterface();
+            if (ni == null) {
+                ni = NetworkInterface.networkInterfaces()
+                        .filter(NioMulticastConnectionBase::isMulticastInterface)
+                        .findFirst()
+                        .orElseThrow(() -> new IOException("No multicast interface"));
+            }
+            networkInterface = ni;
+        }
+        return ni;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Datagrams of a {@link DatagramBatch} are returned one at a time by
+     * successive calls, the socket is only read again once the batch has been
+     * consumed.
+     *
+     * @return {@inheritDoc}
+     * @throws IOException {@inheritDoc}
+     */
+    @Override
+    protected Object receive() throws IOException {
+        Object next = nextDatagram();
+        return next != null ? next : unbatch(super.receive());
+    }
+
+    /**
+     * Starts to hand out the datagrams of the given object if it is a
+     * {@link DatagramBatch}, after the batch has been passed to the inbound
+     * handlers that declare a batch parameter. Other objects are returned
+     * as they are.
+     * <p>
+     * This method must be called with the read lock held, after the
+     * arguments returned by {@link #inboundArguments(Object)} are valid for
+     * the received object.
+     *
+     * @param obj the object returned by the channel
+     * @return the given object or the first datagram of the batch
+     * @throws IOException if the datagram could not be decoded
+     */
+    protected final Object unbatch(Object obj) throws IOException {
+        if (!(obj instanceof DatagramBatch)) {
+            return obj;
+        }
+        batch      = (DatagramBatch) obj;
+        batchIndex = 0;
+        notifyChange(InboundHandler.class, inboundArguments(obj));
+        return nextDatagram();
+    }
+
+    /**
+     * Decodes the next datagram of the current batch.
+     *
+     * @return the next datagram or {@code null} if the current batch has been
+     *         consumed
+     * @throws IOException if the datagram could not be decoded
+     */
+    protected final Object nextDatagram() throws IOException {
+        DatagramBatch b = batch;
+        if (b == null) {
+            return null;
+        }
+        if (batchIndex >= b.size()) {
+            batch = null;
+            return null;
+        }
+        int i = batchIndex++;
+        return getChannel().decode(b.source(i), b.payload(i));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A {@link DatagramBatch} is only passed to inbound handlers that
+     * declare a batch parameter, and all other messages only to the
+     * remaining inbound handlers. If the last argument is a
+     * {@link MulticastGroup}, only inbound handlers whose
+     * {@link InboundHandler#groups()} are empty or contain the group are
+     * invoked.
+     *
+     * @param cls {@inheritDoc}
+     * @param args {@inheritDoc}
+     * @param <A> {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    protected <A extends Annotation> Object notifyChange(Class<A> cls, Object... args) {
+        if (cls != InboundHandler.class || args.length == 0) {
+            return super.notifyChange(cls, args);
+        }
+        MulticastGroup group = args[args.length - 1] instanceof MulticastGroup
+                ? (MulticastGroup) args[args.length - 1]
+                : null;
+        boolean isBatch = args[0] instanceof DatagramBatch;
+        try {
+            for (CallableHandler handler : getList(cls)) {
+                if (accepts(handler, group)
+                        && handler.hasParameter(DatagramBatch.class) == isBatch) {
+                    args[0] = handler.invoke(args);
+                }
+            }
+        } catch (Exception e) {
+            throw new IllegalCallerException(e);
+        }
+        return args[0];
+    }
+
+    // Returns true if the given handler handles messages of the given group.
+    // The parsed group filter is cached per handler.
+    private boolean accepts(CallableHandler handler, MulticastGroup group) {
+        if (group == null) {
+            return true;
+        }
+        Set<InetAddress> groups = groupFilters.get(handler);
+        if (groups == null) {
+            groups = groupFilters.computeIfAbsent(handler, NioMulticastConnectionBase::parseGroups);
+        }
+        return groups.isEmpty() || groups.contains(group.getAddress());
+    }
+
+    // Passes a message received outside of readObject() through the inbound
+    // handler chain, see ShardedMulticastReceiver. The handlers are filtered
+    // and requests are completed as for messages read by readObject(), but
+    // the read lock is not taken, otherwise the lanes of the receiver would
+    // be serialized again.
+    Object dispatch(Object message, NioMulticastChannel channel) {
+        try {
+            return handleInbound(new Object[] {message, this, channel});
+        } catch (RuntimeException e) {
+            notifyChange(ExceptionHandler.class, e, this, channel);
+            return null;
+        }
+    }
+
+    // Notifies the exception handlers about an error of a receiver.
+    void handleError(Exception e, NioMulticastChannel channel) {
+        notifyChange(ExceptionHandler.class, e, this, channel);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IOException {@inheritDoc}
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (isClosed()) {
+            return;
+        }
+        try {
+            super.close();
+        } finally {
+            DatagramChannel channel = getSocket();
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public XTralMulticastConfiguration<?> getConfiguration() {
+        return (XTralMulticastConfiguration<?>) super.getConfiguration();
+    }
+
+    private static Set<InetAddress> parseGroups(CallableHandler handler) {
+        if (!(handler.getAnnotation() instanceof InboundHandler)) {
+            return Set.of();
+        }
+        String[]         names  = ((InboundHandler) handler.getAnnotation()).groups();
+        Set<InetAddress> groups = new HashSet<>(names.length);
+        for (String name : names) {
+            try {
+                groups.add(InetAddress.getByName(name));
+            } catch (UnknownHostException e) {
+                throw new IllegalArgumentException("Invalid group: " + name, e);
+            }
+        }
+        return Set.copyOf(groups);
+    }
+
+    private static boolean isMulticastInterface(NetworkInterface ni) {
+        try {
+            return ni.isUp() && ni.supportsMulticast();
+        } catch (SocketException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.multicast; //@date 18.10.2026
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spreads the inbound work of a {@link NioMulticastConnectionBase} across
+ * several threads.
+ * <p>
+ * One receiver thread only copies datagrams out of the socket and hands
+ * them to one of several lanes, chosen by the hash of the sender address.
+ * Each lane runs on its own thread, decodes its datagrams with the channel
+ * of the connection and passes them through the inbound handler chain.
+ * Datagrams of the same sender always use the same lane, so they are
+ * handled in the order they were received, while different senders are
+ * processed in parallel. The handlers are selected and requests are
+ * completed as for datagrams read by
+ * {@link NioMulticastConnectionBase#readObject()}.
+ * <p>
+ * The lanes do not take the read lock of the connection, so the inbound
+ * handlers of one agent are called by several lanes at the same time.
+ * Agents used with this receiver must be thread-safe, use the
+ * {@link io.github.proto4j.xtral.annotation.Agent.Scope#THREAD THREAD}
+ * scope, or declare their inbound handlers as
+ * {@link io.github.proto4j.xtral.annotation.InboundHandler#sync() sync}, so
+ * that the calls are processed one at a time by the mailbox of the agent.
+ * <p>
+ * Opening several sockets for the same group and port does not help here:
+ * the operating system delivers a copy of every multicast datagram to each
+ * of them, and the load-balancing of {@code SO_REUSEPORT} only applies to
+ * unicast traffic. A single socket with a fan-out is used instead.
+ * <pre>{@code
+ * connection.doConnect(group, port);
+ * ShardedMulticastReceiver receiver =
+ *         new ShardedMulticastReceiver(connection, 4, 1024);
+ * receiver.start();
+ * }</pre>
+ * The receiver and the lanes run on the {@link ExecutorService} of the
+ * configuration, unless another executor is given, which must provide at
+ * least {@code lanes + 1} threads.
+ *
+ * @see NioMulticastConnectionBase
+ * @since 1.0
+ */
+public class ShardedMulticastReceiver implements Closeable {
+
+    private final NioMulticastConnectionBase connection;
+    private final Executor                   executor;
+    private final Lane[]                     lanes;
+
+    private volatile boolean running;
+    private volatile boolean closed;
+
+    /**
+     * Creates a new receiver that runs on the {@link ExecutorService} of the
+     * connection's configuration.
+     *
+     * @param connection the connected multicast connection
+     * @param lanes the number of lanes
+     * @param laneCapacity the number of datagrams a lane can buffer
+     * @throws IllegalStateException if no {@link ExecutorService} is
+     *                               configured
+     */
+    public ShardedMulticastReceiver(NioMulticastConnectionBase connection, int lanes,
+                                    int laneCapacity) {
+        this(connection, lanes, laneCapacity, executorOf(connection));
+    }
+
+    /**
+     * Creates a new receiver.
+     *
+     * @param connection the connected multicast connection
+     * @param lanes the number of lanes
+     * @param laneCapacity the number of datagrams a lane can buffer
+     * @param executor the executor that runs the receiver and the lanes
+     */
+    public ShardedMulticastReceiver(NioMulticastConnectionBase connection, int lanes,
+                                    int laneCapacity, Executor executor) {
+        if (lanes <= 0 || laneCapacity <= 0) {
+            throw new IllegalArgumentException("lanes and laneCapacity must be positive");
+        }
+        this.connection = Objects.requireNonNull(connection);
+        this.executor   = Objects.requireNonNull(executor);
+        this.lanes      = new Lane[lanes];
+        for (int i = 0; i < lanes; i++) {
+            this.lanes[i] = new Lane(laneCapacity);
+        }
+    }
+
+    private static Executor executorOf(NioMulticastConnectionBase connection) {
+        ExecutorService service = connection.getConfiguration().getExecutorService();
+        if (service == null) {
+            throw new IllegalStateException("ExecutorService == null");
+        }
+        return service;
+    }
+
+    /**
+     * Starts the receiver and the lanes.
+     *
+     * @throws IllegalStateException if the receiver was already started, the
+     *                               connection is not connected or its
+     *                               channel is in non-blocking mode
+     */
+    public synchronized void start() {
+        if (running || closed) {
+            throw new IllegalStateException("Receiver already started");
+        }
+        DatagramChannel socket = connection.getSocket();
+        if (socket == null || connection.getChannel() == null) {
+            throw new IllegalStateException("Connection not connected");
+        }
+        if (!socket.isBlocking()) {
+            throw new IllegalStateException("Channel is in non-blocking mode");
+        }
+
+        running = true;
+        NioMulticastChannel channel = connection.getChannel();
+        for (Lane lane : lanes) {
+            executor.execute(() -> lane.run(channel));
+        }
+        executor.execute(() -> receive(socket, channel));
+    }
+
+    // Runs on the receiver thread
+    private void receive(DatagramChannel socket, NioMulticastChannel channel) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(channel.getBufferSize());
+        try {
+            while (running) {
+                buffer.clear();
+                SocketAddress source;
+                try {
+                    source = socket.receive(buffer);
+                } catch (ClosedChannelException e) {
+                    break;
+                } catch (IOException e) {
+                    connection.handleError(e, channel);
+                    continue;
+                }
+                if (source == null) {
+                    continue;
+                }
+                buffer.flip();
+                byte[] data = new byte[buffer.remaining()];
+                buffer.get(data);
+                if (!laneOf(source).offer(new Datagram(source, data))) {
+                    break;
+                }
+            }
+        } finally {
+            running = false;
+        }
+    }
+
+    private Lane laneOf(SocketAddress source) {
+        int h = source.hashCode();
+        h ^= (h >>> 16);
+        return lanes[Math.floorMod(h, lanes.length)];
+    }
+
+    /**
+     * Returns the number of lanes.
+     *
+     * @return the number of lanes
+     */
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * Returns whether the receiver is running.
+     *
+     * @return {@code true} if the receiver has been started and not stopped
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops the lanes after they have handled their buffered datagrams. The
+     * receiver thread stops with the next datagram or when the connection is
+     * closed; the connection itself stays open.
+     */
+    @Override
+    public void close() {
+        closed  = true;
+        running = false;
+    }
+
+    private static final class Datagram {
+        final SocketAddress source;
+        final byte[]        data;
+
+        Datagram(SocketAddress source, byte[] data) {
+            this.source = source;
+            this.data   = data;
+        }
+    }
+
+    private final class Lane {
+        private final BlockingQueue<Datagram> queue;
+
+        Lane(int capacity) {
+            queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        // Waits while the lane is full; returns false if the receiver was
+        // stopped in the meantime.
+        boolean offer(Datagram datagram) {
+            try {
+                while (!queue.offer(datagram, 1, TimeUnit.MILLISECONDS)) {
+                    if (!running) {
+                        return false;
+                    }
+                }
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        void run(NioMulticastChannel channel) {
+            try {
+                while (true) {
+                    Datagram datagram = queue.poll(1, TimeUnit.MILLISECONDS);
+                    if (datagram == null) {
+                        // Buffered datagrams are handled before stopping
+                        if (!running) {
+                            break;
+                        }
+                        continue;
+                    }
+                    try {
+                        Object message = channel.decode(datagram.source,
+                                                        ByteBuffer.wrap(datagram.data));
+                        connection.dispatch(message, channel);
+                    } catch (IOException e) {
+                        connection.handleError(e, channel);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -27,6 +27,10 @@ package io.github.proto4j.xtral.multicast;//@date 18.09.2022
 import io.github.proto4j.xtral.XTralServer;
 import io.github.proto4j.xtral.config.XTralConfiguration;
 
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+import java.util.Set;
+
 /**
  * A template configuration with all attributes a client or server that is
  * using datagram sockets.
@@ -43,4 +47,49 @@ public interface XTralMulticastConfiguration<T> extends XTralConfiguration<T> {
      * @return the {@link DatagramSocketFactory}
      */
     DatagramSocketFactory getDatagramFactory();
+
+    /**
+     * Returns the network interface used to join multicast groups and to
+     * send multicast datagrams with a {@link NioMulticastConnectionBase}.
+     *
+     * @return the network interface or {@code null} to use the first
+     *         interface that is up and supports multicast
+     */
+    default NetworkInterface getNetworkInterface() {
+        return null;
+    }
+
+    /**
+     * Returns the senders a {@link NioMulticastConnectionBase} receives
+     * datagrams from. If this set is not empty, groups are joined
+     * source-specific for each of these addresses and the operating system
+     * drops datagrams of all other senders.
+     *
+     * @return the allowed sources, by default an empty set (any source)
+     */
+    default Set<InetAddress> getAllowedSources() {
+        return Set.of();
+    }
+
+    /**
+     * Returns the senders whose datagrams are blocked by a
+     * {@link NioMulticastConnectionBase}. This set is ignored if allowed
+     * sources are defined.
+     *
+     * @return the blocked sources, by default an empty set
+     */
+    default Set<InetAddress> getBlockedSources() {
+        return Set.of();
+    }
+
+    /**
+     * Returns the maximum number of datagrams a {@link NioMulticastConnectionBase}
+     * receives with a single read.
+     *
+     * @return the batch size, by default {@code 1} (batch mode disabled)
+     * @see NioMulticastChannel#setBatchSize(int)
+     */
+    default int getReceiveBatchSize() {
+        return 1;
+    }
 }
@@ -0,0 +1,338 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.mux; //@date 18.10.2026
+
+import io.github.proto4j.xtral.XTralClient;
+import io.github.proto4j.xtral.io.Connection;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * A {@code Multiplexer} carries many logical {@link MuxStream}s over one
+ * parent {@link Connection}.
+ * <p>
+ * Every stream has its own id, delivers its messages in order and is flow
+ * controlled independently: a sender may only have as many unconsumed
+ * messages in flight as the receiver granted credits for. A slow stream
+ * therefore never blocks the other streams sharing the parent connection.
+ * <p>
+ * All streams are transferred as {@link MuxFrame}s, which means that the
+ * handlers of the parent connection must encode and decode {@code MuxFrame}
+ * objects, whereas the handlers of the streams work on the application
+ * messages. The multiplexer reads the parent connection through its
+ * {@link Connection#inbound()} publisher, so no other reader may be active
+ * on the parent:
+ * <pre>{@code
+ * Multiplexer mux = new Multiplexer(connection, true);
+ * mux.setAcceptor(stream -> client.attach(stream));
+ * mux.start();
+ *
+ * MuxStream stream = client.attach(mux.openStream());
+ * stream.sendObject(message);
+ * }</pre>
+ * Streams opened by the local side use odd ids if {@code client} is
+ * {@code true} and even ids otherwise, so both sides can open streams
+ * without coordination.
+ *
+ * @see MuxStream
+ * @see MuxFrame
+ * @see XTralClient#attach(Connection)
+ * @since 1.0
+ */
+public class Multiplexer implements Closeable {
+
+    /**
+     * The default number of messages a stream may receive without granting
+     * new credits.
+     */
+    public static final int DEFAULT_WINDOW = 64;
+
+    private final ConcurrentMap<Integer, MuxStream> streams = new ConcurrentHashMap<>();
+
+    private final Connection<?>  parent;
+    private final int            window;
+    private final AtomicInteger  nextId;
+
+    private volatile Consumer<? super MuxStream> acceptor;
+
+    private volatile Flow.Subscription subscription;
+
+    private volatile boolean closed;
+
+    /**
+     * Creates a new multiplexer with the {@link #DEFAULT_WINDOW}.
+     *
+     * @param parent the connection that carries the streams
+     * @param client whether this side uses odd stream ids
+     */
+    public Multiplexer(Connection<?> parent, boolean client) {
+        this(parent, client, DEFAULT_WINDOW);
+    }
+
+    /**
+     * Creates a new multiplexer.
+     *
+     * @param parent the connection that carries the streams
+     * @param client whether this side uses odd stream ids
+     * @param window the number of messages a stream may receive without
+     *         granting new credits
+     * @throws IllegalArgumentException if the window is not positive
+     */
+    public Multiplexer(Connection<?> parent, boolean client, int window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("window <= 0");
+        }
+        this.parent = Objects.requireNonNull(parent);
+        this.window = window;
+        this.nextId = new AtomicInteger(client ? 1 : 2);
+    }
+
+    /**
+     * Starts reading frames from the parent connection.
+     * <p>
+     * This method has no effect if this multiplexer has already been
+     * started.
+     *
+     * @throws IllegalStateException if the parent connection provides no
+     *                               executor to read on
+     */
+    public synchronized void start() {
+        if (subscription != null || closed) {
+            return;
+        }
+        parent.inbound().subscribe(new FrameSubscriber());
+    }
+
+    /**
+     * Sets the callback that is notified about streams opened by the remote
+     * side. It is usually used to link the agents with
+     * {@link XTralClient#attach(Connection)} and to start reading the
+     * stream. The callback is called on the thread that reads the parent
+     * connection and should not block.
+     * <p>
+     * Streams opened remotely are closed immediately if no acceptor is set.
+     *
+     * @param acceptor the callback for new streams
+     */
+    public void setAcceptor(Consumer<? super MuxStream> acceptor) {
+        this.acceptor = acceptor;
+    }
+
+    /**
+     * Opens a new stream to the remote side.
+     * <p>
+     * The stream can be used immediately, but {@link MuxStream#sendObject(Object)}
+     * blocks until the remote side granted credits.
+     *
+     * @return the new stream
+     * @throws IOException if this multiplexer or its parent has been closed
+     */
+    public MuxStream openStream() throws IOException {
+        if (closed) {
+            throw new IOException("Multiplexer closed");
+        }
+        int id = nextId.getAndAdd(2);
+
+        MuxStream stream = new MuxStream(this, id, window);
+        streams.put(id, stream);
+        send(MuxFrame.open(id, window));
+        return stream;
+    }
+
+    /**
+     * Returns the connection that carries all streams.
+     *
+     * @return the parent connection
+     */
+    public Connection<?> getParent() {
+        return parent;
+    }
+
+    /**
+     * Returns the receive window of streams created by this multiplexer.
+     *
+     * @return the receive window in messages
+     */
+    public int getWindow() {
+        return window;
+    }
+
+    /**
+     * Returns all open streams.
+     *
+     * @return an unmodifiable view of the open streams
+     */
+    public Collection<MuxStream> getStreams() {
+        return Collections.unmodifiableCollection(streams.values());
+    }
+
+    /**
+     * Returns whether this multiplexer has been closed.
+     *
+     * @return {@code true} if this multiplexer has been closed;
+     *         {@code false} otherwise.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Closes all streams and stops reading from the parent connection. The
+     * parent connection itself stays open.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        Flow.Subscription s = subscription;
+        if (s != null) {
+            s.cancel();
+        }
+        closeStreams();
+    }
+
+    void send(MuxFrame frame) throws IOException {
+        if (parent.isClosed()) {
+            throw new IOException("Connection closed");
+        }
+        try {
+            parent.sendObject(frame);
+        } catch (UnsupportedOperationException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    void remove(MuxStream stream) {
+        streams.remove(stream.getId(), stream);
+    }
+
+    private void dispatch(Object message) {
+        if (!(message instanceof MuxFrame)) {
+            return;
+        }
+        MuxFrame  frame  = (MuxFrame) message;
+        MuxStream stream = streams.get(frame.getStreamId());
+
+        switch (frame.getType()) {
+            case MuxFrame.OPEN:
+                if (stream == null) {
+                    accept(frame);
+                }
+                break;
+            case MuxFrame.DATA:
+                if (stream != null) {
+                    stream.onData(frame.getValue(), frame.getPayload());
+                }
+                break;
+            case MuxFrame.CREDIT:
+                if (stream != null) {
+                    stream.onCredit(frame.getValue());
+                }
+                break;
+            case MuxFrame.CLOSE:
+                if (stream != null) {
+                    stream.onRemoteClose();
+                }
+                break;
+        }
+    }
+
+    private void accept(MuxFrame frame) {
+        int id = frame.getStreamId();
+        try {
+            Consumer<? super MuxStream> callback = acceptor;
+            if (callback == null || closed) {
+                send(MuxFrame.close(id));
+                return;
+            }
+
+            MuxStream stream = new MuxStream(this, id, window);
+            streams.put(id, stream);
+            // The OPEN frame carries the receive window of the remote side,
+            // which is the number of messages this side may send. The remote
+            // side may not send before our window is granted with the first
+            // CREDIT frame.
+            stream.onCredit(frame.getValue());
+            send(MuxFrame.credit(id, window));
+            callback.accept(stream);
+        } catch (IOException e) {
+            streams.remove(id);
+        }
+    }
+
+    private void closeStreams() {
+        for (MuxStream stream : new ArrayList<>(streams.values())) {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+        streams.clear();
+    }
+
+    private final class FrameSubscriber implements Flow.Subscriber<Object> {
+
+        @Override
+        public void onSubscribe(Flow.Subscription s) {
+            subscription = s;
+            // The amount of buffered messages is bounded by the credits of
+            // every stream, so the parent can be read without limit.
+            s.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(Object item) {
+            dispatch(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            closed = true;
+            closeStreams();
+        }
+
+        @Override
+        public void onComplete() {
+            closed = true;
+            closeStreams();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.mux; //@date 18.10.2026
+
+/**
+ * The unit of transfer between two {@link Multiplexer}s.
+ * <p>
+ * Frames are sent as regular messages over the parent connection, therefore
+ * the outbound and inbound handlers of the parent connection have to encode
+ * and decode {@code MuxFrame} objects. A frame consists of the following
+ * attributes:
+ * <ul>
+ *     <li>{@link #getStreamId()}: the logical stream the frame belongs to</li>
+ *     <li>{@link #getType()}: one of {@link #OPEN}, {@link #DATA},
+ *     {@link #CREDIT} or {@link #CLOSE}</li>
+ *     <li>{@link #getValue()}: the sequence number of {@code DATA} frames,
+ *     the granted credits of {@code CREDIT} frames and the initial window of
+ *     {@code OPEN} frames</li>
+ *     <li>{@link #getPayload()}: the message of {@code DATA} frames</li>
+ * </ul>
+ *
+ * @see Multiplexer
+ * @since 1.0
+ */
+public final class MuxFrame {
+
+    /**
+     * Opens a new stream. The value contains the receive window of the
+     * opening side.
+     */
+    public static final byte OPEN = 1;
+
+    /**
+     * Carries one message of a stream. The value contains the sequence
+     * number of the message.
+     */
+    public static final byte DATA = 2;
+
+    /**
+     * Grants additional credits to the sender of a stream. The value
+     * contains the number of messages the sender may send in addition.
+     */
+    public static final byte CREDIT = 3;
+
+    /**
+     * Closes a stream.
+     */
+    public static final byte CLOSE = 4;
+
+    private final int    streamId;
+    private final byte   type;
+    private final int    value;
+    private final Object payload;
+
+    /**
+     * Creates a new frame. This constructor is public, so codecs can create
+     * received frames.
+     *
+     * @param streamId the stream id
+     * @param type the frame type
+     * @param value the type-specific value
+     * @param payload the message of {@code DATA} frames or {@code null}
+     * @throws IllegalArgumentException if the type is unknown
+     */
+    public MuxFrame(int streamId, byte type, int value, Object payload) {
+        if (type < OPEN || type > CLOSE) {
+            throw new IllegalArgumentException("Unknown frame type: " + type);
+        }
+        this.streamId = streamId;
+        this.type     = type;
+        this.value    = value;
+        this.payload  = payload;
+    }
+
+    static MuxFrame open(int streamId, int window) {
+        return new MuxFrame(streamId, OPEN, window, null);
+    }
+
+    static MuxFrame data(int streamId, int sequence, Object payload) {
+        return new MuxFrame(streamId, DATA, sequence, payload);
+    }
+
+    static MuxFrame credit(int streamId, int credits) {
+        return new MuxFrame(streamId, CREDIT, credits, null);
+    }
+
+    static MuxFrame close(int streamId) {
+        return new MuxFrame(streamId, CLOSE, 0, null);
+    }
+
+    /**
+     * Returns the id of the stream this frame belongs to.
+     *
+     * @return the stream id
+     */
+    public int getStreamId() {
+        return streamId;
+    }
+
+    /**
+     * Returns the frame type.
+     *
+     * @return the frame type
+     */
+    public byte getType() {
+        return type;
+    }
+
+    /**
+     * Returns the type-specific value of this frame.
+     *
+     * @return the type-specific value
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the carried message of {@code DATA} frames.
+     *
+     * @return the message or {@code null}
+     */
+    public Object getPayload() {
+        return payload;
+    }
+
+    @Override
+    public String toString() {
+        return "MuxFrame[stream=" + streamId + ", type=" + type + ", value=" + value + "]";
+    }
+}
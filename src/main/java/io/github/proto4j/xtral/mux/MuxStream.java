@@ -0,0 +1,334 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.mux; //@date 18.10.2026
+
+import io.github.proto4j.xtral.annotation.ExceptionHandler;
+import io.github.proto4j.xtral.io.ConnectSpec;
+import io.github.proto4j.xtral.io.ConnectionBase;
+import io.github.proto4j.xtral.io.channel.AbstractChannel;
+import io.github.proto4j.xtral.io.channel.ChannelFactory;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetAddress;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A logical stream carried over the parent connection of a {@link Multiplexer}.
+ * <p>
+ * Streams behave like every other {@link io.github.proto4j.xtral.io.Connection}:
+ * they have their own handler chains and are read and written with
+ * {@link #readObject()} and {@link #sendObject(Object)}. Internally, the
+ * socket of a stream is its {@code Multiplexer} and the linked channel turns
+ * messages into {@link MuxFrame}s.
+ * <p>
+ * Flow control is credit-based and counted in messages: {@link #sendObject(Object)}
+ * blocks if the remote side has not granted enough credits, and every
+ * consumed half window of received messages is granted back to the sender.
+ * Streams are created open and initialized, so {@link #doConnect(InetAddress, int)}
+ * is not supported.
+ *
+ * @see Multiplexer
+ * @since 1.0
+ */
+public class MuxStream extends ConnectionBase<Multiplexer> {
+
+    /**
+     * Marks the end of the stream in the receive queue.
+     */
+    private static final Object EOF = new Object();
+
+    private final Multiplexer multiplexer;
+    private final int         id;
+    private final int         window;
+
+    /**
+     * Received messages that have not been read yet. The capacity is the
+     * receive window plus one slot for the end-of-stream marker.
+     */
+    private final BlockingQueue<Object> received;
+
+    /**
+     * The credits granted by the remote side.
+     */
+    private final Semaphore credits = new Semaphore(0);
+
+    /**
+     * The sequence number of the next sent message (guarded by the write
+     * lock of this connection).
+     */
+    private int sendSequence;
+
+    /**
+     * The expected sequence number of the next received message (only
+     * accessed by the reading thread of the multiplexer).
+     */
+    private int receiveSequence;
+
+    /**
+     * The number of messages read since the last credit grant (guarded by
+     * the read lock of this connection).
+     */
+    private int consumed;
+
+    private volatile boolean remoteClosed;
+
+    /**
+     * Set once the blocked threads of this stream have been woken up after
+     * it was closed by either side.
+     */
+    private final AtomicBoolean finished = new AtomicBoolean();
+
+    MuxStream(Multiplexer multiplexer, int id, int window) throws IOException {
+        this.multiplexer = multiplexer;
+        this.id          = id;
+        this.window      = window;
+        this.received    = new ArrayBlockingQueue<>(window + 1);
+
+        if (multiplexer.getParent().getConfiguration() != null) {
+            setConfiguration(multiplexer.getParent().getConfiguration());
+        }
+        setSocket(multiplexer);
+        setChannel();
+        initialized = true;
+    }
+
+    /**
+     * Streams are initialized on creation, therefore this method only sets
+     * the {@link #initialized} flag.
+     *
+     * @param spec ignored
+     */
+    @Override
+    public void init(ConnectSpec spec) {
+        initialized = true;
+    }
+
+    /**
+     * Streams are opened with {@link Multiplexer#openStream()}.
+     *
+     * @param address ignored
+     * @param port ignored
+     * @throws IOException always
+     */
+    @Override
+    public void doConnect(InetAddress address, int port) throws IOException {
+        throw new IOException("Streams are opened by their Multiplexer");
+    }
+
+    /**
+     * Returns the factory for the internal stream channel.
+     *
+     * @return the factory for the internal stream channel
+     */
+    @Override
+    public ChannelFactory<?> getChannelFactory() {
+        return (ChannelFactory<Multiplexer>) StreamChannel::new;
+    }
+
+    /**
+     * Returns the id of this stream.
+     *
+     * @return the stream id
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the multiplexer that carries this stream.
+     *
+     * @return the multiplexer
+     */
+    public Multiplexer getMultiplexer() {
+        return multiplexer;
+    }
+
+    /**
+     * Returns the number of messages that may be sent before waiting for new
+     * credits.
+     *
+     * @return the available send credits
+     */
+    public int getAvailableCredits() {
+        return finished.get() ? 0 : credits.availablePermits();
+    }
+
+    /**
+     * Closes this stream and notifies the remote side. The parent connection
+     * stays open.
+     *
+     * @throws IOException {@inheritDoc}
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (isClosed()) {
+            return;
+        }
+        multiplexer.remove(this);
+        if (!remoteClosed && !multiplexer.getParent().isClosed()) {
+            try {
+                multiplexer.send(MuxFrame.close(id));
+            } catch (IOException e) {
+                // the remote side will notice the closed parent
+            }
+        }
+        super.close();
+        wakeUp();
+    }
+
+    void onData(int sequence, Object payload) {
+        Object item = payload;
+        if (sequence != receiveSequence) {
+            item = new Failure("Stream " + id + ": expected message "
+                               + receiveSequence + " but got " + sequence);
+        } else if (payload == null) {
+            item = new Failure("Stream " + id + ": empty message " + sequence);
+        }
+        receiveSequence++;
+
+        // Only the multiplexer adds messages, so the slot of the end-of-stream
+        // marker is still free if the window is full.
+        if (received.remainingCapacity() <= 1) {
+            // The remote side ignored the granted credits. The messages that
+            // were received within the window are still read before the end
+            // of the stream.
+            reset("Stream " + id + ": receive window exceeded");
+            return;
+        }
+        received.offer(item);
+    }
+
+    // Terminates the stream after a protocol error: the remote side is told
+    // to close the stream, blocked threads are woken up and the error is
+    // reported to the exception handlers.
+    private void reset(String message) {
+        if (finished.get()) {
+            return;
+        }
+        remoteClosed = true;
+        multiplexer.remove(this);
+        if (!multiplexer.getParent().isClosed()) {
+            try {
+                multiplexer.send(MuxFrame.close(id));
+            } catch (IOException e) {
+                // the remote side will notice the closed parent
+            }
+        }
+        wakeUp();
+        notifyChange(ExceptionHandler.class, new IOException(message), this, getChannel());
+    }
+
+    void onCredit(int amount) {
+        // Credits granted after the stream was closed are meaningless and
+        // would only add to the wake-up permit.
+        if (amount > 0 && !finished.get()) {
+            credits.release(amount);
+        }
+    }
+
+    void onRemoteClose() {
+        remoteClosed = true;
+        multiplexer.remove(this);
+        wakeUp();
+    }
+
+    // Unblocks the reading and writing threads of this stream. Both the
+    // local and the remote close call this method, so only the first call
+    // queues the marker and the single permit a blocked writer needs. Every
+    // woken writer passes the permit on to the next one.
+    private void wakeUp() {
+        if (finished.compareAndSet(false, true)) {
+            received.offer(EOF);
+            credits.release();
+        }
+    }
+
+    /**
+     * A protocol error that is reported to the reader of this stream.
+     */
+    private static final class Failure {
+        private final String message;
+
+        Failure(String message) {
+            this.message = message;
+        }
+    }
+
+    /**
+     * The channel of a stream, which delegates to the queues of the stream
+     * and to the parent connection of the multiplexer.
+     */
+    private final class StreamChannel extends AbstractChannel<Multiplexer> {
+
+        @Override
+        public void write(Multiplexer socket, Object obj) throws IOException {
+            if (remoteClosed || MuxStream.this.isClosed()) {
+                throw new EOFException("Stream " + id + " closed");
+            }
+            try {
+                credits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+            if (remoteClosed || MuxStream.this.isClosed()) {
+                credits.release();
+                throw new EOFException("Stream " + id + " closed");
+            }
+            socket.send(MuxFrame.data(id, sendSequence++, obj));
+        }
+
+        @Override
+        public Object read(Multiplexer socket) throws IOException {
+            Object item;
+            try {
+                item = received.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+
+            if (item == EOF) {
+                // keep the marker for subsequent reads
+                received.offer(EOF);
+                throw new EOFException("Stream " + id + " closed");
+            }
+            if (item instanceof Failure) {
+                throw new IOException(((Failure) item).message);
+            }
+
+            if (++consumed >= Math.max(1, window >> 1)) {
+                socket.send(MuxFrame.credit(id, consumed));
+                consumed = 0;
+            }
+            return item;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.shm; //@date 18.10.2026
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Defines how a thread waits while a shared-memory ring has no data to read
+ * or no space to write.
+ * <p>
+ * The strategy is called repeatedly with the number of unsuccessful attempts
+ * since the thread started waiting, so implementations don't need to keep
+ * any state and can be shared between threads. Spinning gives the lowest
+ * hand-off latency at the cost of a busy CPU core, parking frees the core
+ * but adds the wake-up latency of the operating system.
+ *
+ * @see ShmSocket
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface IdleStrategy {
+
+    /**
+     * Busy-waits without giving up the CPU.
+     */
+    public static final IdleStrategy SPINNING = iteration -> Thread.onSpinWait();
+
+    /**
+     * Gives up the remaining time slice on every attempt.
+     */
+    public static final IdleStrategy YIELDING = iteration -> Thread.yield();
+
+    /**
+     * Waits for the given number of unsuccessful attempts.
+     *
+     * @param iteration the number of unsuccessful attempts since the thread
+     *         started waiting, beginning at {@code 0}
+     */
+    public abstract void idle(int iteration);
+
+    /**
+     * Returns a strategy that parks the thread for the given time on every
+     * attempt.
+     *
+     * @param time the time to park
+     * @param unit the time unit of the time argument
+     * @return the parking strategy
+     */
+    public static IdleStrategy parking(long time, TimeUnit unit) {
+        long nanos = unit.toNanos(time);
+        if (nanos <= 0) {
+            throw new IllegalArgumentException("time must be positive");
+        }
+        return iteration -> LockSupport.parkNanos(nanos);
+    }
+
+    /**
+     * Returns a strategy that spins first, yields afterwards and finally
+     * parks with an exponentially growing time up to the given maximum.
+     *
+     * @param spins the number of attempts to spin
+     * @param yields the number of attempts to yield after spinning
+     * @param maxParkNanos the maximum time to park in nanoseconds
+     * @return the back-off strategy
+     */
+    public static IdleStrategy backoff(int spins, int yields, long maxParkNanos) {
+        if (spins < 0 || yields < 0 || maxParkNanos <= 0) {
+            throw new IllegalArgumentException("Invalid back-off parameters");
+        }
+        return iteration -> {
+            if (iteration < spins) {
+                Thread.onSpinWait();
+            } else if (iteration - spins < yields) {
+                Thread.yield();
+            } else {
+                int shift = Math.min(iteration - spins - yields, 20);
+                LockSupport.parkNanos(Math.min(1000L << shift, maxParkNanos));
+            }
+        };
+    }
+
+    /**
+     * Returns the default back-off strategy which spins 10000 times, yields
+     * 100 times and parks for at most one millisecond.
+     *
+     * @return the default back-off strategy
+     */
+    public static IdleStrategy backoff() {
+        return backoff(10_000, 100, TimeUnit.MILLISECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.shm; //@date 18.10.2026
+
+import io.github.proto4j.xtral.io.channel.AbstractChannel;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A {@code Channel} that writes binary messages as frames into the ring of
+ * a {@link ShmSocket}.
+ * <p>
+ * Messages are accepted as {@link ByteBuffer} or {@code byte[]}; received
+ * frames are returned as {@link ByteBuffer}s. Subclasses can override
+ * {@link #encode(Object)} and {@link #decode(ByteBuffer)} to convert
+ * between message objects and frames, or the channel can be wrapped by a
+ * decorator such as the {@code CompressionChannel}.
+ *
+ * @see ShmSocket
+ * @since 1.0
+ */
+public class ShmChannel extends AbstractChannel<ShmSocket> {
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param socket {@inheritDoc}
+     * @param obj {@inheritDoc}
+     * @throws IOException {@inheritDoc}
+     */
+    @Override
+    public void write(ShmSocket socket, Object obj) throws IOException {
+        if (isClosed()) {
+            throw new IOException("Channel closed");
+        }
+        socket.write(encode(obj));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param socket {@inheritDoc}
+     * @return {@inheritDoc}
+     * @throws IOException {@inheritDoc}
+     */
+    @Override
+    public Object read(ShmSocket socket) throws IOException {
+        if (isClosed()) {
+            throw new IOException("Channel closed");
+        }
+        return decode(socket.read());
+    }
+
+    /**
+     * Converts the given message into the payload of a frame.
+     *
+     * @param obj the message to be written
+     * @return the frame payload
+     * @throws IOException if the message type is not supported
+     */
+    protected ByteBuffer encode(Object obj) throws IOException {
+        if (obj instanceof ByteBuffer) {
+            return ((ByteBuffer) obj).duplicate();
+        }
+        if (obj instanceof byte[]) {
+            return ByteBuffer.wrap((byte[]) obj);
+        }
+        throw new IOException("Unsupported message type: " + obj.getClass().getName());
+    }
+
+    /**
+     * Converts the payload of a received frame into a message.
+     *
+     * @param frame the frame payload
+     * @return the message
+     * @throws IOException if the frame could not be decoded
+     */
+    protected Object decode(ByteBuffer frame) throws IOException {
+        return frame;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.shm; //@date 18.10.2026
+
+import io.github.proto4j.xtral.config.XTralConfiguration;
+import io.github.proto4j.xtral.io.ConnectSpec;
+import io.github.proto4j.xtral.io.ConnectionBase;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * A connection to a {@link ShmServerBootstrap} of another process on the
+ * same host.
+ * <p>
+ * {@link #doConnect(InetAddress, int)} ignores its arguments and connects
+ * to the directory of the {@link XTralSharedMemoryConfiguration}, so
+ * existing entry methods work with this transport.
+ *
+ * @see ShmSocket
+ * @see XTralSharedMemoryConfiguration
+ * @since 1.0
+ */
+public class ShmConnection extends ConnectionBase<ShmSocket> {
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param spec {@inheritDoc}
+     * @throws IOException {@inheritDoc}
+     */
+    @Override
+    public void init(ConnectSpec spec) throws IOException {
+        initialized = true;
+    }
+
+    /**
+     * Connects to the directory of the {@link XTralSharedMemoryConfiguration}.
+     * The given address and port are ignored.
+     *
+     * @param address ignored
+     * @param port ignored
+     * @throws IOException {@inheritDoc}
+     */
+    @Override
+    public synchronized void doConnect(InetAddress address, int port) throws IOException {
+        XTralConfiguration<?> configuration = Objects.requireNonNull(getConfiguration());
+        Objects.requireNonNull(getChannelFactory());
+        if (!initialized || closed) {
+            throw new IOException("Connection not initialized!");
+        }
+        if (!(configuration instanceof XTralSharedMemoryConfiguration)) {
+            throw new IOException("XTralSharedMemoryConfiguration required");
+        }
+
+        if (getSocket() == null) {
+            XTralSharedMemoryConfiguration<?> config =
+                    (XTralSharedMemoryConfiguration<?>) configuration;
+            Path directory = config.getSharedMemoryDirectory();
+            if (directory == null) {
+                throw new IOException("Shared-memory directory == null");
+            }
+            setSocket(ShmSocket.connect(directory, config.getRingCapacity(),
+                                        config.getIdleStrategy()));
+        }
+        setChannel();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IOException {@inheritDoc}
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (isClosed()) {
+            return;
+        }
+        try {
+            super.close();
+        } finally {
+            ShmSocket socket = getSocket();
+            if (socket != null) {
+                socket.close();
+            }
+        }
+    }
+}
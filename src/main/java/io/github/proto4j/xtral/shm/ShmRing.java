@@ -0,0 +1,230 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.shm; //@date 18.10.2026
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A single-producer single-consumer ring buffer of variable-sized frames
+ * inside a region of a memory-mapped file.
+ * <p>
+ * The region starts with a header that holds the read position, the write
+ * position and the closed flags of both sides, each on its own cache line.
+ * Frames are stored behind the header as a length followed by the payload
+ * and are aligned to eight bytes. A frame that does not fit before the end
+ * of the ring is preceded by a padding marker and written to the start.
+ * <p>
+ * The producer writes the frame with plain stores and publishes it by
+ * storing the new write position with release semantics; the consumer
+ * loads it with acquire semantics. Because both processes map the same
+ * pages, the hand-off does not involve the kernel.
+ *
+ * @since 1.0
+ */
+final class ShmRing {
+
+    /**
+     * The size of the ring header in bytes.
+     */
+    static final int HEADER = 256;
+
+    private static final int HEAD_OFFSET            = 0;
+    private static final int TAIL_OFFSET            = 64;
+    private static final int PRODUCER_CLOSED_OFFSET = 128;
+    private static final int CONSUMER_CLOSED_OFFSET = 192;
+
+    private static final int FRAME_HEADER = Integer.BYTES;
+    private static final int PADDING      = -1;
+
+    private static final VarHandle LONG =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final VarHandle INT  =
+            MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private final ByteBuffer buffer;
+    private final int        capacity;
+    private final int        mask;
+
+    // Local copies of the positions owned by this side of the ring
+    private long head;
+    private long tail;
+
+    /**
+     * Creates a ring on the given region of a mapped file.
+     *
+     * @param buffer the region with a size of {@link #size(int)}
+     * @param capacity the capacity of the ring, see {@link #capacity(int)}
+     */
+    ShmRing(ByteBuffer buffer, int capacity) {
+        this.buffer   = buffer.order(ByteOrder.nativeOrder());
+        this.capacity = capacity;
+        this.mask     = capacity - 1;
+        this.head     = (long) LONG.getAcquire(buffer, HEAD_OFFSET);
+        this.tail     = (long) LONG.getAcquire(buffer, TAIL_OFFSET);
+    }
+
+    /**
+     * Rounds the requested capacity up to the next supported value.
+     *
+     * @param requested the requested capacity in bytes
+     * @return a power of two of at least 64 bytes
+     */
+    static int capacity(int requested) {
+        if (requested <= 0 || requested > 1 << 30) {
+            throw new IllegalArgumentException("Invalid capacity: " + requested);
+        }
+        int size = Integer.highestOneBit(Math.max(requested, 64));
+        return size < requested ? size << 1 : size;
+    }
+
+    /**
+     * Returns the number of bytes a ring of the given capacity occupies.
+     *
+     * @param capacity the ring capacity
+     * @return the size of header and data
+     */
+    static int size(int capacity) {
+        return HEADER + capacity;
+    }
+
+    /**
+     * Returns the largest payload that can be written as a single frame.
+     * <p>
+     * Frames are limited to half of the capacity, so a frame together with
+     * the padding in front of it always fits into an empty ring.
+     *
+     * @return the maximum payload length
+     */
+    int maxPayload() {
+        return (capacity >> 1) - FRAME_HEADER;
+    }
+
+    /**
+     * Copies the remaining bytes of the given buffer into a new frame if
+     * there is enough space.
+     *
+     * @param src the payload
+     * @return {@code true} if the frame was written; {@code false} if the
+     *         ring is full
+     * @throws IOException if the frame is too large or the consumer has
+     *                     closed the ring
+     */
+    boolean offer(ByteBuffer src) throws IOException {
+        int length = src.remaining();
+        if (length > maxPayload()) {
+            throw new IOException("Frame too large: " + length);
+        }
+        if (isConsumerClosed()) {
+            throw new IOException("Ring closed");
+        }
+
+        int  frame = align(FRAME_HEADER + length);
+        long t     = tail;
+        int  index = (int) t & mask;
+        int  toEnd = capacity - index;
+        int  required = frame > toEnd ? toEnd + frame : frame;
+        long h = (long) LONG.getAcquire(buffer, HEAD_OFFSET);
+        if (required > capacity - (t - h)) {
+            return false;
+        }
+
+        if (frame > toEnd) {
+            buffer.putInt(HEADER + index, PADDING);
+            t += toEnd;
+            index = 0;
+        }
+        buffer.putInt(HEADER + index, length);
+        buffer.put(HEADER + index + FRAME_HEADER, src, src.position(), length);
+        src.position(src.limit());
+
+        t += frame;
+        LONG.setRelease(buffer, TAIL_OFFSET, t);
+        tail = t;
+        return true;
+    }
+
+    /**
+     * Removes the next frame and copies its payload into a new buffer.
+     *
+     * @return the payload of the next frame or {@code null} if the ring is
+     *         empty
+     * @throws IOException if the length of the next frame is invalid
+     */
+    ByteBuffer poll() throws IOException {
+        long h = head;
+        if (h == (long) LONG.getAcquire(buffer, TAIL_OFFSET)) {
+            return null;
+        }
+        int index  = (int) h & mask;
+        int length = buffer.getInt(HEADER + index);
+        if (length == PADDING) {
+            // The padding is always published together with the next frame
+            h += capacity - index;
+            index  = 0;
+            length = buffer.getInt(HEADER);
+        }
+        // The ring is shared with another process, so the length must not be
+        // trusted before allocating. Frames never wrap around the end.
+        if (length < 0 || length > capacity - index - FRAME_HEADER) {
+            throw new IOException("Corrupted frame length: " + length);
+        }
+
+        byte[] payload = new byte[length];
+        buffer.get(HEADER + index + FRAME_HEADER, payload);
+
+        h += align(FRAME_HEADER + length);
+        LONG.setRelease(buffer, HEAD_OFFSET, h);
+        head = h;
+        return ByteBuffer.wrap(payload);
+    }
+
+    boolean isEmpty() {
+        return head == (long) LONG.getAcquire(buffer, TAIL_OFFSET);
+    }
+
+    void closeProducer() {
+        INT.setRelease(buffer, PRODUCER_CLOSED_OFFSET, 1);
+    }
+
+    void closeConsumer() {
+        INT.setRelease(buffer, CONSUMER_CLOSED_OFFSET, 1);
+    }
+
+    boolean isProducerClosed() {
+        return (int) INT.getAcquire(buffer, PRODUCER_CLOSED_OFFSET) != 0;
+    }
+
+    boolean isConsumerClosed() {
+        return (int) INT.getAcquire(buffer, CONSUMER_CLOSED_OFFSET) != 0;
+    }
+
+    private static int align(int length) {
+        return (length + 7) & ~7;
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.shm; //@date 18.10.2026
+
+import io.github.proto4j.xtral.bootstrap.AbstractServerBootstrap;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * An {@link AbstractServerBootstrap} that accepts {@link ShmSocket}s from processes
+ * on the same host.
+ * <p>
+ * The bootstrap binds to a directory by holding an exclusive lock on a lock
+ * file inside it. Clients refuse to connect if the lock is not held, and the
+ * lock is released by the operating system if the server process dies.
+ * Connection files left over from earlier runs are removed on binding. New
+ * connections are found by scanning the directory; accepting is not on the
+ * hot path, so the scan is repeated with a fixed interval.
+ *
+ * @see ShmServerBootstrapFactory
+ * @since 1.0
+ */
+public class ShmServerBootstrap extends AbstractServerBootstrap<ShmSocket> {
+
+    private static final String LOCK_FILE = "xtral.lock";
+
+    private static final long ACCEPT_INTERVAL = TimeUnit.MILLISECONDS.toNanos(1);
+
+    // Directories bound in this JVM. Opening and closing another channel on
+    // the lock file would release the lock held by this process (POSIX
+    // record lock semantics), so those directories are never probed.
+    private static final Set<Path> BOUND = ConcurrentHashMap.newKeySet();
+
+    private final Path         directory;
+    private final IdleStrategy idleStrategy;
+    private final FileChannel  lockChannel;
+    private final FileLock     lock;
+    private final Object       acceptLock = new Object();
+
+    private volatile boolean open;
+
+    /**
+     * Creates a new bootstrap and binds it to the given directory. The
+     * directory is created if it does not exist.
+     *
+     * @param directory the shared-memory directory
+     * @param idleStrategy the strategy used by accepted sockets
+     * @throws IOException if another server is bound to the directory or an
+     *                     I/O Error occurs
+     */
+    public ShmServerBootstrap(Path directory, IdleStrategy idleStrategy) throws IOException {
+        super();
+        this.directory    = Objects.requireNonNull(directory).toAbsolutePath().normalize();
+        this.idleStrategy = Objects.requireNonNull(idleStrategy);
+        if (!BOUND.add(this.directory)) {
+            throw new IOException("Address already in use: " + directory);
+        }
+
+        FileChannel channel = null;
+        try {
+            Files.createDirectories(directory);
+            FileLock l;
+            // Serialized with isBound(), see BOUND
+            synchronized (ShmServerBootstrap.class) {
+                channel = FileChannel.open(directory.resolve(LOCK_FILE),
+                                           StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                l = channel.tryLock();
+            }
+            if (l == null) {
+                throw new IOException("Address already in use: " + directory);
+            }
+            lockChannel = channel;
+            lock        = l;
+
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                                                                        "*" + ShmSocket.SUFFIX)) {
+                for (Path file : files) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            if (channel != null) {
+                channel.close();
+            }
+            BOUND.remove(this.directory);
+            throw e;
+        }
+        open = true;
+    }
+
+    /**
+     * Returns whether a server is bound to the given directory.
+     *
+     * @param directory the shared-memory directory
+     * @return {@code true} if a server holds the lock of the directory
+     * @throws IOException if an I/O Error occurs
+     */
+    static synchronized boolean isBound(Path directory) throws IOException {
+        if (BOUND.contains(directory.toAbsolutePath().normalize())) {
+            return true;
+        }
+        Path file = directory.resolve(LOCK_FILE);
+        if (!Files.exists(file)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            FileLock l = channel.tryLock();
+            if (l == null) {
+                return true;
+            }
+            l.release();
+            return false;
+        } catch (OverlappingFileLockException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Returns the directory this bootstrap is bound to.
+     *
+     * @return the shared-memory directory
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    protected ShmSocket accept() throws IOException {
+        synchronized (acceptLock) {
+            while (open) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                                                                            "*" + ShmSocket.SUFFIX)) {
+                    for (Path file : files) {
+                        try {
+                            return ShmSocket.accept(file, idleStrategy);
+                        } catch (NoSuchFileException e) {
+                            // The client closed the connection before it was accepted
+                        }
+                    }
+                }
+                LockSupport.parkNanos(this, ACCEPT_INTERVAL);
+                if (Thread.interrupted()) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+        }
+        throw new IOException("Bootstrap closed");
+    }
+
+    @Override
+    protected boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    protected void doClose() throws IOException {
+        open = false;
+        try {
+            lock.release();
+        } finally {
+            lockChannel.close();
+            BOUND.remove(directory);
+        }
+    }
+}
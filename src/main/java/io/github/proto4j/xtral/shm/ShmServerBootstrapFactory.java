@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.shm; //@date 18.10.2026
+
+import io.github.proto4j.xtral.bootstrap.AbstractServerBootstrap;
+import io.github.proto4j.xtral.bootstrap.ServerBootstrapFactory;
+import io.github.proto4j.xtral.config.XTralServerConfiguration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Creates {@link ShmServerBootstrap}s.
+ * <p>
+ * The directory and idle strategy are either given on construction or taken
+ * from the {@link XTralSharedMemoryConfiguration} of the server.
+ *
+ * @see ShmServerBootstrap
+ * @since 1.0
+ */
+public class ShmServerBootstrapFactory extends ServerBootstrapFactory {
+
+    private final Path         directory;
+    private final IdleStrategy idleStrategy;
+
+    /**
+     * Creates a factory that uses the settings of the server configuration.
+     */
+    public ShmServerBootstrapFactory() {
+        this(null, null);
+    }
+
+    /**
+     * Creates a factory for the given directory.
+     *
+     * @param directory the shared-memory directory or {@code null} to use
+     *         the directory of the server configuration
+     * @param idleStrategy the idle strategy of accepted sockets or
+     *         {@code null} to use the strategy of the server configuration
+     */
+    public ShmServerBootstrapFactory(Path directory, IdleStrategy idleStrategy) {
+        this.directory    = directory;
+        this.idleStrategy = idleStrategy;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     * @throws IOException if no directory was given on construction
+     */
+    @Override
+    public AbstractServerBootstrap<?> createBootstrap() throws IOException {
+        if (directory == null) {
+            throw new IOException("Shared-memory directory == null");
+        }
+        return new ShmServerBootstrap(directory, idleStrategy != null
+                ? idleStrategy : IdleStrategy.backoff());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param configuration {@inheritDoc}
+     * @return {@inheritDoc}
+     * @throws IOException {@inheritDoc}
+     */
+    @Override
+    public AbstractServerBootstrap<?> createBootstrap(XTralServerConfiguration<?> configuration)
+            throws IOException {
+        if (!(configuration instanceof XTralSharedMemoryConfiguration)) {
+            return createBootstrap();
+        }
+        XTralSharedMemoryConfiguration<?> config =
+                (XTralSharedMemoryConfiguration<?>) configuration;
+        Path dir = directory != null ? directory : config.getSharedMemoryDirectory();
+        if (dir == null) {
+            throw new IOException("Shared-memory directory == null");
+        }
+        return new ShmServerBootstrap(dir, idleStrategy != null
+                ? idleStrategy : config.getIdleStrategy());
+    }
+}
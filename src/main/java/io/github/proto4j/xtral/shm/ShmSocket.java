@@ -0,0 +1,275 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.shm; //@date 18.10.2026
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * One endpoint of a shared-memory connection between two processes on the
+ * same host.
+ * <p>
+ * Every connection is backed by its own memory-mapped file that contains a
+ * small file header and two {@code ShmRing}s, one for each direction. The
+ * client creates the file in the directory of a {@link ShmServerBootstrap}
+ * with {@link #connect(Path, int, IdleStrategy)}; the server maps the same
+ * file when it accepts the connection and removes its directory entry, so
+ * the mapping lives until both sides have released it. For the lowest
+ * latency the directory should be located on a memory file system such as
+ * {@code /dev/shm}.
+ * <p>
+ * Frames are copied into the ring on {@link #write(ByteBuffer)} and out of
+ * it on {@link #read()}. A side that has to wait uses the configured
+ * {@link IdleStrategy}.
+ *
+ * @see ShmChannel
+ * @see ShmServerBootstrap
+ * @since 1.0
+ */
+public final class ShmSocket implements Closeable {
+
+    /**
+     * The suffix of connection files that wait to be accepted.
+     */
+    static final String SUFFIX = ".xtshm";
+
+    private static final int MAGIC           = 0x5854_5348;
+    private static final int FILE_HEADER     = 64;
+    private static final int MAGIC_OFFSET    = 0;
+    private static final int CAPACITY_OFFSET = 4;
+
+    private final Path         path;
+    private final ShmRing      in;
+    private final ShmRing      out;
+    private final IdleStrategy idleStrategy;
+
+    private volatile boolean closed;
+
+    private ShmSocket(Path path, MappedByteBuffer mapping, int capacity,
+                      boolean client, IdleStrategy idleStrategy) {
+        this.path         = path;
+        this.idleStrategy = idleStrategy;
+
+        int size = ShmRing.size(capacity);
+        ShmRing up   = new ShmRing(mapping.slice(FILE_HEADER, size), capacity);
+        ShmRing down = new ShmRing(mapping.slice(FILE_HEADER + size, size), capacity);
+        this.in  = client ? down : up;
+        this.out = client ? up : down;
+    }
+
+    /**
+     * Creates a new connection file in the given directory of a server.
+     * <p>
+     * This method does not wait until the server accepts the connection.
+     * Frames written before that are buffered in the ring.
+     *
+     * @param directory the directory the server is bound to
+     * @param capacity the capacity of each ring in bytes
+     * @param idleStrategy the strategy used while waiting
+     * @return the client side of the new connection
+     * @throws IOException if no server is bound to the directory or the
+     *                     file could not be created
+     */
+    public static ShmSocket connect(Path directory, int capacity, IdleStrategy idleStrategy)
+            throws IOException {
+        Objects.requireNonNull(directory);
+        Objects.requireNonNull(idleStrategy);
+        if (!ShmServerBootstrap.isBound(directory)) {
+            throw new IOException("Connection refused: " + directory);
+        }
+        capacity = ShmRing.capacity(capacity);
+
+        String name = "xtral-" + UUID.randomUUID();
+        Path   tmp  = directory.resolve(name + ".tmp");
+        Path   file = directory.resolve(name + SUFFIX);
+        MappedByteBuffer mapping;
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE_NEW,
+                                                    StandardOpenOption.READ,
+                                                    StandardOpenOption.WRITE)) {
+            mapping = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                                  FILE_HEADER + 2L * ShmRing.size(capacity));
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        mapping.order(ByteOrder.nativeOrder());
+        mapping.putInt(CAPACITY_OFFSET, capacity);
+        mapping.putInt(MAGIC_OFFSET, MAGIC);
+
+        // The server only looks at complete files
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+        return new ShmSocket(file, mapping, capacity, true, idleStrategy);
+    }
+
+    /**
+     * Maps the given connection file on the server side and removes it from
+     * the directory.
+     *
+     * @param file the connection file
+     * @param idleStrategy the strategy used while waiting
+     * @return the server side of the connection
+     * @throws IOException if the file is not a valid connection file
+     */
+    static ShmSocket accept(Path file, IdleStrategy idleStrategy) throws IOException {
+        MappedByteBuffer mapping;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ,
+                                                    StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size < FILE_HEADER) {
+                throw new IOException("Invalid connection file: " + file);
+            }
+            mapping = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        mapping.order(ByteOrder.nativeOrder());
+
+        int capacity = mapping.getInt(CAPACITY_OFFSET);
+        if (mapping.getInt(MAGIC_OFFSET) != MAGIC
+                || capacity != ShmRing.capacity(capacity)
+                || mapping.capacity() != FILE_HEADER + 2L * ShmRing.size(capacity)) {
+            throw new IOException("Invalid connection file: " + file);
+        }
+        return new ShmSocket(file, mapping, capacity, false, idleStrategy);
+    }
+
+    /**
+     * Copies the remaining bytes of the given buffer into a frame for the
+     * linked socket. This method waits while the ring is full.
+     *
+     * @param src the frame payload
+     * @throws IOException if either side has been closed, the frame is
+     *                     larger than {@link #getMaxFrameSize()} or the
+     *                     current thread was interrupted
+     */
+    public void write(ByteBuffer src) throws IOException {
+        Objects.requireNonNull(src);
+        for (int i = 0; !out.offer(src); i++) {
+            if (closed) {
+                throw new IOException("Socket closed");
+            }
+            idle(i);
+        }
+    }
+
+    /**
+     * Returns the payload of the next frame written by the linked socket.
+     * This method waits until a frame is available.
+     *
+     * @return the payload of the next frame
+     * @throws EOFException if the linked socket has been closed and all of
+     *                      its frames have been read
+     * @throws IOException  if this socket has been closed or the current
+     *                      thread was interrupted
+     */
+    public ByteBuffer read() throws IOException {
+        for (int i = 0; ; i++) {
+            ByteBuffer frame = in.poll();
+            if (frame != null) {
+                return frame;
+            }
+            if (closed) {
+                throw new IOException("Socket closed");
+            }
+            if (in.isProducerClosed() && in.isEmpty()) {
+                throw new EOFException("Shared-memory connection closed");
+            }
+            idle(i);
+        }
+    }
+
+    /**
+     * Returns the largest payload that can be written with a single call
+     * to {@link #write(ByteBuffer)}.
+     *
+     * @return the maximum frame size in bytes
+     */
+    public int getMaxFrameSize() {
+        return out.maxPayload();
+    }
+
+    /**
+     * Returns the path of the connection file. The file is removed from the
+     * directory as soon as the server accepts the connection.
+     *
+     * @return the path of the connection file
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Returns whether this socket has been closed.
+     *
+     * @return {@code true} if this socket has been closed; {@code false}
+     *         otherwise.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Closes this socket. The linked socket can still read the frames that
+     * were written before, and fails on further writes.
+     *
+     * @throws IOException if the connection file could not be removed
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        out.closeProducer();
+        in.closeConsumer();
+        // Removes files that have never been accepted
+        Files.deleteIfExists(path);
+    }
+
+    private void idle(int iteration) throws InterruptedIOException {
+        if (Thread.interrupted()) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+        idleStrategy.idle(iteration);
+    }
+
+    @Override
+    public String toString() {
+        return "ShmSocket[" + path + "]";
+    }
+}
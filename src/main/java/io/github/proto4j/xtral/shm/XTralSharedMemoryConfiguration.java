@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.shm; //@date 18.10.2026
+
+import io.github.proto4j.xtral.XTralServer;
+import io.github.proto4j.xtral.config.XTralServerConfiguration;
+
+import java.nio.file.Path;
+
+/**
+ * A template configuration for clients and servers that communicate over
+ * shared memory with processes on the same host.
+ * <p>
+ * Besides this interface, the configuration has to provide the
+ * shared-memory variants of the factories:
+ * <pre>{@code
+ * setConnectionFactory((ConnectionFactory<ShmSocket>) ShmConnection::new);
+ * setChannelFactory((ChannelFactory<ShmSocket>) ShmChannel::new);
+ * setBootstrapFactory(new ShmServerBootstrapFactory());
+ * }</pre>
+ *
+ * @param <T> the initial client type (not {@code XTralClient} or
+ *         {@link XTralServer})
+ * @see ShmConnection
+ * @see ShmServerBootstrapFactory
+ * @since 1.0
+ */
+public interface XTralSharedMemoryConfiguration<T> extends XTralServerConfiguration<T> {
+
+    /**
+     * Returns the directory the server binds to and clients create their
+     * connection files in.
+     *
+     * @return the shared-memory directory
+     */
+    public Path getSharedMemoryDirectory();
+
+    /**
+     * Returns the capacity of each ring buffer in bytes. A single frame can
+     * use up to half of it.
+     *
+     * @return the ring capacity, by default 1 MiB
+     */
+    public default int getRingCapacity() {
+        return 1 << 20;
+    }
+
+    /**
+     * Returns the strategy used by threads that wait for a ring.
+     *
+     * @return the idle strategy, by default {@link IdleStrategy#backoff()}
+     */
+    public default IdleStrategy getIdleStrategy() {
+        return IdleStrategy.backoff();
+    }
+}
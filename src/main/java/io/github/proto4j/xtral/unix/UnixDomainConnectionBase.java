@@ -0,0 +1,132 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.unix; //@date 18.10.2026
+
+import io.github.proto4j.xtral.config.XTralConfiguration;
+import io.github.proto4j.xtral.io.ConnectionBase;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * The base class for connections that use Unix domain {@link SocketChannel}s.
+ * <p>
+ * Unix domain sockets bypass the TCP/IP stack of the operating system, which
+ * lowers the latency and increases the throughput between peers on the same
+ * host. Connections are established to a socket file instead of an address:
+ * {@link #doConnect(InetAddress, int)} ignores its arguments and uses the
+ * path provided by the {@link XTralUnixDomainConfiguration}, so existing
+ * entry methods work with both transports.
+ * <p>
+ * Binary messages can be sent over these sockets with a
+ * {@link io.github.proto4j.xtral.io.channel.FramedSocketChannel}, which
+ * sizes its receive buffer and the socket buffers from the observed
+ * traffic.
+ *
+ * @see XTralUnixDomainConfiguration
+ * @see UnixDomainServerBootstrap
+ * @since 1.0
+ */
+public abstract class UnixDomainConnectionBase extends ConnectionBase<SocketChannel> {
+
+    /**
+     * Connects to the socket path of the {@link XTralUnixDomainConfiguration}.
+     * The given address and port are ignored.
+     *
+     * @param address ignored
+     * @param port ignored
+     * @throws IOException {@inheritDoc}
+     */
+    @Override
+    public void doConnect(InetAddress address, int port) throws IOException {
+        XTralConfiguration<?> configuration = getConfiguration();
+        if (!(configuration instanceof XTralUnixDomainConfiguration)) {
+            throw new IOException("XTralUnixDomainConfiguration required");
+        }
+        Path path = ((XTralUnixDomainConfiguration<?>) configuration).getSocketPath();
+        if (path == null) {
+            throw new IOException("Socket path == null");
+        }
+        doConnect(path);
+    }
+
+    /**
+     * Starts the connection process and connects to the given socket file.
+     * <p>
+     * A new {@link SocketChannel} will be opened if none was set before (see
+     * {@link io.github.proto4j.xtral.XTralServer#next()}). Afterwards, a new
+     * {@code Channel} will be build with the {@code ChannelFactory} stored
+     * inside the configuration object.
+     *
+     * @param path the path of the socket file
+     * @throws IOException if an I/O error occurs or this connection is not
+     *                     initialized
+     */
+    public synchronized void doConnect(Path path) throws IOException {
+        Objects.requireNonNull(path);
+        Objects.requireNonNull(getConfiguration());
+        Objects.requireNonNull(getChannelFactory());
+        if (!initialized || closed) {
+            throw new IOException("Connection not initialized!");
+        }
+
+        if (getSocket() == null) {
+            SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+            try {
+                channel.connect(UnixDomainSocketAddress.of(path));
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+            setSocket(channel);
+        }
+        setChannel();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IOException {@inheritDoc}
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (isClosed()) {
+            return;
+        }
+        try {
+            super.close();
+        } finally {
+            SocketChannel channel = getSocket();
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+}
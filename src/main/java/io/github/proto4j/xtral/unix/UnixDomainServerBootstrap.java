@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.unix; //@date 18.10.2026
+
+import io.github.proto4j.xtral.bootstrap.AbstractServerBootstrap;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+
+/**
+ * An {@link AbstractServerBootstrap} that accepts Unix domain {@link SocketChannel}s
+ * on a socket file.
+ * <p>
+ * A stale socket file left behind by a previous process is removed before
+ * binding, and the socket file is deleted again when this bootstrap is
+ * closed.
+ *
+ * @see UnixDomainServerBootstrapFactory
+ * @since 1.0
+ */
+public class UnixDomainServerBootstrap extends AbstractServerBootstrap<SocketChannel> {
+
+    private final ServerSocketChannel serverChannel;
+    private final Path                path;
+
+    /**
+     * Creates a new bootstrap and binds it to the given socket file.
+     *
+     * @param path the path of the socket file
+     * @param backlog the maximum number of pending connections or {@code 0}
+     *         for the default value
+     * @throws IOException if an I/O Error occurs
+     */
+    public UnixDomainServerBootstrap(Path path, int backlog) throws IOException {
+        super();
+        this.path = Objects.requireNonNull(path);
+        // Only socket files ('other' file types) are removed, so a wrong
+        // path can never delete regular files or directories.
+        if (Files.exists(path, LinkOption.NOFOLLOW_LINKS)
+                && Files.readAttributes(path, BasicFileAttributes.class,
+                                        LinkOption.NOFOLLOW_LINKS).isOther()) {
+            Files.deleteIfExists(path);
+        }
+
+        serverChannel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        try {
+            serverChannel.bind(UnixDomainSocketAddress.of(path), backlog);
+        } catch (IOException e) {
+            serverChannel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the path of the socket file.
+     *
+     * @return the path of the socket file
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the underlying server channel.
+     *
+     * @return the underlying server channel
+     */
+    public ServerSocketChannel getServerChannel() {
+        return serverChannel;
+    }
+
+    @Override
+    protected SocketChannel accept() throws IOException {
+        return serverChannel.accept();
+    }
+
+    @Override
+    protected boolean isOpen() {
+        return serverChannel.isOpen();
+    }
+
+    @Override
+    protected void doClose() throws IOException {
+        try {
+            serverChannel.close();
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
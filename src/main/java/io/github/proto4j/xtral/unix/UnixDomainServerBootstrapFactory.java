@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.unix; //@date 18.10.2026
+
+import io.github.proto4j.xtral.bootstrap.AbstractServerBootstrap;
+import io.github.proto4j.xtral.bootstrap.ServerBootstrapFactory;
+import io.github.proto4j.xtral.config.XTralServerConfiguration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Creates {@link UnixDomainServerBootstrap}s.
+ * <p>
+ * The socket file is either given on construction or taken from the
+ * {@link XTralUnixDomainConfiguration} of the server.
+ *
+ * @see UnixDomainServerBootstrap
+ * @since 1.0
+ */
+public class UnixDomainServerBootstrapFactory extends ServerBootstrapFactory {
+
+    private final Path path;
+    private final int  backlog;
+
+    /**
+     * Creates a factory that uses the socket path of the server
+     * configuration.
+     */
+    public UnixDomainServerBootstrapFactory() {
+        this(null, 0);
+    }
+
+    /**
+     * Creates a factory for the given socket file.
+     *
+     * @param path the path of the socket file or {@code null} to use the
+     *         path of the server configuration
+     * @param backlog the maximum number of pending connections or {@code 0}
+     *         for the default value
+     */
+    public UnixDomainServerBootstrapFactory(Path path, int backlog) {
+        this.path    = path;
+        this.backlog = backlog;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     * @throws IOException if no socket path was given on construction
+     */
+    @Override
+    public AbstractServerBootstrap<?> createBootstrap() throws IOException {
+        if (path == null) {
+            throw new IOException("Socket path == null");
+        }
+        return new UnixDomainServerBootstrap(path, backlog);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param configuration {@inheritDoc}
+     * @return {@inheritDoc}
+     * @throws IOException {@inheritDoc}
+     */
+    @Override
+    public AbstractServerBootstrap<?> createBootstrap(XTralServerConfiguration<?> configuration)
+            throws IOException {
+        if (path == null && configuration instanceof XTralUnixDomainConfiguration) {
+            Path socketPath = ((XTralUnixDomainConfiguration<?>) configuration).getSocketPath();
+            if (socketPath != null) {
+                return new UnixDomainServerBootstrap(socketPath, backlog);
+            }
+        }
+        return createBootstrap();
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Proto4j-Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.xtral.unix; //@date 18.10.2026
+
+import io.github.proto4j.xtral.XTralServer;
+import io.github.proto4j.xtral.config.XTralServerConfiguration;
+
+import java.nio.file.Path;
+
+/**
+ * A template configuration for clients and servers that communicate over
+ * Unix domain sockets with peers on the same host.
+ * <p>
+ * Switching a client or server from TCP to Unix domain sockets only requires
+ * a configuration that implements this interface and provides the Unix domain
+ * variants of the factories; the {@code Agent} classes stay unchanged:
+ * <pre>{@code
+ * setConnectionFactory((ConnectionFactory<SocketChannel>) MyUnixConnection::new);
+ * setChannelFactory((ChannelFactory<SocketChannel>) MyUnixChannel::new);
+ * setBootstrapFactory(new UnixDomainServerBootstrapFactory());
+ * }</pre>
+ * Connections that extend {@link UnixDomainConnectionBase} connect to the
+ * {@link #getSocketPath()} of this configuration, even when the entry code
+ * calls {@code doConnect(host, port)}.
+ *
+ * @param <T> the initial client type (not {@code XTralClient} or
+ *         {@link XTralServer})
+ * @see UnixDomainConnectionBase
+ * @see UnixDomainServerBootstrapFactory
+ * @since 1.0
+ */
+public interface XTralUnixDomainConfiguration<T> extends XTralServerConfiguration<T> {
+
+    /**
+     * Returns the path of the Unix domain socket file the server binds to
+     * and the clients connect to.
+     *
+     * @return the path of the socket file
+     */
+    Path getSocketPath();
+}
@@ -4,6 +4,11 @@ module proto4j.xtral {
     exports io.github.proto4j.xtral.annotation;
     exports io.github.proto4j.xtral.bootstrap;
     exports io.github.proto4j.xtral.multicast;
+    exports io.github.proto4j.xtral.mux;
+    exports io.github.proto4j.xtral.local;
+    exports io.github.proto4j.xtral.shm;
+    exports io.github.proto4j.xtral.unix;
+    exports io.github.proto4j.xtral.codec;
 
     exports io.github.proto4j.xtral.io;
     exports io.github.proto4j.xtral.io.channel;
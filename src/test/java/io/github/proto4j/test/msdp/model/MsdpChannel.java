@@ -32,6 +32,7 @@ import java.io.IOException;
 import java.net.DatagramPacket;
 import java.net.InetAddress;
 import java.net.MulticastSocket;
+import java.util.Arrays;
 
 public class MsdpChannel extends AbstractChannel<MulticastSocket> implements MulticastChannel {
 
@@ -44,11 +45,13 @@ public class MsdpChannel extends AbstractChannel<MulticastSocket> implements Mul
     public static final ChannelOption<Integer> BUFFER_CHANNEL_OPTION =
             new ChannelOption<>(Integer.class, "channel.buffer");
 
+    private DatagramPacket receivePacket;
+
     public MsdpChannel() throws IOException {
         super();
-        setOption(ADDRESS_CHANNEL_OPTION, null);
-        setOption(PORT_CHANNEL_OPTION, -1);
-        setOption(BUFFER_CHANNEL_OPTION, -1);
+        addOption(ADDRESS_CHANNEL_OPTION, null);
+        addOption(PORT_CHANNEL_OPTION, -1);
+        addOption(BUFFER_CHANNEL_OPTION, -1);
     }
 
     @Override
@@ -70,11 +73,17 @@ public class MsdpChannel extends AbstractChannel<MulticastSocket> implements Mul
 
     @Override
     public Object read(MulticastSocket socket) throws IOException{
-        int size = getBufferSize(socket);
-        DatagramPacket packet = new DatagramPacket(new byte[size], size);
-
+        DatagramPacket packet = receivePacket;
+        if (packet == null) {
+            int size = getBufferSize(socket);
+            packet = receivePacket = new DatagramPacket(new byte[size], size);
+        }
+        packet.setLength(packet.getData().length);
         socket.receive(packet);
-        return packet;
+
+        // The receive buffer is reused, only the received bytes are kept.
+        byte[] data = Arrays.copyOf(packet.getData(), packet.getLength());
+        return new DatagramPacket(data, data.length, packet.getSocketAddress());
     }
 
     public int getPort(MulticastSocket socket) throws IOException {